@@ -129,7 +129,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    if (word1.value().compareTo(word2.value()) < 0) {
+    if (word1.compareTo(word2) < 0) {
       word1.and(DataWord.ZERO);
       word1.getData()[31] = 1;
     } else {
@@ -143,7 +143,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    if (word1.value().compareTo(word2.value()) > 0) {
+    if (word1.compareTo(word2) > 0) {
       word1.and(DataWord.ZERO);
       word1.getData()[31] = 1;
     } else {
@@ -157,7 +157,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    if (word1.sValue().compareTo(word2.sValue()) < 0) {
+    if (word1.sCompareTo(word2) < 0) {
       word1.and(DataWord.ZERO);
       word1.getData()[31] = 1;
     } else {
@@ -171,7 +171,7 @@ public class OperationActions {
     DataWord word1 = program.stackPop();
     DataWord word2 = program.stackPop();
 
-    if (word1.sValue().compareTo(word2.sValue()) > 0) {
+    if (word1.sCompareTo(word2) > 0) {
       word1.and(DataWord.ZERO);
       word1.getData()[31] = 1;
     } else {
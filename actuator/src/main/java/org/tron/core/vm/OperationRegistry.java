@@ -55,12 +55,20 @@ public class OperationRegistry {
     return table;
   }
 
+  /**
+   * The newest operation set. It defines every opcode of the older ones with the same stack
+   * requirements, so it is also used for the static analysis of code.
+   */
+  public static JumpTable getNewestTable() {
+    return tableMap.get(Version.TRON_V1_3);
+  }
+
   // Just for warming up class to avoid out_of_time
   public static void init() {}
 
   public static JumpTable getTable() {
     // always get the table which has the newest version
-    JumpTable table = tableMap.get(Version.TRON_V1_3);
+    JumpTable table = getNewestTable();
 
     // next make the corresponding changes, exclude activating opcode
     if (VMConfig.allowHigherLimitForMaxCpuTimeOfOneTx()) {
@@ -12,6 +12,7 @@ import org.tron.core.vm.program.Program;
 import org.tron.core.vm.program.Program.JVMStackOverFlowException;
 import org.tron.core.vm.program.Program.OutOfTimeException;
 import org.tron.core.vm.program.Program.TransferException;
+import org.tron.core.vm.program.ProgramPrecompile;
 
 @Slf4j(topic = "VM")
 public class VM {
@@ -28,12 +29,22 @@ public class VM {
         factor = program.updateContextContractFactor();
       }
 
+      // analysed from the code run itself, the bounds decide which stack checks are skipped
+      ProgramPrecompile precompile = program.getProgramPrecompile();
+      // instructions before this pc belong to a block whose stack usage was already checked
+      int verifiedUntil = -1;
+
       while (!program.isStopped()) {
         if (VMConfig.vmTrace()) {
           program.saveOpTrace();
         }
 
         try {
+          int pc = program.getPC();
+          if (precompile.isBlockStart(pc)) {
+            verifiedUntil = precompile.verifiedBlockEnd(pc, program.getStack().size());
+          }
+
           Operation op = jumpTable.get(program.getCurrentOpIntValue());
           if (!op.isEnabled()) {
             throw Program.Exception.invalidOpCode(program.getCurrentOp());
@@ -41,8 +52,10 @@ public class VM {
           program.setLastOp((byte) op.getOpcode());
 
           /* stack underflow/overflow check */
-          program.verifyStackSize(op.getRequire());
-          program.verifyStackOverflow(op.getRequire(), op.getRet());
+          if (pc >= verifiedUntil) {
+            program.verifyStackSize(op.getRequire());
+            program.verifyStackOverflow(op.getRequire(), op.getRet());
+          }
 
           String opName = Op.getNameOf(op.getOpcode());
           /* spend energy before execution */
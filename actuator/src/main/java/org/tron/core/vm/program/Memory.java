@@ -6,7 +6,8 @@ import static java.lang.String.format;
 import static org.tron.common.utils.ByteUtil.EMPTY_BYTE_ARRAY;
 import static org.tron.common.utils.ByteUtil.oneByteToHexString;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.vm.program.listener.ProgramListener;
@@ -17,7 +18,9 @@ public class Memory implements ProgramListenerAware {
   private static final int CHUNK_SIZE = 1024;
   private static final int WORD_SIZE = 32;
 
-  private List<byte[]> chunks = new LinkedList<>();
+  // contiguous backing buffer, only the first chunks * CHUNK_SIZE bytes are in use
+  private byte[] data = EMPTY_BYTE_ARRAY;
+  private int chunks;
   private int softSize;
   private ProgramListener programListener;
 
@@ -32,27 +35,7 @@ public class Memory implements ProgramListenerAware {
     }
 
     extend(address, size);
-    byte[] data = new byte[size];
-
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
-    int toGrab = data.length;
-    int start = 0;
-
-    while (toGrab > 0) {
-      int copied = grabMax(chunkIndex, chunkOffset, toGrab, data, start);
-
-      // read next chunk from the start
-      ++chunkIndex;
-      chunkOffset = 0;
-
-      // mark remind
-      toGrab -= copied;
-      start += copied;
-    }
-
-    return data;
+    return Arrays.copyOfRange(data, address, address + size);
   }
 
   public void write(int address, byte[] data, int dataSize, boolean limited) {
@@ -65,9 +48,6 @@ public class Memory implements ProgramListenerAware {
       extend(address, dataSize);
     }
 
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
     int toCapture = 0;
     if (limited) {
       toCapture = (address + dataSize > softSize) ? softSize - address : dataSize;
@@ -75,17 +55,8 @@ public class Memory implements ProgramListenerAware {
       toCapture = dataSize;
     }
 
-    int start = 0;
-    while (toCapture > 0) {
-      int captured = captureMax(chunkIndex, chunkOffset, toCapture, data, start);
-
-      // capture next chunk
-      ++chunkIndex;
-      chunkOffset = 0;
-
-      // mark remind
-      toCapture -= captured;
-      start += captured;
+    if (toCapture > 0) {
+      System.arraycopy(data, 0, this.data, address, toCapture);
     }
 
     if (programListener != null) {
@@ -122,18 +93,15 @@ public class Memory implements ProgramListenerAware {
   }
 
   public DataWord readWord(int address) {
-    return new DataWord(read(address, 32));
+    extend(address, WORD_SIZE);
+    byte[] word = new byte[WORD_SIZE];
+    System.arraycopy(data, address, word, 0, WORD_SIZE);
+    return new DataWord(word);
   }
 
   // just access expecting all data valid
   public byte readByte(int address) {
-
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
-    byte[] chunk = chunks.get(chunkIndex);
-
-    return chunk[chunkOffset];
+    return data[address];
   }
 
   @Override
@@ -174,35 +142,24 @@ public class Memory implements ProgramListenerAware {
   }
 
   public int internalSize() {
-    return chunks.size() * CHUNK_SIZE;
+    return chunks * CHUNK_SIZE;
   }
 
   public List<byte[]> getChunks() {
-    return new LinkedList<>(chunks);
-  }
-
-  private int captureMax(int chunkIndex, int chunkOffset, int size, byte[] src, int srcPos) {
-
-    byte[] chunk = chunks.get(chunkIndex);
-    int toCapture = min(size, chunk.length - chunkOffset);
-
-    System.arraycopy(src, srcPos, chunk, chunkOffset, toCapture);
-    return toCapture;
-  }
-
-  private int grabMax(int chunkIndex, int chunkOffset, int size, byte[] dest, int destPos) {
-
-    byte[] chunk = chunks.get(chunkIndex);
-    int toGrab = min(size, chunk.length - chunkOffset);
-
-    System.arraycopy(chunk, chunkOffset, dest, destPos, toGrab);
-
-    return toGrab;
+    List<byte[]> result = new ArrayList<>(chunks);
+    for (int i = 0; i < chunks; ++i) {
+      result.add(Arrays.copyOfRange(data, i * CHUNK_SIZE, (i + 1) * CHUNK_SIZE));
+    }
+    return result;
   }
 
   private void addChunks(int num) {
-    for (int i = 0; i < num; ++i) {
-      chunks.add(new byte[CHUNK_SIZE]);
+    int newSize = Math.multiplyExact(Math.addExact(chunks, num), CHUNK_SIZE);
+    if (newSize > data.length) {
+      // amortized growth, the new bytes are zeroed by copyOf
+      int capacity = (int) min(Math.max((long) data.length * 2, newSize), Integer.MAX_VALUE);
+      data = Arrays.copyOf(data, capacity);
     }
+    chunks += num;
   }
 }
@@ -25,7 +25,6 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bouncycastle.util.encoders.Hex;
@@ -88,7 +87,6 @@ import org.tron.core.vm.program.invoke.ProgramInvokeFactory;
 import org.tron.core.vm.program.listener.CompositeProgramListener;
 import org.tron.core.vm.program.listener.ProgramListenerAware;
 import org.tron.core.vm.program.listener.ProgramStorageChangeListener;
-import org.tron.core.vm.repository.Key;
 import org.tron.core.vm.repository.Repository;
 import org.tron.core.vm.trace.ProgramTrace;
 import org.tron.core.vm.trace.ProgramTraceListener;
@@ -105,15 +103,12 @@ public class Program {
 
   private static final int MAX_DEPTH = 64;
   //Max size for stack checks
-  private static final int MAX_STACK_SIZE = 1024;
+  private static final int MAX_STACK_SIZE = Stack.MAX_SIZE;
   private static final String VALIDATE_FOR_SMART_CONTRACT_FAILURE =
       "validateForSmartContract failure:%s";
   private static final String INVALID_TOKEN_ID_MSG = "not valid token id";
   private static final String REFUND_ENERGY_FROM_MESSAGE_CALL = "refund energy from message call";
   private static final String CALL_PRE_COMPILED = "call pre-compiled";
-  private static final int lruCacheSize = CommonParameter.getInstance().getSafeLruCacheSize();
-  private static final LRUMap<Key, ProgramPrecompile> programPrecompileLRUMap
-      = new LRUMap<>(lruCacheSize);
   private long nonce;
   private byte[] rootTransactionId;
   private InternalTransaction internalTransaction;
@@ -201,20 +196,8 @@ public class Program {
   }
 
   public ProgramPrecompile getProgramPrecompile() {
-    if (isConstantCall()) {
-      if (programPrecompile == null) {
-        programPrecompile = ProgramPrecompile.compile(ops);
-      }
-      return programPrecompile;
-    }
     if (programPrecompile == null) {
-      Key key = getJumpDestAnalysisCacheKey();
-      if (programPrecompileLRUMap.containsKey(key)) {
-        programPrecompile = programPrecompileLRUMap.get(key);
-      } else {
-        programPrecompile = ProgramPrecompile.compile(ops);
-        programPrecompileLRUMap.put(key, programPrecompile);
-      }
+      programPrecompile = ProgramPrecompile.getOrCompile(ops);
     }
     return programPrecompile;
   }
@@ -1208,10 +1191,6 @@ public class Program {
     return codeHash;
   }
 
-  private Key getJumpDestAnalysisCacheKey() {
-    return Key.create(ByteUtil.merge(codeAddress, getCodeHash()));
-  }
-
   public byte[] getContextAddress() {
     return invoke.getContractAddress().toTronAddress();
   }
@@ -2438,7 +2417,7 @@ public class Program {
   }
 
   @SuppressWarnings("serial")
-  public class StackTooLargeException extends BytecodeExecutionException {
+  public static class StackTooLargeException extends BytecodeExecutionException {
 
     public StackTooLargeException(String message) {
       super(message);
@@ -1,33 +1,140 @@
 package org.tron.core.vm.program;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import lombok.extern.slf4j.Slf4j;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheStrategies;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
+import org.tron.common.crypto.Hash;
+import org.tron.common.parameter.CommonParameter;
 import org.tron.common.runtime.vm.DataWord;
+import org.tron.core.vm.JumpTable;
 import org.tron.core.vm.Op;
+import org.tron.core.vm.Operation;
+import org.tron.core.vm.OperationRegistry;
 import org.tron.core.vm.config.VMConfig;
+import org.tron.core.vm.repository.Key;
 
 @Slf4j(topic = "VM")
 public class ProgramPrecompile {
 
-  private final Set<Integer> jumpDest = new HashSet<>();
+  private static final int CACHE_SIZE = CommonParameter.getInstance().getSafeLruCacheSize();
+  /**
+   * Code analyses shared by all programs, constant calls included, keyed by the hash of the
+   * code analysed. The code hash stored with a contract is not used, a deployment sets it
+   * before its init code runs. Hit rate and request count are exported by
+   * {@code GuavaCacheExports}.
+   */
+  private static final TronCache<Key, ProgramPrecompile> CACHE = CacheManager.allocate(
+      CacheType.jumpDest, String.format(CacheStrategies.PATTERNS, CACHE_SIZE, CACHE_SIZE, "1h",
+          Runtime.getRuntime().availableProcessors()));
+
+  /**
+   * One bit per code byte, set for every JUMPDEST opcode that is not PUSH data.
+   */
+  private final long[] jumpDest;
+
+  /**
+   * Basic blocks: straight-line runs of code entered only at their first instruction, which
+   * is pc 0, a JUMPDEST or the instruction after a JUMP, JUMPI or halting op. For every block
+   * the stack height it needs on entry and the most it can grow are recorded, so the
+   * interpreter checks the stack once per block instead of once per instruction.
+   */
+  private final long[] blockStart;
+  private final int[] blockPcs;
+  private final int[] blockEnds;
+  private final int[] blockMinStack;
+  private final int[] blockMaxGrowth;
+
+  private ProgramPrecompile(int codeSize, List<int[]> blocks) {
+    this.jumpDest = new long[(codeSize + 63) >>> 6];
+    this.blockStart = new long[(codeSize + 63) >>> 6];
+    this.blockPcs = new int[blocks.size()];
+    this.blockEnds = new int[blocks.size()];
+    this.blockMinStack = new int[blocks.size()];
+    this.blockMaxGrowth = new int[blocks.size()];
+    for (int i = 0; i < blocks.size(); i++) {
+      int[] block = blocks.get(i);
+      blockStart[block[0] >>> 6] |= 1L << block[0];
+      blockPcs[i] = block[0];
+      blockEnds[i] = block[1];
+      blockMinStack[i] = block[2];
+      blockMaxGrowth[i] = block[3];
+    }
+  }
 
   public static ProgramPrecompile compile(byte[] ops) {
-    ProgramPrecompile ret = new ProgramPrecompile();
+    JumpTable table = OperationRegistry.getNewestTable();
+    List<int[]> blocks = new ArrayList<>();
+    List<Integer> jumpDests = new ArrayList<>();
+    // {start pc, end pc, min stack on entry, max growth}, growth is relative to the entry
+    int[] block = null;
+    int growth = 0;
     for (int i = 0; i < ops.length; ++i) {
       int op = ops[i] & 0xff;
 
       if (op == Op.JUMPDEST) {
-        ret.jumpDest.add(i);
+        jumpDests.add(i);
+        block = null;
+      }
+      if (block == null) {
+        block = new int[] {i, i, 0, 0};
+        blocks.add(block);
+        growth = 0;
       }
 
+      Operation operation = table.get(op);
+      block[2] = Math.max(block[2], operation.getRequire() - growth);
+      growth += operation.getRet() - operation.getRequire();
+      block[3] = Math.max(block[3], growth);
+
       if (op >= Op.PUSH1 && op <= Op.PUSH32) {
         i += op - Op.PUSH1 + 1;
       }
+      block[1] = Math.min(i + 1, ops.length);
+
+      if (endsBlock(op)) {
+        block = null;
+      }
+    }
+
+    ProgramPrecompile ret = new ProgramPrecompile(ops.length, blocks);
+    for (int pc : jumpDests) {
+      ret.jumpDest[pc >>> 6] |= 1L << pc;
     }
     return ret;
   }
 
+  private static boolean endsBlock(int op) {
+    switch (op) {
+      case Op.STOP:
+      case Op.JUMP:
+      case Op.JUMPI:
+      case Op.RETURN:
+      case Op.REVERT:
+      case Op.SUICIDE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Returns the shared analysis of the code, compiling it on the first request.
+   */
+  public static ProgramPrecompile getOrCompile(byte[] ops) {
+    try {
+      return CACHE.get(Key.create(Hash.sha3(ops)), () -> compile(ops));
+    } catch (ExecutionException e) {
+      logger.warn("Jump destination analysis failed, {}", e.getMessage());
+      return compile(ops);
+    }
+  }
+
   public static byte[] getCode(byte[] ops) {
     for (int i = 0; i < ops.length; ++i) {
 
@@ -54,6 +161,30 @@ public class ProgramPrecompile {
   }
 
   public boolean hasJumpDest(int pc) {
-    return jumpDest.contains(pc);
+    return isSet(jumpDest, pc);
+  }
+
+  public boolean isBlockStart(int pc) {
+    return isSet(blockStart, pc);
+  }
+
+  /**
+   * Checks the stack requirements of the whole block starting at {@code pc} against the
+   * current stack height.
+   *
+   * @return the end pc (exclusive) of the block if no instruction in it can underflow or
+   *     overflow the stack, -1 if they have to be checked one by one.
+   */
+  public int verifiedBlockEnd(int pc, int stackSize) {
+    int block = Arrays.binarySearch(blockPcs, pc);
+    if (block < 0 || stackSize < blockMinStack[block]
+        || stackSize + blockMaxGrowth[block] > Stack.MAX_SIZE) {
+      return -1;
+    }
+    return blockEnds[block];
+  }
+
+  private static boolean isSet(long[] bits, int pc) {
+    return pc >= 0 && (pc >>> 6) < bits.length && (bits[pc >>> 6] & (1L << pc)) != 0;
   }
 }
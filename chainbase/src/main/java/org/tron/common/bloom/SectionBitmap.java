@@ -0,0 +1,200 @@
+package org.tron.common.bloom;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import org.tron.common.utils.ByteUtil;
+import org.tron.core.exception.EventBloomException;
+import org.tron.core.store.SectionBloomStore;
+
+/**
+ * The blocks of a section whose bloom has a bit set, in the container of a roaring bitmap
+ * that fits: the sorted block offsets while there are few, else the plain bitmap. Both are
+ * stored as they are, "and" and "or" work on them without decoding. Immutable.
+ */
+public final class SectionBitmap {
+
+  private static final int SIZE = SectionBloomStore.BLOCK_PER_SECTION;
+  private static final int WORDS = SIZE / Long.SIZE;
+  // an array of more offsets takes more bytes than the bitmap
+  private static final int ARRAY_MAX = SIZE / Short.SIZE;
+  private static final byte ARRAY = 1;
+  private static final byte BITMAP = 2;
+
+  public static final SectionBitmap EMPTY = new SectionBitmap(new short[0], null);
+
+  // one of the two is set
+  private final short[] offsets;
+  private final long[] words;
+
+  private SectionBitmap(short[] offsets, long[] words) {
+    this.offsets = offsets;
+    this.words = words;
+  }
+
+  public static SectionBitmap of(BitSet bitSet) {
+    long[] bits = Arrays.copyOf(bitSet.toLongArray(), WORDS);
+    return normalize(bits);
+  }
+
+  /**
+   * Reads the stored bytes, also the Deflate-compressed BitSet of the former format.
+   */
+  public static SectionBitmap decode(byte[] data) throws EventBloomException {
+    if (data.length == 0) {
+      return EMPTY;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1);
+    switch (data[0]) {
+      case ARRAY:
+        short[] offsets = new short[buffer.remaining() / Short.BYTES];
+        buffer.asShortBuffer().get(offsets);
+        return new SectionBitmap(offsets, null);
+      case BITMAP:
+        long[] bits = new long[WORDS];
+        buffer.asLongBuffer().get(bits);
+        return new SectionBitmap(null, bits);
+      default:
+        try {
+          return of(BitSet.valueOf(ByteUtil.decompress(data)));
+        } catch (Exception e) {
+          throw new EventBloomException("decompress byte failed");
+        }
+    }
+  }
+
+  public byte[] encode() {
+    ByteBuffer buffer;
+    if (offsets != null) {
+      buffer = ByteBuffer.allocate(1 + offsets.length * Short.BYTES);
+      buffer.put(ARRAY);
+      buffer.asShortBuffer().put(offsets);
+    } else {
+      buffer = ByteBuffer.allocate(1 + WORDS * Long.BYTES);
+      buffer.put(BITMAP);
+      buffer.asLongBuffer().put(words);
+    }
+    return buffer.array();
+  }
+
+  public boolean get(int offset) {
+    if (offsets != null) {
+      return Arrays.binarySearch(offsets, (short) offset) >= 0;
+    }
+    return (words[offset >>> 6] & (1L << offset)) != 0;
+  }
+
+  public boolean isEmpty() {
+    return offsets != null && offsets.length == 0;
+  }
+
+  /**
+   * A copy with the block set.
+   */
+  public SectionBitmap with(int offset) {
+    if (get(offset)) {
+      return this;
+    }
+    if (offsets != null && offsets.length < ARRAY_MAX) {
+      int pos = -Arrays.binarySearch(offsets, (short) offset) - 1;
+      short[] added = new short[offsets.length + 1];
+      System.arraycopy(offsets, 0, added, 0, pos);
+      added[pos] = (short) offset;
+      System.arraycopy(offsets, pos, added, pos + 1, offsets.length - pos);
+      return new SectionBitmap(added, null);
+    }
+    long[] bits = toWords();
+    bits[offset >>> 6] |= 1L << offset;
+    return new SectionBitmap(null, bits);
+  }
+
+  public SectionBitmap and(SectionBitmap other) {
+    if (offsets == null && other.offsets == null) {
+      long[] bits = new long[WORDS];
+      for (int i = 0; i < WORDS; i++) {
+        bits[i] = words[i] & other.words[i];
+      }
+      return normalize(bits);
+    }
+    // at most ARRAY_MAX offsets to check
+    SectionBitmap small = offsets != null ? this : other;
+    SectionBitmap large = small == this ? other : this;
+    short[] result = new short[small.offsets.length];
+    int n = 0;
+    for (short offset : small.offsets) {
+      if (large.get(offset)) {
+        result[n++] = offset;
+      }
+    }
+    return new SectionBitmap(Arrays.copyOf(result, n), null);
+  }
+
+  public SectionBitmap or(SectionBitmap other) {
+    if (isEmpty()) {
+      return other;
+    }
+    if (other.isEmpty()) {
+      return this;
+    }
+    long[] bits = toWords();
+    if (other.offsets != null) {
+      for (short offset : other.offsets) {
+        bits[offset >>> 6] |= 1L << offset;
+      }
+    } else {
+      for (int i = 0; i < WORDS; i++) {
+        bits[i] |= other.words[i];
+      }
+    }
+    return normalize(bits);
+  }
+
+  public BitSet toBitSet() {
+    return BitSet.valueOf(toWords());
+  }
+
+  private long[] toWords() {
+    if (words != null) {
+      return words.clone();
+    }
+    long[] bits = new long[WORDS];
+    for (short offset : offsets) {
+      bits[offset >>> 6] |= 1L << offset;
+    }
+    return bits;
+  }
+
+  private static SectionBitmap normalize(long[] bits) {
+    int cardinality = 0;
+    for (long word : bits) {
+      cardinality += Long.bitCount(word);
+    }
+    if (cardinality > ARRAY_MAX) {
+      return new SectionBitmap(null, bits);
+    }
+    short[] offsets = new short[cardinality];
+    int n = 0;
+    for (int i = 0; i < bits.length; i++) {
+      for (long word = bits[i]; word != 0; word &= word - 1) {
+        offsets[n++] = (short) (i * Long.SIZE + Long.numberOfTrailingZeros(word));
+      }
+    }
+    return new SectionBitmap(offsets, null);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SectionBitmap)) {
+      return false;
+    }
+    return Arrays.equals(toWords(), ((SectionBitmap) o).toWords());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(toWords());
+  }
+}
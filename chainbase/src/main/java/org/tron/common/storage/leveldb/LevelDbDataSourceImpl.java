@@ -25,8 +25,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -184,6 +186,13 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     return alive;
   }
 
+  /**
+   * Whether the keys are iterated in unsigned bytewise order, the default of LevelDB.
+   */
+  public boolean isBytewiseOrdered() {
+    return options.comparator() == null;
+  }
+
   @Override
   public String getDBName() {
     return dataBaseName;
@@ -204,6 +213,26 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     }
   }
 
+  /**
+   * LevelDB has no batched get, the keys are read one after another under one lock.
+   */
+  @Override
+  public Map<WrappedByteArray, byte[]> multiGet(Collection<byte[]> keys) {
+    resetDbLock.readLock().lock();
+    try {
+      Map<WrappedByteArray, byte[]> result = new HashMap<>(keys.size());
+      for (byte[] key : keys) {
+        byte[] value = database.get(key);
+        if (value != null) {
+          result.put(WrappedByteArray.of(key), value);
+        }
+      }
+      return result;
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
+  }
+
   @Override
   public void putData(byte[] key, byte[] value) {
     resetDbLock.readLock().lock();
@@ -344,7 +373,7 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   public Map<WrappedByteArray, byte[]> prefixQuery(byte[] key) {
     resetDbLock.readLock().lock();
     try (DBIterator iterator = getDBIterator()) {
-      Map<WrappedByteArray, byte[]> result = new HashMap<>();
+      Map<WrappedByteArray, byte[]> result = new LinkedHashMap<>();
       for (iterator.seek(key); iterator.hasNext(); iterator.next()) {
         Entry<byte[], byte[]> entry = iterator.peekNext();
         if (Bytes.indexOf(entry.getKey(), key) == 0) {
@@ -0,0 +1,172 @@
+package org.tron.common.storage.rocksdb;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.InfoLogLevel;
+import org.rocksdb.Logger;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
+import org.slf4j.LoggerFactory;
+import org.tron.common.setting.RocksDbSettings;
+
+/**
+ * One RocksDB instance holding the stores of a directory as column families, they share the
+ * WAL, the background threads, the block cache and one memtable budget. The instance is opened
+ * by the first store and closed with the last one.
+ */
+@Slf4j(topic = "DB")
+final class RocksDbColumnFamilies {
+
+  static final String NAME = "chainbase";
+
+  private static final org.slf4j.Logger rocksDbLogger = LoggerFactory.getLogger("ROCKSDB");
+  private static final Map<String, RocksDbColumnFamilies> OPENED = new HashMap<>();
+
+  @Getter
+  private final String path;
+  private final DBOptions options;
+  private final ColumnFamilyOptions columnOptions;
+  @Getter
+  private final RocksDB database;
+  private final Map<String, ColumnFamilyHandle> handles = new HashMap<>();
+  private int references;
+
+  private RocksDbColumnFamilies(String path, RocksDbSettings settings)
+      throws RocksDBException, IOException {
+    this.path = path;
+    Files.createDirectories(Paths.get(path));
+    options = newOptions(settings);
+    columnOptions = newColumnOptions(settings);
+
+    List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+    if (new File(path, "CURRENT").exists()) {
+      try (Options listOptions = new Options()) {
+        for (byte[] name : RocksDB.listColumnFamilies(listOptions, path)) {
+          descriptors.add(new ColumnFamilyDescriptor(name, columnOptions));
+        }
+      }
+    } else {
+      descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, columnOptions));
+    }
+    List<ColumnFamilyHandle> opened = new ArrayList<>(descriptors.size());
+    database = RocksDB.open(options, path, descriptors, opened);
+    for (int i = 0; i < descriptors.size(); i++) {
+      handles.put(new String(descriptors.get(i).columnFamilyName(), StandardCharsets.UTF_8),
+          opened.get(i));
+    }
+  }
+
+  static synchronized RocksDbColumnFamilies open(String parentPath, RocksDbSettings settings)
+      throws RocksDBException, IOException {
+    String path = Paths.get(parentPath, NAME).toString();
+    RocksDbColumnFamilies families = OPENED.get(path);
+    if (families == null) {
+      families = new RocksDbColumnFamilies(path, settings);
+      OPENED.put(path, families);
+    }
+    families.references++;
+    return families;
+  }
+
+  static synchronized void release(RocksDbColumnFamilies families) {
+    if (--families.references > 0) {
+      return;
+    }
+    OPENED.remove(families.path);
+    // the handles have to be closed before the instance
+    families.handles.values().forEach(ColumnFamilyHandle::close);
+    families.handles.clear();
+    families.database.close();
+    families.columnOptions.close();
+    families.options.close();
+  }
+
+  synchronized boolean contains(String name) {
+    return handles.containsKey(name);
+  }
+
+  /**
+   * The column family of the store, created if it is a new one.
+   */
+  synchronized ColumnFamilyHandle handle(String name) throws RocksDBException {
+    ColumnFamilyHandle handle = handles.get(name);
+    if (handle == null) {
+      handle = database.createColumnFamily(
+          new ColumnFamilyDescriptor(name.getBytes(StandardCharsets.UTF_8), columnOptions));
+      handles.put(name, handle);
+    }
+    return handle;
+  }
+
+  /**
+   * Drops the column family of the store and returns a new empty one.
+   */
+  synchronized ColumnFamilyHandle reset(String name) throws RocksDBException {
+    ColumnFamilyHandle handle = handles.remove(name);
+    if (handle != null) {
+      database.dropColumnFamily(handle);
+      handle.close();
+    }
+    return handle(name);
+  }
+
+  private static DBOptions newOptions(RocksDbSettings settings) {
+    DBOptions options = new DBOptions();
+    if (settings.isEnableStatistics()) {
+      options.setStatistics(new Statistics());
+      options.setStatsDumpPeriodSec(60);
+    }
+    options.setCreateIfMissing(true);
+    options.setCreateMissingColumnFamilies(true);
+    options.setIncreaseParallelism(1);
+    options.setMaxOpenFiles(settings.getMaxOpenFiles());
+    options.setMaxBackgroundCompactions(settings.getCompactThreads());
+    if (settings.getDbWriteBufferSize() > 0) {
+      options.setDbWriteBufferSize(settings.getDbWriteBufferSize());
+    }
+    options.setLogger(new Logger(options) {
+      @Override
+      protected void log(InfoLogLevel infoLogLevel, String logMsg) {
+        rocksDbLogger.info("{} {}", NAME, logMsg);
+      }
+    });
+    return options;
+  }
+
+  private static ColumnFamilyOptions newColumnOptions(RocksDbSettings settings) {
+    ColumnFamilyOptions options = new ColumnFamilyOptions();
+    options.setLevelCompactionDynamicLevelBytes(true);
+    options.setNumLevels(settings.getLevelNumber());
+    options.setMaxBytesForLevelMultiplier(settings.getMaxBytesForLevelMultiplier());
+    options.setMaxBytesForLevelBase(settings.getMaxBytesForLevelBase());
+    options.setLevel0FileNumCompactionTrigger(settings.getLevel0FileNumCompactionTrigger());
+    options.setTargetFileSizeMultiplier(settings.getTargetFileSizeMultiplier());
+    options.setTargetFileSizeBase(settings.getTargetFileSizeBase());
+
+    final BlockBasedTableConfig tableCfg;
+    options.setTableFormatConfig(tableCfg = new BlockBasedTableConfig());
+    tableCfg.setBlockSize(settings.getBlockSize());
+    tableCfg.setBlockCache(RocksDbSettings.getCache());
+    tableCfg.setCacheIndexAndFilterBlocks(true);
+    tableCfg.setPinL0FilterAndIndexBlocksInCache(true);
+    tableCfg.setFilter(new BloomFilter(10, false));
+    return options;
+  }
+}
@@ -9,8 +9,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -23,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
 import org.rocksdb.Checkpoint;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.DirectComparator;
 import org.rocksdb.InfoLogLevel;
 import org.rocksdb.Logger;
@@ -61,6 +64,9 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   private static final String KEY_ENGINE = "ENGINE";
   private static final String ROCKSDB = "ROCKSDB";
   private DirectComparator comparator;
+  // the shared instance when the store is one of its column families
+  private RocksDbColumnFamilies families;
+  private ColumnFamilyHandle handle;
   private static final org.slf4j.Logger rocksDbLogger = LoggerFactory.getLogger(ROCKSDB);
 
   public RocksDbDataSourceImpl(String parentPath, String name, RocksDbSettings settings,
@@ -96,6 +102,13 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     return alive;
   }
 
+  /**
+   * Whether the keys are iterated in unsigned bytewise order, the default of RocksDB.
+   */
+  public boolean isBytewiseOrdered() {
+    return comparator == null;
+  }
+
   @Override
   public void closeDB() {
     resetDbLock.writeLock().lock();
@@ -103,7 +116,13 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
       if (!isAlive()) {
         return;
       }
-      database.close();
+      if (families != null) {
+        RocksDbColumnFamilies.release(families);
+        families = null;
+        database = null;
+      } else {
+        database.close();
+      }
       alive = false;
     } catch (Exception e) {
       logger.error("Failed to find the dbStore file on the closeDB: {}.", dataBaseName, e);
@@ -116,9 +135,15 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   public void resetDb() {
     resetDbLock.writeLock().lock();
     try {
+      if (families != null) {
+        handle = families.reset(dataBaseName);
+        return;
+      }
       closeDB();
       FileUtil.recursiveDelete(getDbPath().toString());
       initDB();
+    } catch (RocksDBException e) {
+      throw new RuntimeException(dataBaseName, e);
     } finally {
       resetDbLock.writeLock().unlock();
     }
@@ -170,7 +195,10 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   }
 
   public boolean checkOrInitEngine() {
-    String dir = getDbPath().toString();
+    return checkOrInitEngine(getDbPath().toString());
+  }
+
+  private static boolean checkOrInitEngine(String dir) {
     String enginePath = dir + File.separator + "engine.properties";
 
     if (FileUtil.createDirIfNotExists(dir)) {
@@ -192,6 +220,10 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   }
 
   public void initDB() {
+    if (useColumnFamilies(RocksDbSettings.getSettings())) {
+      initColumnFamily(RocksDbSettings.getSettings());
+      return;
+    }
     if (!checkOrInitEngine()) {
       throw new RuntimeException(
           String.format("failed to check database: %s, engine do not match", dataBaseName));
@@ -265,6 +297,7 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
 
           try {
             database = RocksDB.open(options, dbPath.toString());
+            handle = database.getDefaultColumnFamily();
           } catch (RocksDBException e) {
             if (Objects.equals(e.getStatus().getCode(), Status.Code.Corruption)) {
               logger.error("Database {} corrupted, please delete database directory({}) " +
@@ -288,6 +321,60 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     }
   }
 
+  /**
+   * Stores without a comparator, in the directory of the other stores, are kept as column
+   * families of one instance when enabled.
+   */
+  private boolean useColumnFamilies(RocksDbSettings settings) {
+    return settings.isColumnFamilies() && comparator == null && dataBaseName != null
+        && !dataBaseName.contains("/") && !dataBaseName.contains(File.separator);
+  }
+
+  private void initColumnFamily(RocksDbSettings settings) {
+    resetDbLock.writeLock().lock();
+    try {
+      if (isAlive()) {
+        return;
+      }
+      String shared = Paths.get(parentPath, RocksDbColumnFamilies.NAME).toString();
+      if (!checkOrInitEngine(shared)) {
+        throw new RuntimeException(
+            String.format("failed to check database: %s, engine do not match",
+                RocksDbColumnFamilies.NAME));
+      }
+      readOpts = new ReadOptions().setPrefixSameAsStart(true).setVerifyChecksums(false);
+      RocksDbColumnFamilies opened = RocksDbColumnFamilies.open(parentPath, settings);
+      try {
+        if (!opened.contains(dataBaseName) && Files.exists(getDbPath())) {
+          throw new RuntimeException(String.format(
+              "database %s is not a column family of %s yet, please run the Toolkit db cf first",
+              getDbPath(), shared));
+        }
+        handle = opened.handle(dataBaseName);
+      } catch (RuntimeException | RocksDBException e) {
+        RocksDbColumnFamilies.release(opened);
+        throw e;
+      }
+      families = opened;
+      database = opened.getDatabase();
+      alive = true;
+      logger.debug("Init DB {} as a column family of {} done.", dataBaseName, shared);
+    } catch (RocksDBException e) {
+      if (Objects.equals(e.getStatus().getCode(), Status.Code.Corruption)) {
+        logger.error("Database {} corrupted, please delete database directory({}) "
+            + "and restart.", RocksDbColumnFamilies.NAME, parentPath, e);
+      } else {
+        logger.error("Open Database {} failed", RocksDbColumnFamilies.NAME, e);
+      }
+      System.exit(1);
+    } catch (IOException ioe) {
+      throw new RuntimeException(
+          String.format("failed to init database: %s", dataBaseName), ioe);
+    } finally {
+      resetDbLock.writeLock().unlock();
+    }
+  }
+
   @Override
   public void putData(byte[] key, byte[] value) {
     resetDbLock.readLock().lock();
@@ -295,7 +382,7 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
       if (quitIfNotAlive()) {
         return;
       }
-      database.put(key, value);
+      database.put(handle, key, value);
     } catch (RocksDBException e) {
       throw new RuntimeException(dataBaseName, e);
     } finally {
@@ -310,7 +397,26 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
       if (quitIfNotAlive()) {
         return null;
       }
-      return database.get(key);
+      return database.get(handle, key);
+    } catch (RocksDBException e) {
+      throw new RuntimeException(dataBaseName, e);
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Map<WrappedByteArray, byte[]> multiGet(Collection<byte[]> keys) {
+    resetDbLock.readLock().lock();
+    try {
+      if (quitIfNotAlive()) {
+        return Collections.emptyMap();
+      }
+      List<byte[]> list = new ArrayList<>(keys);
+      Map<WrappedByteArray, byte[]> result = new HashMap<>(list.size());
+      database.multiGet(Collections.nCopies(list.size(), handle), list)
+          .forEach((k, v) -> result.put(WrappedByteArray.of(k), v));
+      return result;
     } catch (RocksDBException e) {
       throw new RuntimeException(dataBaseName, e);
     } finally {
@@ -325,7 +431,7 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
       if (quitIfNotAlive()) {
         return;
       }
-      database.delete(key);
+      database.delete(handle, key);
     } catch (RocksDBException e) {
       throw new RuntimeException(dataBaseName, e);
     } finally {
@@ -350,9 +456,9 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     try (WriteBatch batch = new WriteBatch()) {
       for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
         if (entry.getValue() == null) {
-          batch.delete(entry.getKey());
+          batch.delete(handle, entry.getKey());
         } else {
-          batch.put(entry.getKey(), entry.getValue());
+          batch.put(handle, entry.getKey(), entry.getValue());
         }
       }
       database.write(new WriteOptions(), batch);
@@ -367,9 +473,9 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     try (WriteBatch batch = new WriteBatch()) {
       for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
         if (entry.getValue() == null) {
-          batch.delete(entry.getKey());
+          batch.delete(handle, entry.getKey());
         } else {
-          batch.put(entry.getKey(), entry.getValue());
+          batch.put(handle, entry.getKey(), entry.getValue());
         }
       }
       database.write(options, batch);
@@ -467,7 +573,7 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
         return null;
       }
       try (RocksIterator iterator = getRocksIterator()) {
-        Map<WrappedByteArray, byte[]> result = new HashMap<>();
+        Map<WrappedByteArray, byte[]> result = new LinkedHashMap<>();
         for (iterator.seek(key); iterator.isValid(); iterator.next()) {
           if (Bytes.indexOf(iterator.key(), key) == 0) {
             result.put(WrappedByteArray.of(iterator.key()), iterator.value());
@@ -528,17 +634,27 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   }
 
   public void backup(String dir) throws RocksDBException {
+    if (families != null) {
+      // the column families are backed up at once, by the first of them
+      if (!new File(dir + RocksDbColumnFamilies.NAME).exists()) {
+        Checkpoint.create(database).createCheckpoint(dir + RocksDbColumnFamilies.NAME);
+      }
+      return;
+    }
     Checkpoint cp = Checkpoint.create(database);
     cp.createCheckpoint(dir + this.getDBName());
   }
 
   private RocksIterator getRocksIterator() {
     try ( ReadOptions readOptions = new ReadOptions().setFillCache(false)) {
-      return  database.newIterator(readOptions);
+      return  database.newIterator(handle, readOptions);
     }
   }
 
   public boolean deleteDbBakPath(String dir) {
+    if (families != null) {
+      return FileUtil.deleteDir(new File(dir + RocksDbColumnFamilies.NAME));
+    }
     return FileUtil.deleteDir(new File(dir + this.getDBName()));
   }
 
@@ -567,7 +683,7 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
       if (!isAlive()) {
         return Collections.emptyList();
       }
-      String stat = database.getProperty("rocksdb.levelstats");
+      String stat = database.getProperty(handle, "rocksdb.levelstats");
       String[] stats = stat.split("\n");
       return Arrays.stream(stats).skip(2).collect(Collectors.toList());
     } finally {
@@ -52,6 +52,7 @@ import org.tron.core.store.DynamicPropertiesStore;
 import org.tron.core.store.ExchangeStore;
 import org.tron.core.store.ExchangeV2Store;
 import org.tron.core.store.IncrementalMerkleTreeStore;
+import org.tron.core.store.LogIndexStore;
 import org.tron.core.store.MarketAccountStore;
 import org.tron.core.store.MarketOrderStore;
 import org.tron.core.store.MarketPairPriceToOrderStore;
@@ -233,6 +234,10 @@ public class ChainBaseManager {
   @Getter
   private SectionBloomStore sectionBloomStore;
 
+  @Autowired
+  @Getter
+  private LogIndexStore logIndexStore;
+
   @Autowired
   private DbStatService dbStatService;
 
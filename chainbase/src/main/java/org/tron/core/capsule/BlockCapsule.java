@@ -56,6 +56,8 @@ public class BlockCapsule implements ProtoCapsule<Block> {
 
   private Block block;
   private List<TransactionCapsule> transactions = new ArrayList<>();
+  // merkle root computed from the transactions, reset whenever they change
+  private volatile Sha256Hash txMerkleRoot;
   private StringBuilder toStringBuff = new StringBuilder();
   private boolean isSwitch;
   @Getter
@@ -140,6 +142,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
 
   public void addTransaction(TransactionCapsule pendingTrx) {
     this.block = this.block.toBuilder().addTransactions(pendingTrx.getInstance()).build();
+    txMerkleRoot = null;
     getTransactions().add(pendingTrx);
   }
 
@@ -147,6 +150,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
     List<Transaction> list = pendingTrxs.stream().map(TransactionCapsule::getInstance).collect(
         Collectors.toList());
     this.block = this.block.toBuilder().addAllTransactions(list).build();
+    txMerkleRoot = null;
     getTransactions().addAll(pendingTrxs);
   }
 
@@ -182,10 +186,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   public boolean validateSignature(DynamicPropertiesStore dynamicPropertiesStore,
       AccountStore accountStore) throws ValidateSignatureException {
     try {
-      byte[] sigAddress = SignUtils.signatureToAddress(getRawHash().getBytes(),
-          TransactionCapsule.getBase64FromByteString(
-              block.getBlockHeader().getWitnessSignature()),
-          CommonParameter.getInstance().isECKeyCryptoEngine());
+      byte[] sigAddress = recoverWitnessSigner();
       byte[] witnessAccountAddress = block.getBlockHeader().getRawData().getWitnessAddress()
           .toByteArray();
 
@@ -202,6 +203,14 @@ public class BlockCapsule implements ProtoCapsule<Block> {
     }
   }
 
+  /**
+   * @return the address that signed the block header, the witness permission is not checked.
+   */
+  public byte[] recoverWitnessSigner() throws SignatureException {
+    return TransactionCapsule.recoverAddress(getRawHash().getBytes(),
+        block.getBlockHeader().getWitnessSignature());
+  }
+
   public BlockId getBlockId() {
     if (blockId.equals(Sha256Hash.ZERO_HASH)) {
       blockId =
@@ -212,18 +221,23 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   }
 
   public Sha256Hash calcMerkleRoot() {
+    Sha256Hash root = txMerkleRoot;
+    if (root != null) {
+      return root;
+    }
     List<Transaction> transactionsList = this.block.getTransactionsList();
 
     if (CollectionUtils.isEmpty(transactionsList)) {
-      return Sha256Hash.ZERO_HASH;
+      root = Sha256Hash.ZERO_HASH;
+    } else {
+      ArrayList<Sha256Hash> ids = transactionsList.stream()
+          .map(TransactionCapsule::new)
+          .map(TransactionCapsule::getMerkleHash)
+          .collect(Collectors.toCollection(ArrayList::new));
+      root = MerkleTree.getInstance().createTree(ids).getRoot().getHash();
     }
-
-    ArrayList<Sha256Hash> ids = transactionsList.stream()
-        .map(TransactionCapsule::new)
-        .map(TransactionCapsule::getMerkleHash)
-        .collect(Collectors.toCollection(ArrayList::new));
-
-    return MerkleTree.getInstance().createTree(ids).getRoot().getHash();
+    txMerkleRoot = root;
+    return root;
   }
 
   public void setMerkleRoot() {
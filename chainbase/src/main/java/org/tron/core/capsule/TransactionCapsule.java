@@ -40,6 +40,10 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheStrategies;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
 import org.tron.common.crypto.ECKey.ECDSASignature;
 import org.tron.common.crypto.SignInterface;
 import org.tron.common.crypto.SignUtils;
@@ -53,6 +57,7 @@ import org.tron.core.actuator.TransactionFactory;
 import org.tron.core.config.Parameter;
 import org.tron.core.db.TransactionContext;
 import org.tron.core.db.TransactionTrace;
+import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.exception.BadItemException;
 import org.tron.core.exception.ContractValidateException;
 import org.tron.core.exception.P2pException;
@@ -90,6 +95,14 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
       .newFixedThreadPool(CommonParameter.getInstance()
           .getValidContractProtoThreadNum());
   private static final String OWNER_ADDRESS = "ownerAddress_";
+  /**
+   * Addresses recovered from (hash, signature) pairs. Recovery does not depend on the chain
+   * state, so blocks can be warmed up here ahead of execution while the permission checks
+   * still run against the state of their turn.
+   */
+  private static final TronCache<WrappedByteArray, byte[]> SIGNERS = CacheManager.allocate(
+      CacheType.signer, String.format(CacheStrategies.PATTERNS, 10_000, 200_000, "10m",
+          Runtime.getRuntime().availableProcessors()));
 
   private Transaction transaction;
   @Setter
@@ -236,8 +249,7 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
             "Signature size is " + sig.size());
       }
       String base64 = TransactionCapsule.getBase64FromByteString(sig);
-      byte[] address = SignUtils
-          .signatureToAddress(hash, base64, CommonParameter.getInstance().isECKeyCryptoEngine());
+      byte[] address = recoverAddress(hash, sig);
       long weight = getWeight(permission, address);
       if (weight == 0) {
         throw new PermissionException(
@@ -461,6 +473,39 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
     return signature.toBase64();
   }
 
+  /**
+   * @return the address that signed the hash, served from the signer cache when it was
+   *     recovered before.
+   */
+  public static byte[] recoverAddress(byte[] hash, ByteString sig) throws SignatureException {
+    WrappedByteArray key = WrappedByteArray.of(Bytes.concat(hash, sig.toByteArray()));
+    byte[] address = SIGNERS.getIfPresent(key);
+    if (address == null) {
+      address = SignUtils.signatureToAddress(hash, getBase64FromByteString(sig),
+          CommonParameter.getInstance().isECKeyCryptoEngine());
+      SIGNERS.put(key, address);
+    }
+    return address;
+  }
+
+  /**
+   * Recovers the signers of this transaction into the signer cache. Invalid signatures are
+   * skipped, they are reported when the transaction is validated.
+   */
+  public void recoverSigners() {
+    byte[] hash = getTransactionId().getBytes();
+    for (ByteString sig : transaction.getSignatureList()) {
+      if (sig.size() < 65) {
+        continue;
+      }
+      try {
+        recoverAddress(hash, sig);
+      } catch (SignatureException | RuntimeException e) {
+        logger.debug("Recover signer of {} failed: {}", getTransactionId(), e.getMessage());
+      }
+    }
+  }
+
   public static boolean validateSignature(Transaction transaction,
       byte[] hash, AccountStore accountStore, DynamicPropertiesStore dynamicPropertiesStore)
       throws PermissionException, SignatureException, SignatureFormatException {
@@ -1,9 +1,13 @@
 package org.tron.core.capsule;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
+import org.tron.common.utils.FastByteComparisons;
 import org.tron.core.exception.BadItemException;
 import org.tron.protos.Protocol.TransactionInfo;
 import org.tron.protos.Protocol.TransactionRet;
@@ -11,6 +15,11 @@ import org.tron.protos.Protocol.TransactionRet;
 @Slf4j(topic = "capsule")
 public class TransactionRetCapsule implements ProtoCapsule<TransactionRet> {
 
+  private static final int TRANSACTION_INFO_TAG = TransactionRet.TRANSACTIONINFO_FIELD_NUMBER << 3
+      | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  private static final int ID_TAG = TransactionInfo.ID_FIELD_NUMBER << 3
+      | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
   private TransactionRet transactionRet;
 
   public TransactionRetCapsule(BlockCapsule blockCapsule) {
@@ -36,6 +45,52 @@ public class TransactionRetCapsule implements ProtoCapsule<TransactionRet> {
     }
   }
 
+  /**
+   * Looks up one transaction info in serialized {@link TransactionRet} data. Every entry is
+   * matched on its id in place and skipped, only the matching one is decoded.
+   *
+   * @return the matching transaction info, null if there is none.
+   */
+  public static TransactionInfo findTransactionInfo(byte[] data, byte[] id)
+      throws BadItemException {
+    try {
+      CodedInputStream input = CodedInputStream.newInstance(data);
+      int tag;
+      while ((tag = input.readTag()) != 0) {
+        if (tag != TRANSACTION_INFO_TAG) {
+          input.skipField(tag);
+          continue;
+        }
+        int length = input.readRawVarint32();
+        int offset = input.getTotalBytesRead();
+        input.skipRawBytes(length);
+        if (hasId(data, offset, length, id)) {
+          return TransactionInfo.parser().parseFrom(data, offset, length);
+        }
+      }
+      return null;
+    } catch (IOException e) {
+      throw new BadItemException("TransactionInfoCapsule proto data parse exception");
+    }
+  }
+
+  private static boolean hasId(byte[] data, int offset, int length, byte[] id)
+      throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(data, offset, length);
+    int tag;
+    while ((tag = input.readTag()) != 0) {
+      if (tag == ID_TAG) {
+        int size = input.readRawVarint32();
+        int start = offset + input.getTotalBytesRead();
+        return size == id.length && size <= length - input.getTotalBytesRead()
+            && FastByteComparisons.compareTo(data, start, size, id, 0, id.length) == 0;
+      }
+      input.skipField(tag);
+    }
+    // an empty id is not serialized
+    return id.length == 0;
+  }
+
   public void addTransactionInfo(TransactionInfo result) {
     this.transactionRet = this.transactionRet.toBuilder().addTransactioninfo(result).build();
   }
@@ -0,0 +1,155 @@
+package org.tron.core.db;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.tron.common.cache.TronCache;
+import org.tron.core.capsule.AbiCapsule;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.AccountTraceCapsule;
+import org.tron.core.capsule.AssetIssueCapsule;
+import org.tron.core.capsule.BlockBalanceTraceCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.BytesCapsule;
+import org.tron.core.capsule.CodeCapsule;
+import org.tron.core.capsule.ContractCapsule;
+import org.tron.core.capsule.ContractStateCapsule;
+import org.tron.core.capsule.DelegatedResourceCapsule;
+import org.tron.core.capsule.ExchangeCapsule;
+import org.tron.core.capsule.IncrementalMerkleTreeCapsule;
+import org.tron.core.capsule.MarketAccountOrderCapsule;
+import org.tron.core.capsule.MarketOrderCapsule;
+import org.tron.core.capsule.MarketOrderIdListCapsule;
+import org.tron.core.capsule.ProposalCapsule;
+import org.tron.core.capsule.ProtoCapsule;
+import org.tron.core.capsule.StorageRowCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.capsule.TransactionInfoCapsule;
+import org.tron.core.capsule.TransactionRetCapsule;
+import org.tron.core.capsule.VotesCapsule;
+import org.tron.core.capsule.WitnessCapsule;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.exception.BadItemException;
+import org.tron.protos.Protocol.Account;
+
+/**
+ * Builds the capsules of the stores from their stored bytes, the other direction is
+ * {@link ProtoCapsule#getData()}. Capsule types are registered once with a direct factory,
+ * unregistered types fall back to their {@code byte[]} constructor, looked up once.
+ */
+public final class CapsuleCodec<T extends ProtoCapsule> {
+
+  private static final Map<Class<?>, CapsuleCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+  static {
+    register(AbiCapsule.class, AbiCapsule::new);
+    register(AccountCapsule.class, AccountCapsule::new,
+        account -> new AccountCapsule((Account) account));
+    register(AccountTraceCapsule.class, AccountTraceCapsule::new);
+    register(AssetIssueCapsule.class, AssetIssueCapsule::new);
+    register(BlockBalanceTraceCapsule.class, BlockBalanceTraceCapsule::new);
+    register(BlockCapsule.class, BlockCapsule::new);
+    register(BytesCapsule.class, BytesCapsule::new);
+    register(CodeCapsule.class, CodeCapsule::new);
+    register(ContractCapsule.class, ContractCapsule::new);
+    register(ContractStateCapsule.class, ContractStateCapsule::new);
+    register(DelegatedResourceCapsule.class, DelegatedResourceCapsule::new);
+    register(ExchangeCapsule.class, ExchangeCapsule::new);
+    register(IncrementalMerkleTreeCapsule.class, IncrementalMerkleTreeCapsule::new);
+    register(MarketAccountOrderCapsule.class, MarketAccountOrderCapsule::new);
+    register(MarketOrderCapsule.class, MarketOrderCapsule::new);
+    register(MarketOrderIdListCapsule.class, MarketOrderIdListCapsule::new);
+    register(ProposalCapsule.class, ProposalCapsule::new);
+    register(StorageRowCapsule.class, StorageRowCapsule::new);
+    register(TransactionCapsule.class, TransactionCapsule::new);
+    register(TransactionInfoCapsule.class, TransactionInfoCapsule::new);
+    register(TransactionRetCapsule.class, TransactionRetCapsule::new);
+    register(VotesCapsule.class, VotesCapsule::new);
+    register(WitnessCapsule.class, WitnessCapsule::new);
+  }
+
+  @FunctionalInterface
+  public interface Decoder<T> {
+
+    T decode(byte[] data) throws BadItemException;
+  }
+
+  private final Decoder<T> decoder;
+  // builds a capsule around an already parsed instance, null if the type can't share them
+  private final Function<Object, T> wrapper;
+
+  private CapsuleCodec(Decoder<T> decoder, Function<Object, T> wrapper) {
+    this.decoder = decoder;
+    this.wrapper = wrapper;
+  }
+
+  public static <T extends ProtoCapsule> void register(Class<T> type, Decoder<T> decoder) {
+    register(type, decoder, null);
+  }
+
+  /**
+   * @param wrapper builds a capsule around the instance of another capsule, it enables
+   *     {@link #decode(byte[], TronCache)} to skip the parsing of values decoded before.
+   */
+  public static <T extends ProtoCapsule> void register(Class<T> type, Decoder<T> decoder,
+      Function<Object, T> wrapper) {
+    CODECS.put(type, new CapsuleCodec<>(decoder, wrapper));
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T extends ProtoCapsule> CapsuleCodec<T> of(Class<? super T> type) {
+    return (CapsuleCodec<T>) CODECS.computeIfAbsent(type, CapsuleCodec::reflective);
+  }
+
+  private static CapsuleCodec<?> reflective(Class<?> type) {
+    Constructor<?> constructor;
+    try {
+      constructor = type.getConstructor(byte[].class);
+    } catch (NoSuchMethodException e) {
+      return new CapsuleCodec<ProtoCapsule>(data -> {
+        throw new BadItemException(e.getMessage());
+      }, null);
+    }
+    return new CapsuleCodec<ProtoCapsule>(data -> {
+      try {
+        return (ProtoCapsule) constructor.newInstance((Object) data);
+      } catch (IllegalAccessException | InstantiationException
+          | InvocationTargetException e) {
+        throw new BadItemException(e.getMessage());
+      }
+    }, null);
+  }
+
+  public T decode(byte[] data) throws BadItemException {
+    try {
+      return decoder.decode(data);
+    } catch (RuntimeException e) {
+      // the reflective decoding reported these as bad items, keep doing so
+      throw new BadItemException(e.getMessage());
+    }
+  }
+
+  /**
+   * Decodes the data, sharing the parsed instance between the capsules of equal data. Parsed
+   * instances are immutable, so each caller still gets a capsule of its own.
+   */
+  public T decode(byte[] data, TronCache<WrappedByteArray, Object> cache)
+      throws BadItemException {
+    if (cache == null || wrapper == null || data == null) {
+      return decode(data);
+    }
+    WrappedByteArray key = WrappedByteArray.of(data);
+    Object instance = cache.getIfPresent(key);
+    if (instance != null) {
+      return wrapper.apply(instance);
+    }
+    T capsule = decode(data);
+    if (Objects.nonNull(capsule.getInstance())) {
+      cache.put(key, capsule.getInstance());
+    }
+    return capsule;
+  }
+}
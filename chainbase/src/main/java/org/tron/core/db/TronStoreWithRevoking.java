@@ -5,9 +5,8 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import com.google.common.reflect.TypeToken;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Paths;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
@@ -18,6 +17,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.iq80.leveldb.WriteOptions;
 import org.rocksdb.DirectComparator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.common.storage.leveldb.LevelDbDataSourceImpl;
 import org.tron.common.storage.metric.DbStatService;
@@ -44,6 +46,9 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
   protected IRevokingDB revokingDB;
   private TypeToken<T> token = new TypeToken<T>(getClass()) {
   };
+  private final CapsuleCodec<T> codec = CapsuleCodec.of(token.getRawType());
+  // parsed values shared between reads of the same bytes, only for the stores enabling it
+  private TronCache<WrappedByteArray, Object> decodedCache;
 
   @Autowired
   private RevokingDatabase revokingDatabase;
@@ -138,14 +143,15 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
   }
 
   public T of(byte[] value) throws BadItemException {
-    try {
-      Constructor constructor = token.getRawType().getConstructor(byte[].class);
-      @SuppressWarnings("unchecked")
-      T t = (T) constructor.newInstance(value);
-      return t;
-    } catch (NoSuchMethodException | IllegalAccessException | InstantiationException | InvocationTargetException e) {
-      throw new BadItemException(e.getMessage());
-    }
+    return codec.decode(value, decodedCache);
+  }
+
+  /**
+   * Lets repeated reads of an unchanged value skip the parsing, for the capsule types
+   * registered with a wrapper in {@link CapsuleCodec}.
+   */
+  protected void enableDecodedCache(CacheType type) {
+    this.decodedCache = CacheManager.allocate(type);
   }
 
   @Override
@@ -153,6 +159,16 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
     return revokingDB.has(key);
   }
 
+  /**
+   * Loads the persisted values of the keys into the cache of the store in one batch, ahead of
+   * their reads.
+   *
+   * @return the number of keys read
+   */
+  public int prefetch(Collection<byte[]> keys) {
+    return revokingDB.prefetch(keys);
+  }
+
   @Override
   public boolean isNotEmpty() {
     Iterator iterator = revokingDB.iterator();
@@ -19,6 +19,7 @@ package org.tron.core.db.common;
 
 import org.tron.core.db2.common.WrappedByteArray;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
@@ -48,4 +49,11 @@ public interface DbSourceInter<V> extends BatchSourceInter<byte[], V>,
 
   Map<WrappedByteArray, byte[]> prefixQuery(byte[] key);
 
+  /**
+   * Reads several keys at once.
+   *
+   * @return the values of the keys that exist
+   */
+  Map<WrappedByteArray, byte[]> multiGet(Collection<byte[]> keys);
+
 }
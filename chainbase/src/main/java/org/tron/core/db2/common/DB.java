@@ -1,5 +1,7 @@
 package org.tron.core.db2.common;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -7,6 +9,20 @@ public interface DB<K, V> extends Iterable<Map.Entry<K, V>>, Instance<DB<K, V>>
 
   V get(K k);
 
+  /**
+   * @return the values of the keys that exist
+   */
+  default Map<K, V> multiGet(Collection<K> keys) {
+    Map<K, V> result = new HashMap<>(keys.size());
+    for (K k : keys) {
+      V v = get(k);
+      if (v != null) {
+        result.put(k, v);
+      }
+    }
+    return result;
+  }
+
   void put(K k, V v);
 
   long size();
@@ -1,5 +1,6 @@
 package org.tron.core.db2.common;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,12 @@ public interface IRevokingDB extends Iterable<Map.Entry<byte[], byte[]>> {
 
   Chainbase.Cursor getCursor();
 
+  /**
+   * @return a number that changes whenever the head values change other than by
+   *     {@link #put} or {@link #delete}, e.g. when a snapshot is revoked.
+   */
+  long getRevision();
+
   // for blockstore
   Set<byte[]> getlatestValues(long limit);
 
@@ -45,4 +52,13 @@ public interface IRevokingDB extends Iterable<Map.Entry<byte[], byte[]>> {
     return Collections.emptyMap();
   }
 
+  /**
+   * Warms the cache of the persisted values for the keys.
+   *
+   * @return the number of keys read
+   */
+  default int prefetch(Collection<byte[]> keys) {
+    return 0;
+  }
+
 }
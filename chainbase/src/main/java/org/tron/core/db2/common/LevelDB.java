@@ -1,6 +1,7 @@
 package org.tron.core.db2.common;
 
 import com.google.common.collect.Maps;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.Getter;
@@ -25,6 +26,19 @@ public class LevelDB implements DB<byte[], byte[]>, Flusher {
     return db.getData(key);
   }
 
+  @Override
+  public Map<byte[], byte[]> multiGet(Collection<byte[]> keys) {
+    Map<WrappedByteArray, byte[]> values = db.multiGet(keys);
+    Map<byte[], byte[]> result = new HashMap<>(values.size());
+    for (byte[] key : keys) {
+      byte[] value = values.get(WrappedByteArray.of(key));
+      if (value != null) {
+        result.put(key, value);
+      }
+    }
+    return result;
+  }
+
   @Override
   public void put(byte[] key, byte[] value) {
     db.putData(key, value);
@@ -3,14 +3,17 @@ package org.tron.core.db2.core;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.tron.common.utils.ByteUtil;
 import org.tron.common.utils.Pair;
@@ -36,6 +39,7 @@ public class Chainbase implements IRevokingDB {
   private ThreadLocal<Cursor> cursor = new ThreadLocal<>();
   private ThreadLocal<Long> offset = new ThreadLocal<>();
   private Snapshot head;
+  private volatile long revision;
 
   public Chainbase(Snapshot head) {
     this.head = head;
@@ -96,6 +100,16 @@ public class Chainbase implements IRevokingDB {
     }
   }
 
+  @Override
+  public long getRevision() {
+    return revision;
+  }
+
+  // called after the head values changed as a whole, e.g. by a revoke
+  synchronized void nextRevision() {
+    revision++;
+  }
+
   public Snapshot getHead() {
     return head();
   }
@@ -117,6 +131,7 @@ public class Chainbase implements IRevokingDB {
     head().reset();
     head().close();
     head = head.getRoot().newInstance();
+    revision++;
   }
 
   @Override
@@ -139,6 +154,12 @@ public class Chainbase implements IRevokingDB {
     return value;
   }
 
+  @Override
+  public int prefetch(Collection<byte[]> keys) {
+    Snapshot root = head().getRoot();
+    return root instanceof SnapshotRoot ? ((SnapshotRoot) root).prefetch(keys) : 0;
+  }
+
   @Override
   public byte[] getFromRoot(byte[] key) throws ItemNotFoundException {
     byte[] value = head().getRoot().get(key);
@@ -349,33 +370,41 @@ public class Chainbase implements IRevokingDB {
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
   }
 
+  /**
+   * Merges the rows with the prefix of the snapshots under the cursor and the root, in unsigned
+   * key order.
+   */
   public Map<WrappedByteArray, byte[]> prefixQuery(byte[] key) {
-    Map<WrappedByteArray, byte[]> result = prefixQueryRoot(key);
-    Map<WrappedByteArray, byte[]>  snapshot = prefixQuerySnapshot(key);
-    result.putAll(snapshot);
-    result.entrySet().removeIf(e -> e.getValue() == null);
-    return result;
-  }
-
-  private Map<WrappedByteArray, byte[]> prefixQueryRoot(byte[] key) {
-    Map<WrappedByteArray, byte[]> result = new HashMap<>();
-    if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-      result = ((LevelDB) ((SnapshotRoot) head.getRoot()).db).getDb().prefixQuery(key);
-    } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-      result = ((RocksDB) ((SnapshotRoot) head.getRoot()).db).getDb().prefixQuery(key);
+    List<Iterator<Map.Entry<byte[], byte[]>>> sources = new ArrayList<>();
+    Snapshot snapshot = head();
+    while (Snapshot.isImpl(snapshot)) {
+      sources.add(((SnapshotImpl) snapshot).sortedIterator(key));
+      snapshot = snapshot.getPrevious();
     }
+    sources.add(prefixQueryRoot(key));
+    Map<WrappedByteArray, byte[]> result = new LinkedHashMap<>();
+    new MergeIterator(sources)
+        .forEachRemaining(e -> result.put(WrappedByteArray.of(e.getKey()), e.getValue()));
     return result;
   }
 
-  private Map<WrappedByteArray, byte[]> prefixQuerySnapshot(byte[] key) {
-    Map<WrappedByteArray, byte[]> result = new HashMap<>();
-    Snapshot snapshot = head();
-    if (!snapshot.equals(head.getRoot())) {
-      Map<WrappedByteArray, WrappedByteArray> all = new HashMap<>();
-      ((SnapshotImpl) snapshot).collect(all, key);
-      all.forEach((k, v) -> result.put(k, v.getBytes()));
+  private Iterator<Map.Entry<byte[], byte[]>> prefixQueryRoot(byte[] key) {
+    SnapshotRoot root = (SnapshotRoot) head.getRoot();
+    Map<WrappedByteArray, byte[]> result = null;
+    if (root.db.getClass() == LevelDB.class) {
+      result = ((LevelDB) root.db).getDb().prefixQuery(key);
+    } else if (root.db.getClass() == RocksDB.class) {
+      result = ((RocksDB) root.db).getDb().prefixQuery(key);
     }
-    return result;
+    if (result == null) {
+      return Collections.emptyIterator();
+    }
+    Stream<Map.Entry<byte[], byte[]>> rows = result.entrySet().stream()
+        .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue()));
+    if (!root.isBytewiseOrdered()) {
+      rows = rows.sorted(Map.Entry.comparingByKey(MergeIterator.KEY_ORDER));
+    }
+    return rows.iterator();
   }
 
 }
@@ -0,0 +1,76 @@
+package org.tron.core.db2.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.Value;
+import org.tron.core.db2.common.WrappedByteArray;
+
+/**
+ * Latest-version index of one chainbase: maps every key written in the snapshot stack to the
+ * newest live {@link SnapshotImpl} layer holding it. A key without an entry is only present in
+ * the {@link SnapshotRoot}, so a head read is one probe here plus, at most, one root read.
+ */
+final class LatestVersionIndex {
+
+  private final Map<WrappedByteArray, SnapshotImpl> latest = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  long nextSequence() {
+    return sequence.incrementAndGet();
+  }
+
+  SnapshotImpl get(byte[] key) {
+    return latest.get(WrappedByteArray.of(key));
+  }
+
+  void update(byte[] key, SnapshotImpl snapshot) {
+    latest.merge(WrappedByteArray.copyOf(key), snapshot,
+        (o, n) -> o.isAlive() && o.getSequence() > n.getSequence() ? o : n);
+  }
+
+  /**
+   * The snapshot left the stack from the top (revoke, merge or pop): every key it owned falls
+   * back to the newest older layer holding it, or to the root.
+   */
+  void retreat(SnapshotImpl snapshot) {
+    for (Map.Entry<Key, Value> e : snapshot.getDb()) {
+      WrappedByteArray key = WrappedByteArray.of(e.getKey().getBytes());
+      if (latest.get(key) != snapshot) {
+        continue;
+      }
+      SnapshotImpl holder = findHolder(snapshot.getPrevious(), e.getKey());
+      if (holder == null) {
+        latest.remove(key, snapshot);
+      } else {
+        latest.replace(key, snapshot, holder);
+      }
+    }
+  }
+
+  /**
+   * The snapshot was flushed into the root from the bottom: nothing older than it is left in
+   * the stack, so its keys are now served by the root.
+   */
+  void flushed(SnapshotImpl snapshot) {
+    for (Map.Entry<Key, Value> e : snapshot.getDb()) {
+      latest.remove(WrappedByteArray.of(e.getKey().getBytes()), snapshot);
+    }
+  }
+
+  private static SnapshotImpl findHolder(Snapshot from, Key key) {
+    Snapshot snapshot = from;
+    while (Snapshot.isImpl(snapshot)) {
+      if (((SnapshotImpl) snapshot).getDb().get(key) != null) {
+        return (SnapshotImpl) snapshot;
+      }
+      snapshot = snapshot.getPrevious();
+    }
+    return null;
+  }
+
+  int size() {
+    return latest.size();
+  }
+}
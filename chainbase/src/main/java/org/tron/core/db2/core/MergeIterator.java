@@ -0,0 +1,90 @@
+package org.tron.core.db2.core;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merges iterators sorted in unsigned key order into one iterator in the same order. When
+ * several sources have the same key, the one listed first wins, and a winning entry with a null
+ * value hides the key. Only the current entry of each source is held.
+ */
+final class MergeIterator implements Iterator<Map.Entry<byte[], byte[]>> {
+
+  static final Comparator<byte[]> KEY_ORDER = UnsignedBytes.lexicographicalComparator();
+
+  private static final Comparator<Source> SOURCE_ORDER = (a, b) -> {
+    int c = KEY_ORDER.compare(a.entry.getKey(), b.entry.getKey());
+    return c != 0 ? c : Integer.compare(a.priority, b.priority);
+  };
+
+  private final PriorityQueue<Source> queue;
+  private Map.Entry<byte[], byte[]> next;
+
+  MergeIterator(List<Iterator<Map.Entry<byte[], byte[]>>> sources) {
+    queue = new PriorityQueue<>(Math.max(1, sources.size()), SOURCE_ORDER);
+    for (int i = 0; i < sources.size(); i++) {
+      Source source = new Source(i, sources.get(i));
+      if (source.advance()) {
+        queue.add(source);
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (next == null && !queue.isEmpty()) {
+      Source top = queue.poll();
+      Map.Entry<byte[], byte[]> entry = top.entry;
+      // older versions of the same key
+      while (!queue.isEmpty()
+          && KEY_ORDER.compare(queue.peek().entry.getKey(), entry.getKey()) == 0) {
+        Source older = queue.poll();
+        if (older.advance()) {
+          queue.add(older);
+        }
+      }
+      if (top.advance()) {
+        queue.add(top);
+      }
+      if (entry.getValue() != null) {
+        next = entry;
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public Map.Entry<byte[], byte[]> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Map.Entry<byte[], byte[]> entry = next;
+    next = null;
+    return entry;
+  }
+
+  private static class Source {
+
+    private final int priority;
+    private final Iterator<Map.Entry<byte[], byte[]>> iterator;
+    private Map.Entry<byte[], byte[]> entry;
+
+    private Source(int priority, Iterator<Map.Entry<byte[], byte[]>> iterator) {
+      this.priority = priority;
+      this.iterator = iterator;
+    }
+
+    private boolean advance() {
+      if (!iterator.hasNext()) {
+        return false;
+      }
+      entry = iterator.next();
+      return true;
+    }
+  }
+}
@@ -1,16 +1,19 @@
 package org.tron.core.db2.core;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
-import com.google.common.primitives.Bytes;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
 import org.tron.core.db2.common.HashDB;
 import org.tron.core.db2.common.Key;
@@ -23,8 +26,19 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   @Getter
   protected Snapshot root;
 
+  private final LatestVersionIndex index;
+  @Getter
+  private final long sequence;
+  @Getter
+  private volatile boolean alive = true;
+  // bumped on every write, a sorted view of an older version is rebuilt
+  private final AtomicInteger version = new AtomicInteger();
+  private volatile SortedKeys sorted;
+
   SnapshotImpl(Snapshot snapshot) {
     root = snapshot.getRoot();
+    index = ((SnapshotRoot) root).getIndex();
+    sequence = index.nextSequence();
     synchronized (this) {
       db = new HashDB(SnapshotImpl.class.getSimpleName() + ":" + root.getDbName());
     }
@@ -34,6 +48,23 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
 
   @Override
   public byte[] get(byte[] key) {
+    if (!alive) {
+      return get(this, key);
+    }
+
+    SnapshotImpl latest = index.get(key);
+    if (latest == null) {
+      return root.get(key);
+    }
+
+    if (latest.alive && latest.sequence <= sequence) {
+      Value value = latest.db.get(Key.of(key));
+      if (value != null) {
+        return value.getBytes();
+      }
+    }
+
+    // the newest version is above this snapshot or is being moved, walk the stack instead
     return get(this, key);
   }
 
@@ -57,12 +88,16 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
     Preconditions.checkNotNull(value, "value in db is not null.");
 
     db.put(Key.copyOf(key), Value.copyOf(Value.Operator.PUT, value));
+    version.incrementAndGet();
+    index.update(key, this);
   }
 
   @Override
   public void remove(byte[] key) {
     Preconditions.checkNotNull(key, "key in db is not null.");
     db.put(Key.of(key), Value.of(Value.Operator.DELETE, null));
+    version.incrementAndGet();
+    index.update(key, this);
   }
 
   // we have a 3x3 matrix of all possibilities when merging previous snapshot and current snapshot :
@@ -81,20 +116,110 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   public void merge(Snapshot from) {
     SnapshotImpl fromImpl = (SnapshotImpl) from;
     Streams.stream(fromImpl.db).forEach(e -> db.put(e.getKey(), e.getValue()));
+    version.incrementAndGet();
   }
 
   @Override
   public Snapshot retreat() {
+    alive = false;
+    index.retreat(this);
     return previous;
   }
 
+  /**
+   * whether the layer holds any write, dropping an empty one changes no value.
+   */
+  boolean isWritten() {
+    return !db.isEmpty();
+  }
+
+  void flushed() {
+    alive = false;
+    index.flushed(this);
+  }
+
   @Override
   public Snapshot getSolidity() {
     return root.getSolidity();
   }
 
+  /**
+   * Merges this snapshot, the ones below it and the root in key order, newer layers shadow
+   * older ones and deletions hide the key. Only the roots iterated in unsigned bytewise order
+   * can be merged, the others are read into memory as before.
+   */
   @Override
   public Iterator<Map.Entry<byte[], byte[]>> iterator() {
+    if (!((SnapshotRoot) root).isBytewiseOrdered()) {
+      return collectedIterator();
+    }
+    List<Iterator<Map.Entry<byte[], byte[]>>> sources = new ArrayList<>();
+    Snapshot snapshot = this;
+    while (Snapshot.isImpl(snapshot)) {
+      sources.add(((SnapshotImpl) snapshot).sortedIterator(null));
+      snapshot = snapshot.getPrevious();
+    }
+    sources.add(root.iterator());
+    return new MergeIterator(sources);
+  }
+
+  /**
+   * The entries of this layer with the prefix, in unsigned key order, the value of a deleted
+   * key is null. A null prefix returns all the entries.
+   */
+  Iterator<Map.Entry<byte[], byte[]>> sortedIterator(byte[] prefix) {
+    byte[][] keys = sortedKeys();
+    int from = 0;
+    if (prefix != null) {
+      from = Arrays.binarySearch(keys, prefix, MergeIterator.KEY_ORDER);
+      from = from < 0 ? -from - 1 : from;
+    }
+    int start = from;
+    return new AbstractIterator<Map.Entry<byte[], byte[]>>() {
+      private int i = start;
+
+      @Override
+      protected Map.Entry<byte[], byte[]> computeNext() {
+        while (i < keys.length) {
+          byte[] key = keys[i++];
+          if (prefix != null && !startsWith(key, prefix)) {
+            break;
+          }
+          Value value = db.get(Key.of(key));
+          if (value != null) {
+            return Maps.immutableEntry(key.clone(), value.getBytes());
+          }
+        }
+        return endOfData();
+      }
+    };
+  }
+
+  private byte[][] sortedKeys() {
+    int current = version.get();
+    SortedKeys view = sorted;
+    if (view != null && view.version == current) {
+      return view.keys;
+    }
+    byte[][] keys = Streams.stream(db).map(e -> e.getKey().getBytes()).toArray(byte[][]::new);
+    Arrays.sort(keys, MergeIterator.KEY_ORDER);
+    sorted = new SortedKeys(current, keys);
+    return keys;
+  }
+
+  private static boolean startsWith(byte[] key, byte[] prefix) {
+    if (key.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (key[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Iterator<Map.Entry<byte[], byte[]>> collectedIterator() {
     Map<WrappedByteArray, WrappedByteArray> all = new HashMap<>();
     collect(all);
     Set<WrappedByteArray> keys = new HashSet<>(all.keySet());
@@ -117,17 +242,6 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
     }
   }
 
-  synchronized void collect(Map<WrappedByteArray, WrappedByteArray> all, byte[] prefix) {
-    Snapshot next = getRoot().getNext();
-    while (next != null) {
-      Streams.stream(((SnapshotImpl) next).db).filter(e -> Bytes.indexOf(
-              Objects.requireNonNull(e.getKey().getBytes()), prefix) == 0)
-          .forEach(e -> all.put(WrappedByteArray.of(e.getKey().getBytes()),
-              WrappedByteArray.of(e.getValue().getBytes())));
-      next = next.getNext();
-    }
-  }
-
   /**
    * Note: old --> new
    * In the snapshot, there may be same keys.
@@ -147,12 +261,22 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   }
 
 
-
   @Override
   public void close() {
     getRoot().close();
   }
 
+  private static class SortedKeys {
+
+    private final int version;
+    private final byte[][] keys;
+
+    private SortedKeys(int version, byte[][] keys) {
+      this.version = version;
+      this.keys = keys;
+    }
+  }
+
   @Override
   public void reset() {
     getRoot().reset();
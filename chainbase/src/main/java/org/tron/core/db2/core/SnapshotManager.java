@@ -7,14 +7,20 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.prometheus.client.Histogram;
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -31,7 +37,11 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.tron.common.error.TronDBException;
+import org.tron.common.es.ExecutorServiceManager;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
 import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.common.utils.FileUtil;
 import org.tron.common.utils.StorageUtils;
@@ -42,7 +52,6 @@ import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.IRevokingDB;
 import org.tron.core.db2.common.Key;
 import org.tron.core.db2.common.Value;
-import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.exception.RevokingStoreIllegalStateException;
 import org.tron.core.store.CheckPointV2Store;
 import org.tron.core.store.CheckTmpStore;
@@ -75,6 +84,14 @@ public class SnapshotManager implements RevokingDatabase {
 
   private Map<String, ListeningExecutorService> flushServices = new HashMap<>();
 
+  // flushes written by the flusher while blocks are applied above them, oldest first
+  // for test
+  @Setter
+  private int maxPendingFlushes;
+  private final Deque<PendingFlush> pendingFlushes = new ArrayDeque<>();
+  private ExecutorService flusher;
+  private static final String FLUSHER_NAME = "snapshot-flusher";
+
   private ScheduledExecutorService pruneCheckpointThread = null;
 
   @Autowired
@@ -93,6 +110,7 @@ public class SnapshotManager implements RevokingDatabase {
   @PostConstruct
   public void init() {
     checkpointVersion = CommonParameter.getInstance().getStorage().getCheckpointVersion();
+    maxPendingFlushes = CommonParameter.getInstance().getStorage().getMaxPendingFlushes();
     // prune checkpoint
     if (isV2Open()) {
       pruneCheckpointThread = Executors.newSingleThreadScheduledExecutor();
@@ -123,6 +141,10 @@ public class SnapshotManager implements RevokingDatabase {
       exitThread.interrupt();
       // help GC
       exitThread = null;
+      // the pending flushes finish before the stores are closed
+      awaitFlushed();
+      // the flusher writes through the flush services
+      ExecutorServiceManager.shutdownAndAwaitTermination(flusher, FLUSHER_NAME);
       flushServices.values().forEach(ExecutorService::shutdown);
     } catch (Exception e) {
       logger.warn("exitThread interrupt error", e);
@@ -190,6 +212,15 @@ public class SnapshotManager implements RevokingDatabase {
     --size;
   }
 
+  // drops the head layers, a db whose layer had writes gets a new revision
+  private void revokeHead() {
+    List<Chainbase> changed = dbs.stream()
+        .filter(db -> !Snapshot.isImpl(db.getHead()) || ((SnapshotImpl) db.getHead()).isWritten())
+        .collect(Collectors.toList());
+    retreat();
+    changed.forEach(Chainbase::nextRevision);
+  }
+
   public void merge() {
     if (activeSession <= 0) {
       throw new RevokingStoreIllegalStateException(activeSession);
@@ -220,7 +251,7 @@ public class SnapshotManager implements RevokingDatabase {
     disabled = true;
 
     try {
-      retreat();
+      revokeHead();
     } finally {
       disabled = false;
     }
@@ -249,7 +280,7 @@ public class SnapshotManager implements RevokingDatabase {
     disabled = true;
 
     try {
-      retreat();
+      revokeHead();
     } finally {
       disabled = false;
     }
@@ -301,11 +332,35 @@ public class SnapshotManager implements RevokingDatabase {
     return flushCount >= maxFlushCount;
   }
 
-  private void refresh() {
-    List<ListenableFuture<?>> futures = new ArrayList<>(dbs.size());
+  /**
+   * Takes the {@code flushCount} layers above the root, or above the layers of the newest
+   * pending flush, out of the reach of the sessions. Only the flush changes them from now on.
+   */
+  private PendingFlush freeze() {
+    PendingFlush last = pendingFlushes.peekLast();
+    Map<Chainbase, List<Snapshot>> layers = new LinkedHashMap<>();
     for (Chainbase db : dbs) {
-      futures.add(flushServices.get(db.getDbName()).submit(() -> refreshOne(db)));
+      if (Snapshot.isRoot(db.getHead())) {
+        continue;
+      }
+      List<Snapshot> snapshots = new ArrayList<>(flushCount);
+      Snapshot next = last == null || !last.layers.containsKey(db)
+          ? db.getHead().getRoot() : last.top(db);
+      for (int i = 0; i < flushCount; ++i) {
+        next = next.getNext();
+        snapshots.add(next);
+      }
+      layers.put(db, snapshots);
     }
+    return new PendingFlush(layers);
+  }
+
+  private void refresh(PendingFlush flush) {
+    Histogram.Timer timer = Metrics.histogramStartTimer(
+        MetricKeys.Histogram.SNAPSHOT_FLUSH_LATENCY, MetricLabels.Histogram.FLUSH_REFRESH);
+    List<ListenableFuture<?>> futures = new ArrayList<>(flush.layers.size());
+    flush.layers.forEach((db, snapshots) -> futures.add(flushServices.get(db.getDbName())
+        .submit(() -> ((SnapshotRoot) db.getHead().getRoot()).merge(snapshots))));
     Future<?> future = Futures.allAsList(futures);
     try {
       future.get();
@@ -315,31 +370,39 @@ public class SnapshotManager implements RevokingDatabase {
     } catch (ExecutionException e) {
       throw new TronDBException(e);
     }
+    Metrics.histogramObserve(timer);
   }
 
-  private void refreshOne(Chainbase db) {
-    if (Snapshot.isRoot(db.getHead())) {
-      return;
-    }
-
-    List<Snapshot> snapshots = new ArrayList<>();
-
-    SnapshotRoot root = (SnapshotRoot) db.getHead().getRoot();
-    Snapshot next = root;
-    for (int i = 0; i < flushCount; ++i) {
-      next = next.getNext();
-      snapshots.add(next);
-    }
-
-    root.merge(snapshots);
+  /**
+   * Drops the flushed layers from the stacks, their keys are read from the root from now on.
+   */
+  private void install(PendingFlush flush) {
+    flush.layers.forEach((db, snapshots) -> {
+      if (snapshots.isEmpty()) {
+        return;
+      }
+      SnapshotRoot root = (SnapshotRoot) db.getHead().getRoot();
+      snapshots.forEach(snapshot -> ((SnapshotImpl) snapshot).flushed());
+      // the solidity may have moved above the layers while they were flushed
+      if (snapshots.contains(root.getSolidity())) {
+        root.resetSolidity();
+      }
+      Snapshot top = flush.top(db);
+      if (db.getHead() == top) {
+        db.setHead(root);
+      } else {
+        top.getNext().setPrevious(root);
+        root.setNext(top.getNext());
+      }
+    });
+  }
 
-    root.resetSolidity();
-    if (db.getHead() == next) {
-      db.setHead(root);
-    } else {
-      next.getNext().setPrevious(root);
-      root.setNext(next.getNext());
+  private void write(PendingFlush flush) {
+    if (!isV2Open()) {
+      deleteCheckpoint();
     }
+    createCheckpoint(flush);
+    refresh(flush);
   }
 
   public void flush() {
@@ -347,16 +410,23 @@ public class SnapshotManager implements RevokingDatabase {
       return;
     }
 
+    if (isPipelined()) {
+      flushPipelined();
+      return;
+    }
+
     if (shouldBeRefreshed()) {
       try {
         long start = System.currentTimeMillis();
+        PendingFlush flush = freeze();
         if (!isV2Open()) {
           deleteCheckpoint();
         }
-        createCheckpoint();
+        createCheckpoint(flush);
 
         long checkPointEnd = System.currentTimeMillis();
-        refresh();
+        refresh(flush);
+        install(flush);
         flushCount = 0;
         logger.info("Flush cost: {} ms, create checkpoint cost: {} ms, refresh cost: {} ms.",
             System.currentTimeMillis() - start,
@@ -371,34 +441,101 @@ public class SnapshotManager implements RevokingDatabase {
     }
   }
 
-  private void createCheckpoint() {
-    TronDatabase<byte[]> checkPointStore = null;
-    boolean syncFlag;
+  private boolean isPipelined() {
+    return maxPendingFlushes > 0;
+  }
+
+  /**
+   * Hands the frozen layers to the flusher and returns, blocks are applied on the layers above
+   * while the checkpoint and the stores are written. Waits only when too many flushes are
+   * pending.
+   */
+  private void flushPipelined() {
     try {
-      Map<WrappedByteArray, WrappedByteArray> batch = new HashMap<>();
-      for (Chainbase db : dbs) {
-        Snapshot head = db.getHead();
-        if (Snapshot.isRoot(head)) {
-          return;
+      installFlushed(maxPendingFlushes);
+      if (shouldBeRefreshed() && flushCount > 0) {
+        installFlushed(maxPendingFlushes - 1);
+        PendingFlush flush = freeze();
+        flushCount = 0;
+        if (flusher == null) {
+          flusher = ExecutorServiceManager.newSingleThreadExecutor(FLUSHER_NAME);
         }
+        flush.future = flusher.submit(() -> {
+          long start = System.currentTimeMillis();
+          write(flush);
+          logger.info("Pipelined flush cost: {} ms.", System.currentTimeMillis() - start);
+        });
+        pendingFlushes.addLast(flush);
+        Metrics.gaugeSet(MetricKeys.Gauge.SNAPSHOT_FLUSH_QUEUE, pendingFlushes.size());
+      }
+    } catch (TronDBException e) {
+      logger.error(" Find fatal error, program will be exited soon.", e);
+      hitDown = true;
+      LockSupport.unpark(exitThread);
+    }
+  }
 
-        String dbName = db.getDbName();
+  /**
+   * Installs the written flushes in order, waiting for the oldest ones until at most
+   * {@code pending} are left.
+   */
+  private void installFlushed(int pending) {
+    while (!pendingFlushes.isEmpty()) {
+      PendingFlush flush = pendingFlushes.peekFirst();
+      if (pendingFlushes.size() <= pending && !flush.future.isDone()) {
+        break;
+      }
+      try {
+        flush.future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TronDBException(e);
+      } catch (ExecutionException e) {
+        throw new TronDBException(e.getCause());
+      }
+      pendingFlushes.pollFirst();
+      install(flush);
+    }
+    Metrics.gaugeSet(MetricKeys.Gauge.SNAPSHOT_FLUSH_QUEUE, pendingFlushes.size());
+  }
+
+  /**
+   * Waits for all the pending flushes and drops their layers from the stacks, on close.
+   */
+  public synchronized void awaitFlushed() {
+    installFlushed(0);
+  }
+
+  private void createCheckpoint(PendingFlush flush) {
+    TronDatabase<byte[]> checkPointStore = null;
+    boolean syncFlag;
+    try {
+      Histogram.Timer timer = Metrics.histogramStartTimer(
+          MetricKeys.Histogram.SNAPSHOT_FLUSH_LATENCY, MetricLabels.Histogram.FLUSH_CHECKPOINT);
+      Map<byte[], byte[]> batch = new HashMap<>();
+      long bytes = 0;
+      for (Map.Entry<Chainbase, List<Snapshot>> entry : flush.layers.entrySet()) {
+        String dbName = entry.getKey().getDbName();
 
         if (Objects.equals(dbName, "trans-cache")) {
           // trans-cache is deprecated
           continue;
         }
 
-        Snapshot next = head.getRoot();
-        for (int i = 0; i < flushCount; ++i) {
-          next = next.getNext();
-          SnapshotImpl snapshot = (SnapshotImpl) next;
-          DB<Key, Value> keyValueDB = snapshot.getDb();
+        byte[] prefix = simpleEncode(dbName);
+        List<Snapshot> snapshots = entry.getValue();
+        // newest first, older versions of a key are not written
+        Set<Key> written = new HashSet<>();
+        for (int i = snapshots.size() - 1; i >= 0; --i) {
+          DB<Key, Value> keyValueDB = ((SnapshotImpl) snapshots.get(i)).getDb();
           for (Map.Entry<Key, Value> e : keyValueDB) {
-            Key k = e.getKey();
-            Value v = e.getValue();
-            batch.put(WrappedByteArray.of(Bytes.concat(simpleEncode(dbName), k.getBytes())),
-                WrappedByteArray.of(v.encode()));
+            if (!written.add(e.getKey())) {
+              continue;
+            }
+            byte[] k = Bytes.concat(prefix, e.getKey().getBytes());
+            byte[] v = e.getValue().encode();
+            batch.put(k, v);
+            bytes += k.length + v.length;
           }
         }
       }
@@ -411,10 +548,11 @@ public class SnapshotManager implements RevokingDatabase {
         syncFlag = CommonParameter.getInstance().getStorage().isDbSync();
       }
 
-      checkPointStore.getDbSource().updateByBatch(batch.entrySet().stream()
-              .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-              .collect(HashMap::new, (m, k) -> m.put(k.getKey(), k.getValue()), HashMap::putAll),
+      checkPointStore.getDbSource().updateByBatch(batch,
           WriteOptionsWrapper.getInstance().sync(syncFlag));
+      Metrics.histogramObserve(timer);
+      Metrics.histogramObserve(MetricKeys.Histogram.SNAPSHOT_FLUSH_BYTES, bytes,
+          MetricLabels.Histogram.FLUSH_CHECKPOINT);
 
     } catch (Exception e) {
       throw new TronDBException(e);
@@ -563,7 +701,7 @@ public class SnapshotManager implements RevokingDatabase {
     }
 
     dbs.forEach(db -> db.getHead().getRoot().merge(db.getHead()));
-    retreat();
+    revokeHead();
   }
 
   private boolean isV2Open() {
@@ -579,6 +717,21 @@ public class SnapshotManager implements RevokingDatabase {
     return r;
   }
 
+  private static class PendingFlush {
+
+    private final Map<Chainbase, List<Snapshot>> layers;
+    private Future<?> future;
+
+    private PendingFlush(Map<Chainbase, List<Snapshot>> layers) {
+      this.layers = layers;
+    }
+
+    private Snapshot top(Chainbase db) {
+      List<Snapshot> snapshots = layers.get(db);
+      return snapshots.get(snapshots.size() - 1);
+    }
+  }
+
   @Slf4j(topic = "DB")
   @Getter // only for unit test
   public static class Session implements ISession {
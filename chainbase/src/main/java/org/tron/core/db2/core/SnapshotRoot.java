@@ -2,12 +2,14 @@ package org.tron.core.db2.core;
 
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.tron.common.cache.CacheManager;
 import org.tron.common.cache.CacheType;
@@ -18,6 +20,8 @@ import org.tron.core.ChainBaseManager;
 import org.tron.core.capsule.AccountCapsule;
 import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.Flusher;
+import org.tron.core.db2.common.LevelDB;
+import org.tron.core.db2.common.RocksDB;
 import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.store.AccountAssetStore;
 
@@ -26,8 +30,14 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
   @Getter
   private Snapshot solidity;
   private boolean isAccountDB;
+  @Getter(AccessLevel.PACKAGE)
+  private final LatestVersionIndex index = new LatestVersionIndex();
 
   private TronCache<WrappedByteArray, WrappedByteArray> cache;
+  // moves before and after every write, a prefetch only caches what it read if it didn't move
+  private final Object writeLock = new Object();
+  private long generation;
+  private int writing;
   private static final List<String> CACHE_DBS = CommonParameter.getInstance()
       .getStorage().getCacheDbs();
 
@@ -75,8 +85,13 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
       item.clearAsset();
       v = item.getData();
     }
-    db.put(key, v);
-    putCache(key, v);
+    beginWrite();
+    try {
+      db.put(key, v);
+      putCache(key, v);
+    } finally {
+      endWrite();
+    }
   }
 
   @Override
@@ -84,8 +99,13 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     if (needOptAsset()) {
       ChainBaseManager.getInstance().getAccountAssetStore().deleteAccount(key);
     }
-    db.remove(key);
-    putCache(key, null);
+    beginWrite();
+    try {
+      db.remove(key);
+      putCache(key, null);
+    } finally {
+      endWrite();
+    }
   }
 
   @Override
@@ -95,12 +115,7 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
         .map(e -> Maps.immutableEntry(WrappedByteArray.of(e.getKey().getBytes()),
             WrappedByteArray.of(e.getValue().getBytes())))
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    if (needOptAsset()) {
-      processAccount(batch);
-    } else {
-      ((Flusher) db).flush(batch);
-      putCache(batch);
-    }
+    flush(batch);
   }
 
   public void merge(List<Snapshot> snapshots) {
@@ -112,11 +127,20 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
               WrappedByteArray.of(e.getValue().getBytes())))
           .forEach(e -> batch.put(e.getKey(), e.getValue()));
     }
-    if (needOptAsset()) {
-      processAccount(batch);
-    } else {
-      ((Flusher) db).flush(batch);
-      putCache(batch);
+    flush(batch);
+  }
+
+  private void flush(Map<WrappedByteArray, WrappedByteArray> batch) {
+    beginWrite();
+    try {
+      if (needOptAsset()) {
+        processAccount(batch);
+      } else {
+        ((Flusher) db).flush(batch);
+        putCache(batch);
+      }
+    } finally {
+      endWrite();
     }
   }
 
@@ -146,6 +170,56 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     }
   }
 
+  /**
+   * Reads the keys that are not cached yet in one batch and caches their values, absent keys
+   * included. Nothing is cached when the root is written meanwhile, the values read may be
+   * outdated then.
+   *
+   * @return the number of keys read from the db
+   */
+  public int prefetch(Collection<byte[]> keys) {
+    if (!cached()) {
+      return 0;
+    }
+    long start;
+    synchronized (writeLock) {
+      if (writing > 0) {
+        return 0;
+      }
+      start = generation;
+    }
+    List<byte[]> missing = keys.stream()
+        .filter(key -> !cache.contains(WrappedByteArray.of(key)))
+        .collect(Collectors.toList());
+    if (missing.isEmpty()) {
+      return 0;
+    }
+    Map<byte[], byte[]> values = db.multiGet(missing);
+    synchronized (writeLock) {
+      // a write since may have cached a newer value, or had it evicted already
+      if (generation != start) {
+        return 0;
+      }
+      missing.forEach(key -> cache.putIfAbsent(WrappedByteArray.of(key),
+          WrappedByteArray.of(values.get(key))));
+    }
+    return missing.size();
+  }
+
+  private void beginWrite() {
+    synchronized (writeLock) {
+      writing++;
+      generation++;
+    }
+  }
+
+  private void endWrite() {
+    synchronized (writeLock) {
+      writing--;
+      generation++;
+    }
+  }
+
   private boolean cached() {
     return Objects.nonNull(this.cache);
   }
@@ -186,6 +260,20 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     return db.iterator();
   }
 
+  /**
+   * Whether {@link #iterator()} returns the keys in unsigned bytewise order, the order the
+   * snapshots above can be merged in.
+   */
+  boolean isBytewiseOrdered() {
+    if (db instanceof LevelDB) {
+      return ((LevelDB) db).getDb().isBytewiseOrdered();
+    }
+    if (db instanceof RocksDB) {
+      return ((RocksDB) db).getDb().isBytewiseOrdered();
+    }
+    return false;
+  }
+
   @Override
   public void close() {
     if (cached()) {
@@ -196,10 +284,15 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
 
   @Override
   public void reset() {
-    if (cached()) {
-      CacheManager.release(cache);
+    beginWrite();
+    try {
+      if (cached()) {
+        CacheManager.release(cache);
+      }
+      ((Flusher) db).reset();
+    } finally {
+      endWrite();
     }
-    ((Flusher) db).reset();
   }
 
   @Override
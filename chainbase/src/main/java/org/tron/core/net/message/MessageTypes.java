@@ -35,6 +35,12 @@ public enum MessageTypes {
 
   PBFT_COMMIT_MSG(0x14),
 
+  COMPACT_BLOCK(0x15),
+
+  FETCH_BLOCK_TRXS(0x16),
+
+  BLOCK_TRXS(0x17),
+
   P2P_HELLO(0x20),
 
   P2P_DISCONNECT(0x21),
@@ -82,7 +88,7 @@ public enum MessageTypes {
   }
 
   public static boolean inTronRange(byte code) {
-    return code <= PBFT_COMMIT_MSG.asByte() && code >= FIRST.asByte();
+    return code <= BLOCK_TRXS.asByte() && code >= FIRST.asByte();
   }
 
   public byte asByte() {
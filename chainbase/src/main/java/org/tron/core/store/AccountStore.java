@@ -6,12 +6,14 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.tron.common.cache.CacheType;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.common.utils.Commons;
 import org.tron.core.capsule.AccountCapsule;
 import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.db.TronStoreWithRevoking;
 import org.tron.core.db.accountstate.AccountStateCallBackUtils;
+import org.tron.core.exception.BadItemException;
 import org.tron.protos.contract.BalanceContract.TransactionBalanceTrace;
 import org.tron.protos.contract.BalanceContract.TransactionBalanceTrace.Operation;
 
@@ -40,6 +42,7 @@ public class AccountStore extends TronStoreWithRevoking<AccountCapsule> {
   @Autowired
   private AccountStore(@Value("account") String dbName) {
     super(dbName);
+    enableDecodedCache(CacheType.accountDecoded);
   }
 
   public static void setAccount(com.typesafe.config.Config config) {
@@ -55,7 +58,14 @@ public class AccountStore extends TronStoreWithRevoking<AccountCapsule> {
   @Override
   public AccountCapsule get(byte[] key) {
     byte[] value = revokingDB.getUnchecked(key);
-    return ArrayUtils.isEmpty(value) ? null : new AccountCapsule(value);
+    if (ArrayUtils.isEmpty(value)) {
+      return null;
+    }
+    try {
+      return of(value);
+    } catch (BadItemException e) {
+      return null;
+    }
   }
 
   @Override
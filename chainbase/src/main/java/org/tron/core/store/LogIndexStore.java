@@ -0,0 +1,255 @@
+package org.tron.core.store;
+
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.tron.core.capsule.BytesCapsule;
+import org.tron.core.capsule.TransactionRetCapsule;
+import org.tron.core.db.TronDatabase;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+
+/**
+ * Exact index of the event logs for eth_getLogs: for the contract address (position 0) and the
+ * topic at each position (1 to 4) the postings of the logs that carry it. A block writes one
+ * entry per value it carries, keyed by position, value, list and block offset, so the blocks of a
+ * list ({@link #BLOCK_PER_LIST} blocks) are read with one prefix scan. An entry holds
+ * varint(tx index), varint(log index in tx) per log, in tx and log order.
+ *
+ * <p>The index is derived data and not revoked with the blocks, a posting of a block that was
+ * switched out stays, readers check the postings against the TransactionRet of the block. A block
+ * written again overwrites its entries.
+ */
+@Slf4j(topic = "DB")
+@Component
+public class LogIndexStore extends TronDatabase<BytesCapsule> {
+
+  public static final int BLOCK_PER_LIST = 256;
+  public static final int ADDRESS = 0;
+  public static final int MAX_TOPICS = 4;
+
+  // [low, head] are the blocks that are indexed
+  private static final byte[] LOW = "low".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] HEAD = "head".getBytes(StandardCharsets.UTF_8);
+  // [low, high] of a range that was reset, its blocks are still indexed
+  private static final byte[] COVERED = "covered".getBytes(StandardCharsets.UTF_8);
+
+  @Autowired
+  public LogIndexStore(@Value("log-index") String dbName) {
+    super(dbName);
+  }
+
+  @Override
+  public void put(byte[] key, BytesCapsule item) {
+    dbSource.putData(key, item.getData());
+  }
+
+  @Override
+  public void delete(byte[] key) {
+    dbSource.deleteData(key);
+  }
+
+  @Override
+  public BytesCapsule get(byte[] key) {
+    byte[] value = dbSource.getData(key);
+    return value == null ? null : new BytesCapsule(value);
+  }
+
+  @Override
+  public boolean has(byte[] key) {
+    return dbSource.getData(key) != null;
+  }
+
+  public long getLow() {
+    byte[] value = dbSource.getData(LOW);
+    return value == null ? -1 : Longs.fromByteArray(value);
+  }
+
+  public long getHead() {
+    byte[] value = dbSource.getData(HEAD);
+    return value == null ? -1 : Longs.fromByteArray(value);
+  }
+
+  public synchronized void setRange(long low, long head) {
+    dbSource.putData(LOW, Longs.toByteArray(low));
+    dbSource.putData(HEAD, Longs.toByteArray(head));
+  }
+
+  /**
+   * Restarts the range above the head, the blocks of the range so far stay indexed and are
+   * skipped by the backfill. A gap or a block that failed is indexed again from the head down.
+   */
+  public synchronized void reset(long headNum) {
+    long low = getLow();
+    long high = Math.min(getHead(), headNum - 1);
+    if (low >= 0 && low <= high) {
+      long[] covered = getCovered();
+      if (covered != null && covered[1] + 1 == low) {
+        // the backfill was about to reach the range before
+        low = covered[0];
+      }
+      dbSource.putData(COVERED, Bytes.concat(Longs.toByteArray(low), Longs.toByteArray(high)));
+    }
+    setRange(headNum + 1, headNum);
+  }
+
+  /**
+   * The range of blocks indexed before the last reset, null if there is none.
+   */
+  public long[] getCovered() {
+    byte[] value = dbSource.getData(COVERED);
+    return value == null ? null : new long[] {Longs.fromByteArray(Arrays.copyOf(value, 8)),
+        Longs.fromByteArray(Arrays.copyOfRange(value, 8, 16))};
+  }
+
+  /**
+   * Moves low down past the blocks indexed before the reset once the backfill reached them.
+   */
+  public synchronized boolean skipCovered(long expect, long low) {
+    if (!compareAndSetLow(expect, low)) {
+      return false;
+    }
+    dbSource.deleteData(COVERED);
+    return true;
+  }
+
+  /**
+   * Moves low down to a block the backfill indexed, unless the range was reset meanwhile.
+   */
+  public synchronized boolean compareAndSetLow(long expect, long low) {
+    if (getLow() != expect) {
+      return false;
+    }
+    dbSource.putData(LOW, Longs.toByteArray(low));
+    return true;
+  }
+
+  public void setHead(long head) {
+    dbSource.putData(HEAD, Longs.toByteArray(head));
+  }
+
+  /**
+   * If the index answers the queries of the blocks.
+   */
+  public boolean covers(long fromBlock, long toBlock) {
+    long low = getLow();
+    return low >= 0 && low <= fromBlock && toBlock <= getHead();
+  }
+
+  /**
+   * Writes the postings of the logs of the block, in one batch.
+   */
+  public void write(long blockNum, TransactionRetCapsule transactionRetCapsule)
+      throws IOException {
+    if (transactionRetCapsule == null) {
+      return;
+    }
+    // key -> postings of the block, in tx and log order
+    Map<WrappedByteArray, ByteArrayOutputStream> postings = new LinkedHashMap<>();
+    List<TransactionInfo> infos = transactionRetCapsule.getInstance().getTransactioninfoList();
+    for (int tx = 0; tx < infos.size(); tx++) {
+      List<Log> logs = infos.get(tx).getLogList();
+      for (int index = 0; index < logs.size(); index++) {
+        Log log = logs.get(index);
+        add(postings, key(ADDRESS, log.getAddress().toByteArray(), blockNum), tx, index);
+        List<ByteString> topics = log.getTopicsList();
+        for (int i = 0; i < topics.size() && i < MAX_TOPICS; i++) {
+          add(postings, key(i + 1, topics.get(i).toByteArray(), blockNum), tx, index);
+        }
+      }
+    }
+    if (postings.isEmpty()) {
+      return;
+    }
+    Map<byte[], byte[]> rows = new HashMap<>(postings.size());
+    postings.forEach((key, out) -> rows.put(key.getBytes(), out.toByteArray()));
+    dbSource.updateByBatch(rows);
+  }
+
+  private static void add(Map<WrappedByteArray, ByteArrayOutputStream> postings, byte[] key,
+      int tx, int index) throws IOException {
+    ByteArrayOutputStream out = postings.computeIfAbsent(WrappedByteArray.of(key),
+        k -> new ByteArrayOutputStream());
+    CodedOutputStream coded = CodedOutputStream.newInstance(out);
+    coded.writeUInt32NoTag(tx);
+    coded.writeUInt32NoTag(index);
+    coded.flush();
+  }
+
+  /**
+   * The logs of the blocks in [fromBlock, toBlock] whose value at the position is the given one.
+   */
+  public NavigableSet<Posting> get(int position, byte[] value, long fromBlock, long toBlock)
+      throws IOException {
+    NavigableSet<Posting> result = new TreeSet<>();
+    for (long list = fromBlock / BLOCK_PER_LIST; list <= toBlock / BLOCK_PER_LIST; list++) {
+      byte[] prefix = prefix(position, value, list);
+      for (Map.Entry<WrappedByteArray, byte[]> entry : dbSource.prefixQuery(prefix).entrySet()) {
+        long blockNum = list * BLOCK_PER_LIST + (entry.getKey().getBytes()[prefix.length] & 0xff);
+        if (blockNum < fromBlock || blockNum > toBlock) {
+          continue;
+        }
+        CodedInputStream in = CodedInputStream.newInstance(entry.getValue());
+        while (!in.isAtEnd()) {
+          result.add(new Posting(blockNum, in.readUInt32(), in.readUInt32()));
+        }
+      }
+    }
+    return result;
+  }
+
+  // the length keeps a value from being the prefix of a longer one
+  private static byte[] prefix(int position, byte[] value, long list) {
+    return Bytes.concat(new byte[] {(byte) position, (byte) value.length}, value,
+        Ints.toByteArray((int) list));
+  }
+
+  private static byte[] key(int position, byte[] value, long blockNum) {
+    return Bytes.concat(prefix(position, value, blockNum / BLOCK_PER_LIST),
+        new byte[] {(byte) (blockNum % BLOCK_PER_LIST)});
+  }
+
+  @Getter
+  @EqualsAndHashCode
+  public static class Posting implements Comparable<Posting> {
+
+    private final long blockNum;
+    private final int txIndex;
+    private final int logIndex;
+
+    public Posting(long blockNum, int txIndex, int logIndex) {
+      this.blockNum = blockNum;
+      this.txIndex = txIndex;
+      this.logIndex = logIndex;
+    }
+
+    @Override
+    public int compareTo(Posting o) {
+      int c = Long.compare(blockNum, o.blockNum);
+      if (c == 0) {
+        c = Integer.compare(txIndex, o.txIndex);
+      }
+      return c == 0 ? Integer.compare(logIndex, o.logIndex) : c;
+    }
+  }
+}
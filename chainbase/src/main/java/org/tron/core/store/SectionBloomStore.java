@@ -1,5 +1,7 @@
 package org.tron.core.store;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
@@ -11,10 +13,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.tron.common.bloom.Bloom;
-import org.tron.common.utils.ByteUtil;
+import org.tron.common.bloom.SectionBitmap;
 import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.capsule.TransactionRetCapsule;
 import org.tron.core.db.TronStoreWithRevoking;
+import org.tron.core.db2.core.Chainbase;
 import org.tron.core.exception.EventBloomException;
 
 @Slf4j(topic = "DB")
@@ -22,7 +25,11 @@ import org.tron.core.exception.EventBloomException;
 public class SectionBloomStore extends TronStoreWithRevoking<BytesCapsule> {
 
   public static final int BLOCK_PER_SECTION = 2048;
+  // the bitmaps last written, only the block writer fills it
+  private static final int CACHE_SIZE = 16 * Bloom.BLOOM_BIT_SIZE;
   private List<Integer> bitList;
+  private final Cache<Long, Cached> cache = CacheBuilder.newBuilder()
+      .maximumSize(CACHE_SIZE).build();
 
   @Autowired
   public SectionBloomStore(@Value("section-bloom") String dbName) {
@@ -50,26 +57,45 @@ public class SectionBloomStore extends TronStoreWithRevoking<BytesCapsule> {
   }
 
   public BitSet get(int section, int bitIndex) throws EventBloomException {
+    SectionBitmap bitmap = getBitmap(section, bitIndex);
+    return bitmap.isEmpty() ? null : bitmap.toBitSet();
+  }
+
+  /**
+   * @return the blocks of the section whose bloom has the bit set, empty if none.
+   */
+  public SectionBitmap getBitmap(int section, int bitIndex) throws EventBloomException {
     long keyLong = combineKey(section, bitIndex);
+    if (revokingDB.getCursor() == Chainbase.Cursor.HEAD) {
+      Cached cached = cache.getIfPresent(keyLong);
+      if (cached != null && cached.revision == revokingDB.getRevision()) {
+        return cached.bitmap;
+      }
+    }
+    // not cached here, a reader could put a stale bitmap over the one just written
+    return read(keyLong);
+  }
+
+  private SectionBitmap read(long keyLong) throws EventBloomException {
     byte[] key = Long.toHexString(keyLong).getBytes();
     BytesCapsule bytesCapsule = get(key);
     if (bytesCapsule == null) {
-      return null;
+      return SectionBitmap.EMPTY;
     }
-    byte[] data;
-    try {
-      data = ByteUtil.decompress(bytesCapsule.getData());
-    } catch (Exception e) {
-      throw new EventBloomException("decompress byte failed");
-    }
-    return BitSet.valueOf(data);
+    return SectionBitmap.decode(bytesCapsule.getData());
   }
 
   public void put(int section, int bitIndex, BitSet bitSet) throws EventBloomException {
+    put(section, bitIndex, SectionBitmap.of(bitSet));
+  }
+
+  public void put(int section, int bitIndex, SectionBitmap bitmap) {
     long keyLong = combineKey(section, bitIndex);
     byte[] key = Long.toHexString(keyLong).getBytes();
-    byte[] compressData = ByteUtil.compress(bitSet.toByteArray());
-    super.put(key, new BytesCapsule(compressData));
+    super.put(key, new BytesCapsule(bitmap.encode()));
+    if (revokingDB.getCursor() == Chainbase.Cursor.HEAD) {
+      cache.put(keyLong, new Cached(revokingDB.getRevision(), bitmap));
+    }
   }
 
   public Bloom initBlockSection(TransactionRetCapsule transactionRetCapsule) {
@@ -101,15 +127,20 @@ public class SectionBloomStore extends TronStoreWithRevoking<BytesCapsule> {
     int section = (int) (blockNum / BLOCK_PER_SECTION);
     int blockNumOffset = (int) (blockNum % BLOCK_PER_SECTION);
     for (int bitIndex : bitList) {
-      // get first from leveldb
-      BitSet bitSet = get(section, bitIndex);
-      if (Objects.isNull(bitSet)) {
-        bitSet = new BitSet(BLOCK_PER_SECTION);
-      }
-      // update
-      bitSet.set(blockNumOffset);
-      // put into leveldb
-      put(section, bitIndex, bitSet);
+      // the bitmaps this writes are cached, unless a revoke dropped them
+      SectionBitmap bitmap = getBitmap(section, bitIndex);
+      put(section, bitIndex, bitmap.with(blockNumOffset));
+    }
+  }
+
+  private static class Cached {
+
+    private final long revision;
+    private final SectionBitmap bitmap;
+
+    private Cached(long revision, SectionBitmap bitmap) {
+      this.revision = revision;
+      this.bitmap = bitmap;
     }
   }
 }
@@ -1,6 +1,5 @@
 package org.tron.core.store;
 
-import com.google.protobuf.ByteString;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.BooleanUtils;
@@ -47,29 +46,23 @@ public class TransactionRetStore extends TronStoreWithRevoking<TransactionRetCap
       return null;
     }
 
-    TransactionRetCapsule result = new TransactionRetCapsule(value);
-    if (Objects.isNull(result.getInstance())) {
+    TransactionInfo transactionResultInfo = TransactionRetCapsule.findTransactionInfo(value, key);
+    if (Objects.isNull(transactionResultInfo)) {
       return null;
     }
 
-    ByteString id = ByteString.copyFrom(key);
-    for (TransactionInfo transactionResultInfo : result.getInstance().getTransactioninfoList()) {
-      if (transactionResultInfo.getId().equals(id)) {
-        Protocol.ResourceReceipt receipt = transactionResultInfo.getReceipt();
-        // If query a result with dirty origin usage in receipt, we just reset it.
-        if (receipt.getEnergyUsageTotal() == 0 && receipt.getOriginEnergyUsage() > 0) {
-          transactionResultInfo =
-              transactionResultInfo.toBuilder()
-                  .setReceipt(
-                      receipt.toBuilder()
-                          .clearOriginEnergyUsage()
-                          .build())
-                  .build();
-        }
-        return new TransactionInfoCapsule(transactionResultInfo);
-      }
+    Protocol.ResourceReceipt receipt = transactionResultInfo.getReceipt();
+    // If query a result with dirty origin usage in receipt, we just reset it.
+    if (receipt.getEnergyUsageTotal() == 0 && receipt.getOriginEnergyUsage() > 0) {
+      transactionResultInfo =
+          transactionResultInfo.toBuilder()
+              .setReceipt(
+                  receipt.toBuilder()
+                      .clearOriginEnergyUsage()
+                      .build())
+              .build();
     }
-    return null;
+    return new TransactionInfoCapsule(transactionResultInfo);
   }
 
   public TransactionRetCapsule getTransactionInfoByBlockNum(byte[] key) throws BadItemException {
@@ -2,6 +2,7 @@ package org.tron.common.cache;
 
 import static org.tron.common.cache.CacheType.abi;
 import static org.tron.common.cache.CacheType.account;
+import static org.tron.common.cache.CacheType.accountDecoded;
 import static org.tron.common.cache.CacheType.assetIssueV2;
 import static org.tron.common.cache.CacheType.code;
 import static org.tron.common.cache.CacheType.contract;
@@ -45,6 +46,8 @@ public class CacheStrategies {
   private static final String CACHE_STRATEGY_HUGE_DEFAULT =
       String.format(PATTERNS, 20000, 20000, "30s", CPUS);
   private static final List<CacheType> CACHE_HUGE_DBS = Arrays.asList(storageRow, account);
+  // parsed values, not backed by a db of the same name
+  private static final List<CacheType> CACHE_DECODED = Collections.singletonList(accountDecoded);
 
   public static final List<String> CACHE_DBS = Stream.of(CACHE_SMALL_DBS, CACHE_NORMAL_DBS,
           CACHE_BIG_DBS, CACHE_HUGE_DBS).flatMap(Collection::stream).map(CacheType::toString)
@@ -59,7 +62,7 @@ public class CacheStrategies {
     if (CACHE_NORMAL_DBS.contains(dbName)) {
       defaultStrategy = CACHE_STRATEGY_NORMAL_DEFAULT;
     }
-    if (CACHE_BIG_DBS.contains(dbName)) {
+    if (CACHE_BIG_DBS.contains(dbName) || CACHE_DECODED.contains(dbName)) {
       defaultStrategy = CACHE_STRATEGY_BIG_DEFAULT;
     }
     if (CACHE_HUGE_DBS.contains(dbName)) {
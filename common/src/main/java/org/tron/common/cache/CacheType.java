@@ -19,7 +19,13 @@ public enum CacheType {
   properties("properties"),
   delegation("delegation"),
   storageRow("storage-row"),
-  account("account");
+  account("account"),
+  // for decoded capsules
+  accountDecoded("account-decoded"),
+  // for tvm
+  jumpDest("jump-dest"),
+  // for signature recovery
+  signer("signer");
   // for leveldb or rocksdb cache
 
   public final String type;
@@ -29,6 +29,20 @@ public class TronCache<K, V> {
     this.cache.put(k, v);
   }
 
+  /**
+   * Puts the value unless the key is cached, without counting as a request.
+   */
+  public void putIfAbsent(K k, V v) {
+    this.cache.asMap().putIfAbsent(k, v);
+  }
+
+  /**
+   * Whether the key is cached, without counting as a request.
+   */
+  public boolean contains(K k) {
+    return this.cache.asMap().containsKey(k);
+  }
+
   public V getIfPresent(K k) {
     return this.cache.getIfPresent(k);
   }
@@ -204,6 +204,12 @@ public class CommonParameter {
   @Getter
   @Setter
   public long syncFetchBatchNum;
+  @Getter
+  @Setter
+  public int syncPreValidateQueueSize;
+  @Getter
+  @Setter
+  public int syncSignRecoverQueueSize;
 
   //If you are running a solidity node for java tron, this flag is set to true
   @Getter
@@ -255,6 +261,15 @@ public class CommonParameter {
   public long netMaxTrxPerSecond;
   @Getter
   @Setter
+  public long advMaxDelay;
+  @Getter
+  @Setter
+  public int advMaxBatch;
+  @Getter
+  @Setter
+  public boolean compactBlock;
+  @Getter
+  @Setter
   public long maxConnectionAgeInMillis;
   @Getter
   @Setter
@@ -474,12 +489,24 @@ public class CommonParameter {
   public boolean jsonRpcHttpPBFTNodeEnable = false;
   @Getter
   @Setter
+  public boolean jsonRpcLogIndex = false;
+  @Getter
+  @Setter
+  public boolean jsonRpcWebSocketEnable = false;
+  @Getter
+  @Setter
+  public int jsonRpcWebSocketSendBuffer;
+  @Getter
+  @Setter
   public int maxTransactionPendingSize;
   @Getter
   @Setter
   public long pendingTransactionTimeout;
   @Getter
   @Setter
+  public boolean speculativeBlock;
+  @Getter
+  @Setter
   public boolean nodeMetricsEnable = false;
 
   @Getter
@@ -570,6 +597,9 @@ public class CommonParameter {
   @Getter
   @Setter
   public boolean openTransactionSort = false;
+  @Getter
+  @Setter
+  public boolean statePrefetch = false;
 
   @Getter
   @Setter
@@ -17,6 +17,10 @@ public class MetricKeys {
     public static final String P2P_ERROR = "tron:p2p_error";
     public static final String P2P_DISCONNECT = "tron:p2p_disconnect";
     public static final String INTERNAL_SERVICE_FAIL = "tron:internal_service_fail";
+    public static final String JSONRPC_FILTER_MATCHED_LOGS = "tron:jsonrpc_filter_matched_logs";
+    public static final String JSONRPC_SLOW_CONSUMERS = "tron:jsonrpc_slow_consumers";
+    public static final String COMPACT_BLOCK = "tron:compact_block";
+    public static final String SPECULATIVE_BLOCK = "tron:speculative_block";
 
     private Counter() {
       throw new IllegalStateException("Counter");
@@ -32,7 +36,12 @@ public class MetricKeys {
     public static final String DB_SIZE_BYTES = "tron:db_size_bytes";
     public static final String DB_SST_LEVEL = "tron:db_sst_level";
     public static final String MANAGER_QUEUE = "tron:manager_queue_size";
+    public static final String MANAGER_QUEUE_ACCOUNTS = "tron:manager_queue_accounts";
     public static final String TX_CACHE = "tron:tx_cache";
+    public static final String SNAPSHOT_FLUSH_QUEUE = "tron:snapshot_flush_queue_size";
+    public static final String STATE_PREFETCH_HIT_RATIO = "tron:state_prefetch_hit_ratio";
+    public static final String JSONRPC_LOG_FILTERS = "tron:jsonrpc_log_filters";
+    public static final String JSONRPC_SUBSCRIPTIONS = "tron:jsonrpc_subscriptions";
 
     private Gauge() {
       throw new IllegalStateException("Gauge");
@@ -62,6 +71,10 @@ public class MetricKeys {
     public static final String MESSAGE_PROCESS_LATENCY = "tron:message_process_latency_seconds";
     public static final String BLOCK_FETCH_LATENCY = "tron:block_fetch_latency_seconds";
     public static final String BLOCK_RECEIVE_DELAY = "tron:block_receive_delay_seconds";
+    public static final String SYNC_STAGE_LATENCY = "tron:sync_stage_latency_seconds";
+    public static final String SNAPSHOT_FLUSH_LATENCY = "tron:snapshot_flush_latency_seconds";
+    public static final String SNAPSHOT_FLUSH_BYTES = "tron:snapshot_flush_bytes";
+    public static final String JSONRPC_FILTER_LATENCY = "tron:jsonrpc_filter_latency_seconds";
 
     private Histogram() {
       throw new IllegalStateException("Histogram");
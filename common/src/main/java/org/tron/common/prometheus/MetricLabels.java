@@ -11,6 +11,8 @@ public class MetricLabels {
   public static final String UNDEFINED = "undefined";
   public static final String BLOCK = "block";
   public static final String TRX = "trx";
+  public static final String FULLNODE = "fullnode";
+  public static final String SOLIDITY = "solidity";
 
   private MetricLabels() {
     throw new IllegalStateException("MetricsLabels");
@@ -31,6 +33,7 @@ public class MetricLabels {
     public static final String TXS_FAIL_SIG = "sig";
     public static final String TXS_FAIL_TAPOS = "tapos";
     public static final String TXS_FAIL_DUP = "dup";
+    public static final String TXS_FAIL_EVICTED = "evicted";
 
     private Counter() {
       throw new IllegalStateException("Counter");
@@ -68,6 +71,11 @@ public class MetricLabels {
   public static class Histogram {
     public static final String TRAFFIC_IN = "in";
     public static final String TRAFFIC_OUT = "out";
+    public static final String SYNC_PRE_VALIDATE = "pre_validate";
+    public static final String SYNC_SIGN_RECOVER = "sign_recover";
+    public static final String SYNC_APPLY = "apply";
+    public static final String FLUSH_CHECKPOINT = "checkpoint";
+    public static final String FLUSH_REFRESH = "refresh";
 
     private Histogram() {
       throw new IllegalStateException("Histogram");
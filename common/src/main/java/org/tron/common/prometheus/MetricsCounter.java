@@ -18,6 +18,14 @@ class MetricsCounter {
     init(MetricKeys.Counter.P2P_DISCONNECT, "tron p2p disconnect .", "type");
     init(MetricKeys.Counter.INTERNAL_SERVICE_FAIL, "internal Service fail.",
         "class", "method");
+    init(MetricKeys.Counter.JSONRPC_FILTER_MATCHED_LOGS, "logs matched by the jsonrpc filters.",
+        "type");
+    init(MetricKeys.Counter.JSONRPC_SLOW_CONSUMERS,
+        "websocket connections of jsonrpc closed for not reading their notifications.");
+    init(MetricKeys.Counter.COMPACT_BLOCK, "compact blocks received by how they were rebuilt.",
+        "result");
+    init(MetricKeys.Counter.SPECULATIVE_BLOCK,
+        "blocks prepared ahead of the slot, generated or discarded.", "result");
   }
 
   private MetricsCounter() {
@@ -13,12 +13,19 @@ class MetricsGauge {
 
   static {
     init(MetricKeys.Gauge.MANAGER_QUEUE, "tron  manager.queue.size .", "type");
+    init(MetricKeys.Gauge.MANAGER_QUEUE_ACCOUNTS, "accounts owning the queued transactions.",
+        "type");
     init(MetricKeys.Gauge.HEADER_HEIGHT, "header  height .");
     init(MetricKeys.Gauge.HEADER_TIME, "header time .");
     init(MetricKeys.Gauge.PEERS, "tron peers.size .", "type");
     init(MetricKeys.Gauge.DB_SIZE_BYTES, "tron  db  size .", "type", "db", "level");
     init(MetricKeys.Gauge.DB_SST_LEVEL, "tron  db  files .", "type", "db", "level");
     init(MetricKeys.Gauge.TX_CACHE, "tron tx cache info.", "type");
+    init(MetricKeys.Gauge.SNAPSHOT_FLUSH_QUEUE, "snapshot flushes written in background.");
+    init(MetricKeys.Gauge.STATE_PREFETCH_HIT_RATIO,
+        "cache hit ratio of the prefetched stores during block execution.", "db");
+    init(MetricKeys.Gauge.JSONRPC_LOG_FILTERS, "log filters installed by jsonrpc.", "type");
+    init(MetricKeys.Gauge.JSONRPC_SUBSCRIPTIONS, "websocket subscriptions of jsonrpc.", "type");
   }
 
   private MetricsGauge() {
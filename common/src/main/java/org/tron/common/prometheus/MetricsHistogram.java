@@ -48,6 +48,14 @@ public class MetricsHistogram {
     init(MetricKeys.Histogram.BLOCK_FETCH_LATENCY, "fetch block latency.");
     init(MetricKeys.Histogram.BLOCK_RECEIVE_DELAY,
         "receive block delay time, receiveTime - blockTime.");
+    init(MetricKeys.Histogram.SYNC_STAGE_LATENCY, "latency of the sync pipeline stages.",
+        "stage");
+    init(MetricKeys.Histogram.SNAPSHOT_FLUSH_LATENCY, "latency of the snapshot flush stages.",
+        "stage");
+    init(MetricKeys.Histogram.SNAPSHOT_FLUSH_BYTES, "bytes of the snapshot flushes.",
+        "stage");
+    init(MetricKeys.Histogram.JSONRPC_FILTER_LATENCY, "latency of matching the logs of a block "
+        + "to the jsonrpc filters.", "type");
   }
 
   private MetricsHistogram() {
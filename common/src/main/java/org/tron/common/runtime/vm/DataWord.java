@@ -336,15 +336,10 @@ public class DataWord implements Comparable<DataWord> {
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: mul can be done in more efficient way
-  // TODO:     with shift left shift right trick
-  // TODO      without BigInteger quick hack
   public void mul(DataWord word) {
-    BigInteger result = value().multiply(word.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    this.data = UInt256.mul(this.data, word.data);
   }
 
-  // TODO: improve with no BigInteger
   public void div(DataWord word) {
 
     if (word.isZero()) {
@@ -352,6 +347,12 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (UInt256.fitsInLong(this.data) && UInt256.fitsInLong(word.data)) {
+      this.data = UInt256.fromLong(
+          Long.divideUnsigned(UInt256.toLong(this.data), UInt256.toLong(word.data)));
+      return;
+    }
+
     BigInteger result = value().divide(word.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
@@ -368,19 +369,14 @@ public class DataWord implements Comparable<DataWord> {
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: improve with no BigInteger
   public void sub(DataWord word) {
-    BigInteger result = value().subtract(word.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    this.data = UInt256.sub(this.data, word.data);
   }
 
-  // TODO: improve with no BigInteger
   public void exp(DataWord word) {
-    BigInteger result = value().modPow(word.value(), _2_256);
-    this.data = ByteUtil.copyToArray(result);
+    this.data = UInt256.exp(this.data, word.data);
   }
 
-  // TODO: improve with no BigInteger
   public void mod(DataWord word) {
 
     if (word.isZero()) {
@@ -388,6 +384,12 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (UInt256.fitsInLong(this.data) && UInt256.fitsInLong(word.data)) {
+      this.data = UInt256.fromLong(
+          Long.remainderUnsigned(UInt256.toLong(this.data), UInt256.toLong(word.data)));
+      return;
+    }
+
     BigInteger result = value().mod(word.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
@@ -487,6 +489,13 @@ public class DataWord implements Comparable<DataWord> {
     return (int) Math.signum(result);
   }
 
+  /**
+   * Compares both words as two's complement signed numbers.
+   */
+  public int sCompareTo(DataWord o) {
+    return UInt256.signedCompare(data, o.data);
+  }
+
   public void signExtend(byte k) {
     if (0 > k || k > 31) {
       throw new IndexOutOfBoundsException();
@@ -0,0 +1,160 @@
+package org.tron.common.runtime.vm;
+
+import java.util.Arrays;
+
+/**
+ * Unsigned 256-bit arithmetic over the 32-byte big-endian layout of {@link DataWord}, without
+ * {@link java.math.BigInteger}. Operands are loaded into eight 32-bit limbs (least significant
+ * first) held in per-thread scratch arrays, so the only allocation per operation is the
+ * 32-byte result.
+ */
+final class UInt256 {
+
+  private static final int WORD_SIZE = DataWord.WORD_SIZE;
+  private static final int LIMBS = 8;
+  private static final long MASK = 0xffffffffL;
+
+  private static final ThreadLocal<long[][]> SCRATCH =
+      ThreadLocal.withInitial(() -> new long[3][LIMBS]);
+
+  private UInt256() {
+    throw new IllegalStateException("UInt256");
+  }
+
+  /**
+   * @return a * b mod 2^256
+   */
+  static byte[] mul(byte[] a, byte[] b) {
+    long[][] scratch = SCRATCH.get();
+    load(a, scratch[0]);
+    load(b, scratch[1]);
+    mul(scratch[0], scratch[1], scratch[2]);
+    return store(scratch[2]);
+  }
+
+  /**
+   * @return base ^ exponent mod 2^256, by square-and-multiply.
+   */
+  static byte[] exp(byte[] base, byte[] exponent) {
+    long[][] scratch = SCRATCH.get();
+    long[] result = scratch[0];
+    long[] b = scratch[1];
+    long[] tmp = scratch[2];
+    Arrays.fill(result, 0);
+    result[0] = 1;
+    load(base, b);
+
+    // the squares of 1 above the highest set bit are skipped
+    int i = 0;
+    while (i < WORD_SIZE * 8 && ((exponent[i >>> 3] >>> (7 - (i & 7))) & 1) == 0) {
+      i++;
+    }
+    for (; i < WORD_SIZE * 8; i++) {
+      int bit = (exponent[i >>> 3] >>> (7 - (i & 7))) & 1;
+      mul(result, result, tmp);
+      System.arraycopy(tmp, 0, result, 0, LIMBS);
+      if (bit == 1) {
+        mul(result, b, tmp);
+        System.arraycopy(tmp, 0, result, 0, LIMBS);
+      }
+    }
+    return store(result);
+  }
+
+  /**
+   * @return a - b mod 2^256
+   */
+  static byte[] sub(byte[] a, byte[] b) {
+    byte[] result = new byte[WORD_SIZE];
+    for (int i = WORD_SIZE - 1, borrow = 0; i >= 0; i--) {
+      int v = (a[i] & 0xff) - (b[i] & 0xff) - borrow;
+      result[i] = (byte) v;
+      borrow = v < 0 ? 1 : 0;
+    }
+    return result;
+  }
+
+  /**
+   * Compares two words as two's complement signed numbers.
+   */
+  static int signedCompare(byte[] a, byte[] b) {
+    boolean aNegative = a[0] < 0;
+    boolean bNegative = b[0] < 0;
+    if (aNegative != bNegative) {
+      return aNegative ? -1 : 1;
+    }
+    for (int i = 0; i < WORD_SIZE; i++) {
+      int diff = (a[i] & 0xff) - (b[i] & 0xff);
+      if (diff != 0) {
+        return diff < 0 ? -1 : 1;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * @return true if the word fits in an unsigned 64-bit value.
+   */
+  static boolean fitsInLong(byte[] a) {
+    for (int i = 0; i < WORD_SIZE - 8; i++) {
+      if (a[i] != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static long toLong(byte[] a) {
+    long value = 0;
+    for (int i = WORD_SIZE - 8; i < WORD_SIZE; i++) {
+      value = (value << 8) | (a[i] & 0xff);
+    }
+    return value;
+  }
+
+  static byte[] fromLong(long value) {
+    byte[] result = new byte[WORD_SIZE];
+    for (int i = WORD_SIZE - 1; i >= WORD_SIZE - 8; i--) {
+      result[i] = (byte) value;
+      value >>>= 8;
+    }
+    return result;
+  }
+
+  private static void mul(long[] a, long[] b, long[] r) {
+    Arrays.fill(r, 0);
+    for (int i = 0; i < LIMBS; i++) {
+      if (a[i] == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; i + j < LIMBS; j++) {
+        // (2^32 - 1)^2 + 2 * (2^32 - 1) fits in an unsigned long
+        long t = a[i] * b[j] + r[i + j] + carry;
+        r[i + j] = t & MASK;
+        carry = t >>> 32;
+      }
+    }
+  }
+
+  private static void load(byte[] src, long[] dst) {
+    for (int i = 0; i < LIMBS; i++) {
+      int off = WORD_SIZE - 4 - 4 * i;
+      dst[i] = ((src[off] & 0xffL) << 24) | ((src[off + 1] & 0xffL) << 16)
+          | ((src[off + 2] & 0xffL) << 8) | (src[off + 3] & 0xffL);
+    }
+  }
+
+  private static byte[] store(long[] src) {
+    byte[] dst = new byte[WORD_SIZE];
+    for (int i = 0; i < LIMBS; i++) {
+      int off = WORD_SIZE - 4 - 4 * i;
+      long limb = src[i];
+      dst[off] = (byte) (limb >>> 24);
+      dst[off + 1] = (byte) (limb >>> 16);
+      dst[off + 2] = (byte) (limb >>> 8);
+      dst[off + 3] = (byte) limb;
+    }
+    return dst;
+  }
+}
@@ -33,6 +33,10 @@ public class RocksDbSettings {
   private int targetFileSizeMultiplier;
   @Getter
   private boolean enableStatistics;
+  @Getter
+  private boolean columnFamilies;
+  @Getter
+  private long dbWriteBufferSize;
 
   static {
     RocksDB.loadLibrary();
@@ -49,7 +53,8 @@ public class RocksDbSettings {
     return defaultSettings.withLevelNumber(7).withBlockSize(64).withCompactThreads(32)
         .withTargetFileSizeBase(256).withMaxBytesForLevelMultiplier(10)
         .withTargetFileSizeMultiplier(1)
-        .withMaxBytesForLevelBase(256).withMaxOpenFiles(5000).withEnableStatistics(false);
+        .withMaxBytesForLevelBase(256).withMaxOpenFiles(5000).withEnableStatistics(false)
+        .withColumnFamilies(false).withDbWriteBufferSize(256);
   }
 
   public static RocksDbSettings getSettings() {
@@ -71,7 +76,9 @@ public class RocksDbSettings {
         .withMaxBytesForLevelMultiplier(maxBytesForLevelMultiplier)
         .withLevel0FileNumCompactionTrigger(level0FileNumCompactionTrigger)
         .withTargetFileSizeBase(targetFileSizeBase)
-        .withTargetFileSizeMultiplier(targetFileSizeMultiplier);
+        .withTargetFileSizeMultiplier(targetFileSizeMultiplier)
+        .withColumnFamilies(false)
+        .withDbWriteBufferSize(256);
     return rocksDbSettings;
   }
 
@@ -79,13 +86,15 @@ public class RocksDbSettings {
     logger.info(String.format(
         "level number: %d, CompactThreads: %d, Blocksize: %d, maxBytesForLevelBase: %d,"
             + " withMaxBytesForLevelMultiplier: %f, level0FileNumCompactionTrigger: %d, "
-            + "withTargetFileSizeBase: %d, withTargetFileSizeMultiplier: %d",
+            + "withTargetFileSizeBase: %d, withTargetFileSizeMultiplier: %d, "
+            + "columnFamilies: %b, dbWriteBufferSize: %d",
         rocksDbSettings.getLevelNumber(),
         rocksDbSettings.getCompactThreads(), rocksDbSettings.getBlockSize(),
         rocksDbSettings.getMaxBytesForLevelBase(),
         rocksDbSettings.getMaxBytesForLevelMultiplier(),
         rocksDbSettings.getLevel0FileNumCompactionTrigger(),
-        rocksDbSettings.getTargetFileSizeBase(), rocksDbSettings.getTargetFileSizeMultiplier()));
+        rocksDbSettings.getTargetFileSizeBase(), rocksDbSettings.getTargetFileSizeMultiplier(),
+        rocksDbSettings.isColumnFamilies(), rocksDbSettings.getDbWriteBufferSize()));
   }
 
   public RocksDbSettings withMaxOpenFiles(int maxOpenFiles) {
@@ -137,6 +146,22 @@ public class RocksDbSettings {
     this.targetFileSizeMultiplier = targetFileSizeMultiplier;
     return this;
   }
+
+  /**
+   * Keeps the stores of a directory as column families of one instance.
+   */
+  public RocksDbSettings withColumnFamilies(boolean columnFamilies) {
+    this.columnFamilies = columnFamilies;
+    return this;
+  }
+
+  /**
+   * Memtable budget of all the column families of an instance.
+   */
+  public RocksDbSettings withDbWriteBufferSize(long dbWriteBufferSize) {
+    this.dbWriteBufferSize = dbWriteBufferSize * 1024 * 1024;
+    return this;
+  }
   public static LRUCache getCache() {
     return cache;
   }
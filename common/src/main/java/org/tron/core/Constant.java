@@ -91,6 +91,8 @@ public class Constant {
   public static final String NODE_MIN_CONNECTIONS = "node.minConnections";
   public static final String NODE_MIN_ACTIVE_CONNECTIONS = "node.minActiveConnections";
   public static final String NODE_SYNC_FETCH_BATCH_NUM = "node.syncFetchBatchNum";
+  public static final String NODE_SYNC_PRE_VALIDATE_QUEUE_SIZE = "node.syncPreValidateQueueSize";
+  public static final String NODE_SYNC_SIGN_RECOVER_QUEUE_SIZE = "node.syncSignRecoverQueueSize";
 
   public static final String NODE_MAX_ACTIVE_NODES = "node.maxActiveNodes";
   public static final String NODE_MAX_ACTIVE_NODES_WITH_SAME_IP = "node.maxActiveNodesWithSameIp";
@@ -137,6 +139,10 @@ public class Constant {
   public static final String NODE_JSONRPC_HTTP_SOLIDITY_PORT = "node.jsonrpc.httpSolidityPort";
   public static final String NODE_JSONRPC_HTTP_PBFT_ENABLE = "node.jsonrpc.httpPBFTEnable";
   public static final String NODE_JSONRPC_HTTP_PBFT_PORT = "node.jsonrpc.httpPBFTPort";
+  public static final String NODE_JSONRPC_LOG_INDEX = "node.jsonrpc.logIndex";
+  public static final String NODE_JSONRPC_WEBSOCKET_ENABLE = "node.jsonrpc.webSocketEnable";
+  public static final String NODE_JSONRPC_WEBSOCKET_SEND_BUFFER =
+      "node.jsonrpc.webSocketSendBuffer";
 
   public static final String NODE_DISABLED_API_LIST = "node.disabledApi";
 
@@ -150,6 +156,9 @@ public class Constant {
   public static final String NODE_MAX_HTTP_CONNECT_NUMBER = "node.maxHttpConnectNumber";
 
   public static final String NODE_NET_MAX_TRX_PER_SECOND = "node.netMaxTrxPerSecond";
+  public static final String NODE_ADV_MAX_DELAY = "node.advMaxDelay";
+  public static final String NODE_ADV_MAX_BATCH = "node.advMaxBatch";
+  public static final String NODE_COMPACT_BLOCK = "node.compactBlock";
   public static final String NODE_RPC_MAX_CONNECTION_AGE_IN_MILLIS = "node.rpc.maxConnectionAgeInMillis";
   public static final String NODE_RPC_MAX_MESSAGE_SIZE = "node.rpc.maxMessageSize";
 
@@ -199,6 +208,7 @@ public class Constant {
   public static final String NODE_MAX_TRANSACTION_PENDING_SIZE = "node.maxTransactionPendingSize";
 
   public static final String NODE_PENDING_TRANSACTION_TIMEOUT = "node.pendingTransactionTimeout";
+  public static final String NODE_SPECULATIVE_BLOCK = "node.speculativeBlock";
 
   public static final String STORAGE_NEEDTO_UPDATE_ASSET = "storage.needToUpdateAsset";
 
@@ -369,6 +379,8 @@ public class Constant {
 
   public static final String BLOCK_CACHE_TIMEOUT = "node.blockCacheTimeout";
 
+  public static final String STATE_PREFETCH = "node.statePrefetch";
+
   public static final String DYNAMIC_CONFIG_ENABLE = "node.dynamicConfig.enable";
   public static final String DYNAMIC_CONFIG_CHECK_INTERVAL = "node.dynamicConfig.checkInterval";
 
@@ -54,6 +54,8 @@ public class Storage {
   private static final String ESTIMATED_TRANSACTIONS_CONFIG_KEY =
       "storage.txCache.estimatedTransactions";
   private static final String SNAPSHOT_MAX_FLUSH_COUNT_CONFIG_KEY = "storage.snapshot.maxFlushCount";
+  private static final String SNAPSHOT_MAX_PENDING_FLUSHES_CONFIG_KEY =
+      "storage.snapshot.maxPendingFlushes";
   private static final String PROPERTIES_CONFIG_KEY = "storage.properties";
   private static final String PROPERTIES_CONFIG_DB_KEY = "storage";
   private static final String PROPERTIES_CONFIG_DEFAULT_KEY = "default";
@@ -91,6 +93,7 @@ public class Storage {
   private static final boolean DEFAULT_CHECKPOINT_SYNC = true;
   private static final int DEFAULT_ESTIMATED_TRANSACTIONS = 1000;
   private static final int DEFAULT_SNAPSHOT_MAX_FLUSH_COUNT = 1;
+  private static final int DEFAULT_SNAPSHOT_MAX_PENDING_FLUSHES = 0;
   private Config storage;
 
   /**
@@ -112,6 +115,13 @@ public class Storage {
   @Setter
   private int maxFlushCount;
 
+  /**
+   * Flushes written in the background while blocks are applied, 0 flushes synchronously
+   */
+  @Getter
+  @Setter
+  private int maxPendingFlushes;
+
   /**
    * Index storage directory: /path/to/{indexDirectory}
    */
@@ -182,6 +192,17 @@ public class Storage {
     return maxFlushCountConfig;
   }
 
+  public static int getSnapshotMaxPendingFlushesFromConfig(final Config config) {
+    if (!config.hasPath(SNAPSHOT_MAX_PENDING_FLUSHES_CONFIG_KEY)) {
+      return DEFAULT_SNAPSHOT_MAX_PENDING_FLUSHES;
+    }
+    int maxPendingFlushes = config.getInt(SNAPSHOT_MAX_PENDING_FLUSHES_CONFIG_KEY);
+    if (maxPendingFlushes < 0) {
+      throw new IllegalArgumentException("MaxPendingFlushes value can not be negative!");
+    }
+    return maxPendingFlushes;
+  }
+
   public static Boolean getContractParseSwitchFromConfig(final Config config) {
     return config.hasPath(EVENT_SUBSCRIBE_CONTRACT_PARSE)
         ? config.getBoolean(EVENT_SUBSCRIBE_CONTRACT_PARSE)
@@ -11,6 +11,8 @@ public interface BlockHandle {
 
   BlockCapsule produce(Miner miner, long blockTime, long timeout);
 
+  void prepare(Miner miner, long blockTime);
+
   void setBlockWaitLock(boolean flag);
 
 }
\ No newline at end of file
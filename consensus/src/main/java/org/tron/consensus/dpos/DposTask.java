@@ -24,6 +24,9 @@ import org.tron.protos.Protocol.BlockHeader;
 @Component
 public class DposTask {
 
+  // the next block is packed this long before its slot, see node.speculativeBlock
+  private static final long PREPARE_AHEAD = BLOCK_PRODUCED_INTERVAL / 3;
+
   @Autowired
   private ConsensusDelegate consensusDelegate;
 
@@ -57,6 +60,12 @@ public class DposTask {
           } else {
             long time =
                 BLOCK_PRODUCED_INTERVAL - System.currentTimeMillis() % BLOCK_PRODUCED_INTERVAL;
+            if (CommonParameter.getInstance().isSpeculativeBlock() && time > PREPARE_AHEAD) {
+              long slotTime = System.currentTimeMillis() + time;
+              Thread.sleep(time - PREPARE_AHEAD);
+              prepareBlock(slotTime);
+              time = Math.max(0, slotTime - System.currentTimeMillis());
+            }
             Thread.sleep(time);
             State state = produceBlock();
             if (!State.OK.equals(state)) {
@@ -80,6 +89,23 @@ public class DposTask {
     ExecutorServiceManager.shutdownAndAwaitTermination(produceExecutor, name);
   }
 
+  private void prepareBlock(long time) {
+    if (!State.OK.equals(stateManager.getState())) {
+      return;
+    }
+    synchronized (dposService.getBlockHandle().getLock()) {
+      long slot = dposSlot.getSlot(time + 50);
+      if (slot == 0) {
+        return;
+      }
+      Miner miner = dposService.getMiners().get(dposSlot.getScheduledWitness(slot));
+      if (miner == null) {
+        return;
+      }
+      dposService.getBlockHandle().prepare(miner, dposSlot.getTime(slot));
+    }
+  }
+
   private State produceBlock() {
 
     State state = stateManager.getState();
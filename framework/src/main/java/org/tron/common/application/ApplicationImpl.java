@@ -83,6 +83,8 @@ public class ApplicationImpl implements Application {
     EventPluginLoader.getInstance().stopPlugin();
     dbManager.stopFilterProcessThread();
     dbManager.stopValidateSignThread();
+    dbManager.stopStatePrefetchThread();
+    dbManager.stopLogIndexThread();
     getChainBaseManager().shutdown();
     dynamicArgs.close();
     logger.info("******** end to shutdown ********");
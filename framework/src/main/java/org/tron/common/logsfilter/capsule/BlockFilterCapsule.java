@@ -6,7 +6,9 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.tron.common.parameter.CommonParameter;
 import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.services.jsonrpc.types.BlockHeaderResult;
 
 @Slf4j(topic = "API")
 @ToString
@@ -18,10 +20,18 @@ public class BlockFilterCapsule extends FilterTriggerCapsule {
   @Getter
   @Setter
   private boolean solidified;
+  // the header of newHeads, null without the websocket or when only the hash is known
+  @Getter
+  @ToString.Exclude
+  private BlockHeaderResult header;
 
   public BlockFilterCapsule(BlockCapsule block, boolean solidified) {
     blockHash = block.getBlockId().toString();
     this.solidified = solidified;
+    // the queue holds many capsules, the transactions of the block are not kept
+    if (!solidified && CommonParameter.getInstance().isJsonRpcWebSocketEnable()) {
+      header = new BlockHeaderResult(block);
+    }
   }
 
   public BlockFilterCapsule(String blockHash, boolean solidified) {
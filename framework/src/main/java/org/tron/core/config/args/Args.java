@@ -148,6 +148,8 @@ public class Args extends CommonParameter {
     PARAMETER.dnsTreeUrls = new ArrayList<>();
     PARAMETER.dnsPublishConfig = null;
     PARAMETER.syncFetchBatchNum = 2000;
+    PARAMETER.syncPreValidateQueueSize = 100;
+    PARAMETER.syncSignRecoverQueueSize = 10;
     PARAMETER.rpcPort = 0;
     PARAMETER.rpcOnSolidityPort = 0;
     PARAMETER.rpcOnPBFTPort = 0;
@@ -200,6 +202,11 @@ public class Args extends CommonParameter {
     PARAMETER.jsonRpcHttpFullNodeEnable = false;
     PARAMETER.jsonRpcHttpSolidityNodeEnable = false;
     PARAMETER.jsonRpcHttpPBFTNodeEnable = false;
+    PARAMETER.jsonRpcLogIndex = false;
+    PARAMETER.jsonRpcWebSocketEnable = false;
+    PARAMETER.jsonRpcWebSocketSendBuffer = 1024;
+    PARAMETER.compactBlock = false;
+    PARAMETER.speculativeBlock = false;
     PARAMETER.nodeMetricsEnable = false;
     PARAMETER.metricsStorageEnable = false;
     PARAMETER.metricsPrometheusEnable = false;
@@ -218,6 +225,7 @@ public class Args extends CommonParameter {
     PARAMETER.historyBalanceLookup = false;
     PARAMETER.openPrintLog = true;
     PARAMETER.openTransactionSort = false;
+    PARAMETER.statePrefetch = false;
     PARAMETER.allowAccountAssetOptimization = 0;
     PARAMETER.allowAssetOptimization = 0;
     PARAMETER.disabledApiList = Collections.emptyList();
@@ -472,6 +480,17 @@ public class Args extends CommonParameter {
           config.getBoolean(Constant.NODE_JSONRPC_HTTP_PBFT_ENABLE);
     }
 
+    PARAMETER.jsonRpcLogIndex = config.hasPath(Constant.NODE_JSONRPC_LOG_INDEX) && config
+        .getBoolean(Constant.NODE_JSONRPC_LOG_INDEX);
+
+    PARAMETER.jsonRpcWebSocketEnable = config.hasPath(Constant.NODE_JSONRPC_WEBSOCKET_ENABLE)
+        && config.getBoolean(Constant.NODE_JSONRPC_WEBSOCKET_ENABLE);
+
+    if (config.hasPath(Constant.NODE_JSONRPC_WEBSOCKET_SEND_BUFFER)) {
+      PARAMETER.jsonRpcWebSocketSendBuffer =
+          config.getInt(Constant.NODE_JSONRPC_WEBSOCKET_SEND_BUFFER);
+    }
+
     if (config.hasPath(Constant.VM_MIN_TIME_RATIO)) {
       PARAMETER.minTimeRatio = config.getDouble(Constant.VM_MIN_TIME_RATIO);
     }
@@ -526,6 +545,8 @@ public class Args extends CommonParameter {
     PARAMETER.storage.setEstimatedBlockTransactions(
         Storage.getEstimatedTransactionsFromConfig(config));
     PARAMETER.storage.setMaxFlushCount(Storage.getSnapshotMaxFlushCountFromConfig(config));
+    PARAMETER.storage.setMaxPendingFlushes(
+        Storage.getSnapshotMaxPendingFlushesFromConfig(config));
 
     PARAMETER.storage.setDefaultDbOptions(config);
     PARAMETER.storage.setPropertyMapFromConfig(config);
@@ -672,6 +693,11 @@ public class Args extends CommonParameter {
       PARAMETER.syncFetchBatchNum = 100;
     }
 
+    PARAMETER.syncPreValidateQueueSize = config.hasPath(Constant.NODE_SYNC_PRE_VALIDATE_QUEUE_SIZE)
+        ? config.getInt(Constant.NODE_SYNC_PRE_VALIDATE_QUEUE_SIZE) : 100;
+    PARAMETER.syncSignRecoverQueueSize = config.hasPath(Constant.NODE_SYNC_SIGN_RECOVER_QUEUE_SIZE)
+        ? config.getInt(Constant.NODE_SYNC_SIGN_RECOVER_QUEUE_SIZE) : 10;
+
     PARAMETER.rpcPort =
         config.hasPath(Constant.NODE_RPC_PORT)
             ? config.getInt(Constant.NODE_RPC_PORT) : 50051;
@@ -749,6 +775,15 @@ public class Args extends CommonParameter {
         ? config.getInt(Constant.NODE_NET_MAX_TRX_PER_SECOND)
         : NetConstants.NET_MAX_TRX_PER_SECOND;
 
+    PARAMETER.advMaxDelay = config.hasPath(Constant.NODE_ADV_MAX_DELAY)
+        ? config.getLong(Constant.NODE_ADV_MAX_DELAY) : NetConstants.ADV_MAX_DELAY;
+
+    PARAMETER.advMaxBatch = config.hasPath(Constant.NODE_ADV_MAX_BATCH)
+        ? config.getInt(Constant.NODE_ADV_MAX_BATCH) : NetConstants.MAX_TRX_FETCH_PER_PEER;
+
+    PARAMETER.compactBlock = config.hasPath(Constant.NODE_COMPACT_BLOCK)
+        && config.getBoolean(Constant.NODE_COMPACT_BLOCK);
+
     PARAMETER.maxConnectionAgeInMillis =
         config.hasPath(Constant.NODE_RPC_MAX_CONNECTION_AGE_IN_MILLIS)
             ? config.getLong(Constant.NODE_RPC_MAX_CONNECTION_AGE_IN_MILLIS)
@@ -856,6 +891,9 @@ public class Args extends CommonParameter {
     PARAMETER.pendingTransactionTimeout = config.hasPath(Constant.NODE_PENDING_TRANSACTION_TIMEOUT)
         ? config.getLong(Constant.NODE_PENDING_TRANSACTION_TIMEOUT) : 60_000;
 
+    PARAMETER.speculativeBlock = config.hasPath(Constant.NODE_SPECULATIVE_BLOCK)
+        && config.getBoolean(Constant.NODE_SPECULATIVE_BLOCK);
+
     PARAMETER.needToUpdateAsset =
         !config.hasPath(Constant.STORAGE_NEEDTO_UPDATE_ASSET) || config
             .getBoolean(Constant.STORAGE_NEEDTO_UPDATE_ASSET);
@@ -1065,6 +1103,9 @@ public class Args extends CommonParameter {
     PARAMETER.openTransactionSort = config.hasPath(Constant.OPEN_TRANSACTION_SORT) && config
         .getBoolean(Constant.OPEN_TRANSACTION_SORT);
 
+    PARAMETER.statePrefetch = config.hasPath(Constant.STATE_PREFETCH) && config
+        .getBoolean(Constant.STATE_PREFETCH);
+
     PARAMETER.allowAccountAssetOptimization = config
         .hasPath(Constant.ALLOW_ACCOUNT_ASSET_OPTIMIZATION) ? config
         .getInt(Constant.ALLOW_ACCOUNT_ASSET_OPTIMIZATION) : 0;
@@ -1606,11 +1647,17 @@ public class Args extends CommonParameter {
         .getLong(prefix + "targetFileSizeBase") : 64;
     int targetFileSizeMultiplier = config.hasPath(prefix + "targetFileSizeMultiplier") ? config
         .getInt(prefix + "targetFileSizeMultiplier") : 1;
+    boolean columnFamilies = config.hasPath(prefix + "columnFamilies")
+        && config.getBoolean(prefix + "columnFamilies");
+    long dbWriteBufferSize = config.hasPath(prefix + "dbWriteBufferSize") ? config
+        .getLong(prefix + "dbWriteBufferSize") : 256;
 
     PARAMETER.rocksDBCustomSettings = RocksDbSettings
         .initCustomSettings(levelNumber, compactThreads, blocksize, maxBytesForLevelBase,
             maxBytesForLevelMultiplier, level0FileNumCompactionTrigger,
-            targetFileSizeBase, targetFileSizeMultiplier);
+            targetFileSizeBase, targetFileSizeMultiplier)
+        .withColumnFamilies(columnFamilies)
+        .withDbWriteBufferSize(dbWriteBufferSize);
     RocksDbSettings.loggingSettings();
   }
 
@@ -1681,6 +1728,8 @@ public class Args extends CommonParameter {
     logger.info("************************ DB config *************************");
     logger.info("DB engine : {}", parameter.getStorage().getDbEngine());
     logger.info("Snapshot max flush count: {}", parameter.getStorage().getMaxFlushCount());
+    logger.info("Snapshot max pending flushes: {}",
+        parameter.getStorage().getMaxPendingFlushes());
     logger.info("***************************************************************");
     logger.info("************************ shutDown config *************************");
     logger.info("ShutDown blockTime  : {}", parameter.getShutdownBlockTime());
@@ -59,6 +59,10 @@ public class BlockHandleImpl implements BlockHandle {
     return blockCapsule;
   }
 
+  public void prepare(Miner miner, long blockTime) {
+    manager.prepareBlock(miner, blockTime);
+  }
+
   public void setBlockWaitLock(boolean flag) {
     manager.setBlockWaitLock(flag);
   }
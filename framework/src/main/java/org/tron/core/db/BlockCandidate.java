@@ -0,0 +1,88 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.Parameter.ChainConstant;
+
+/**
+ * The block being packed by the manager: its transactions are executed in the pending session,
+ * on top of the head it was built on. Once sealed it takes no more transactions, the ones
+ * executed after it in the session are pending ones. Its transactions are read by id from other
+ * threads, as the pending ones are.
+ */
+@Getter
+class BlockCandidate {
+
+  private final BlockCapsule block;
+  private final List<TransactionCapsule> transactions = new ArrayList<>();
+  private final Map<Sha256Hash, TransactionCapsule> packed = new ConcurrentHashMap<>();
+  // the owners of the multi sign transactions packed, one each a block
+  private final Set<String> accountSet = new HashSet<>();
+  private int shieldedCount;
+  private long size;
+  private long postponedCount;
+  private boolean sealed;
+
+  BlockCandidate(BlockCapsule block) {
+    this.block = block;
+    this.size = block.getInstance().getSerializedSize();
+  }
+
+  void add(TransactionCapsule trx, long trxPackSize, boolean shielded, String multiSignOwner) {
+    transactions.add(trx);
+    packed.put(trx.getTransactionId(), trx);
+    size += trxPackSize;
+    if (shielded) {
+      shieldedCount++;
+    }
+    if (multiSignOwner != null) {
+      accountSet.add(multiSignOwner);
+    }
+  }
+
+  /**
+   * the transactions packed, safe to read while more are packed.
+   */
+  Collection<TransactionCapsule> getPacked() {
+    return packed.values();
+  }
+
+  TransactionCapsule getPacked(Sha256Hash id) {
+    return packed.get(id);
+  }
+
+  void seal() {
+    sealed = true;
+  }
+
+  void postpone() {
+    postponedCount++;
+  }
+
+  /**
+   * whether the candidate is the block the witness produces at the time on the head.
+   */
+  boolean isFor(BlockId headId, long blockTime, ByteString witness) {
+    return block.getParentBlockId().equals(headId)
+        && block.getTimeStamp() == blockTime
+        && block.getWitnessAddress().equals(witness);
+  }
+
+  /**
+   * whether the slot is over, the block is generated at the latest by half an interval after it.
+   */
+  boolean isExpired(long now) {
+    return now > block.getTimeStamp() + ChainConstant.BLOCK_PRODUCED_INTERVAL / 2;
+  }
+}
@@ -0,0 +1,101 @@
+package org.tron.core.db;
+
+import java.util.concurrent.ExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.es.ExecutorServiceManager;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.capsule.TransactionRetCapsule;
+import org.tron.core.store.LogIndexStore;
+import org.tron.core.store.TransactionRetStore;
+
+/**
+ * Writes the {@link LogIndexStore} of the blocks being applied and backfills the blocks
+ * before, from the head down, in the background. The index answers a query once its blocks
+ * are in [low, head] of the store. After a reset the backfill skips the blocks indexed before.
+ */
+@Slf4j(topic = "DB")
+public class LogIndexer {
+
+  private static final String NAME = "log-index-backfill";
+  private static final int LOG_INTERVAL = 100_000;
+
+  private final LogIndexStore logIndexStore;
+  private final TransactionRetStore transactionRetStore;
+  private final ChainBaseManager chainBaseManager;
+  private final ExecutorService executor;
+  private volatile boolean running = true;
+
+  public LogIndexer(ChainBaseManager chainBaseManager) {
+    this.chainBaseManager = chainBaseManager;
+    this.logIndexStore = chainBaseManager.getLogIndexStore();
+    this.transactionRetStore = chainBaseManager.getTransactionRetStore();
+    long headNum = chainBaseManager.getHeadBlockNum();
+    if (logIndexStore.getLow() < 0 || logIndexStore.getHead() < headNum) {
+      // new, or blocks were applied without the index, index again from the head down
+      logIndexStore.reset(headNum);
+    }
+    executor = ExecutorServiceManager.newSingleThreadExecutor(NAME, true);
+    executor.submit(this::backfill);
+  }
+
+  /**
+   * Indexes the logs of a block being applied.
+   */
+  public void write(long blockNum, TransactionRetCapsule transactionRetCapsule) {
+    try {
+      logIndexStore.write(blockNum, transactionRetCapsule);
+      logIndexStore.setHead(blockNum);
+    } catch (Exception e) {
+      // the block is fine, the index is not, let the queries use the blooms again
+      logger.error("Write log index of block {} failed.", blockNum, e);
+      logIndexStore.reset(blockNum);
+    }
+  }
+
+  private void backfill() {
+    long lowest = Math.max(1, chainBaseManager.getLowestBlockNum());
+    long low = logIndexStore.getLow();
+    logger.info("Log index backfill from {} down to {}.", low - 1, lowest);
+    long[] covered = logIndexStore.getCovered();
+    while (running && low > lowest) {
+      long blockNum = low - 1;
+      if (covered != null && blockNum == covered[1]) {
+        // indexed before the range was reset
+        if (logIndexStore.skipCovered(low, covered[0])) {
+          logger.info("Log index backfill skips blocks {} to {}.", covered[0], covered[1]);
+          low = covered[0];
+        } else {
+          low = logIndexStore.getLow();
+        }
+        covered = logIndexStore.getCovered();
+        continue;
+      }
+      try {
+        logIndexStore.write(blockNum,
+            transactionRetStore.getTransactionInfoByBlockNum(ByteArray.fromLong(blockNum)));
+      } catch (Exception e) {
+        logger.error("Log index backfill of block {} failed, stopped.", blockNum, e);
+        return;
+      }
+      if (!logIndexStore.compareAndSetLow(low, blockNum)) {
+        // reset by a failed write of a block, start over
+        low = logIndexStore.getLow();
+        covered = logIndexStore.getCovered();
+        continue;
+      }
+      low = blockNum;
+      if (blockNum % LOG_INTERVAL == 0) {
+        logger.info("Log index backfill at block {}.", blockNum);
+      }
+    }
+    if (running) {
+      logger.info("Log index backfill done.");
+    }
+  }
+
+  public void close() {
+    running = false;
+    ExecutorServiceManager.shutdownAndAwaitTermination(executor, NAME);
+  }
+}
@@ -15,7 +15,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -32,10 +31,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import lombok.Getter;
@@ -174,6 +171,10 @@ public class Manager {
   private static final int TX_ID_CACHE_SIZE = 100_000;
   private static final int SLEEP_FOR_WAIT_LOCK = 10;
   private static final int NO_BLOCK_WAITING_LOCK = 0;
+  // block and logs of each block for the jsonrpc filters, dropped when matching lags behind
+  private static final int FILTER_QUEUE_SIZE = 10_000;
+  private static final String SPECULATIVE_HIT = "hit";
+  private static final String SPECULATIVE_MISS = "miss";
   private final int shieldedTransInPendingMaxCounts =
       Args.getInstance().getShieldedTransInPendingMaxCounts();
   @Getter
@@ -190,6 +191,8 @@ public class Manager {
   private RevokingDatabase revokingStore;
   @Getter
   private SessionOptional session = SessionOptional.instance();
+  // the block packed ahead of the slot in the session, null if none
+  private volatile BlockCandidate candidate;
   @Getter
   @Setter
   private boolean isSyncMode;
@@ -206,6 +209,8 @@ public class Manager {
   @Setter
   private MerkleContainer merkleContainer;
   private ExecutorService validateSignService;
+  private StatePrefetcher statePrefetcher;
+  private LogIndexer logIndexer;
   private boolean isRunRePushThread = true;
   private boolean isRunTriggerCapsuleProcessThread = true;
   private BlockingQueue<TransactionCapsule> pushTransactionQueue = new LinkedBlockingQueue<>();
@@ -227,14 +232,14 @@ public class Manager {
   @Getter
   private ChainBaseManager chainBaseManager;
   // transactions cache
-  private BlockingQueue<TransactionCapsule> pendingTransactions;
+  private TransactionPool pendingTransactions;
   @Getter
   private AtomicInteger shieldedTransInPendingCounts = new AtomicInteger(0);
   // transactions popped
   private List<TransactionCapsule> poppedTransactions =
       Collections.synchronizedList(Lists.newArrayList());
-  // the capacity is equal to Integer.MAX_VALUE default
-  private BlockingQueue<TransactionCapsule> rePushTransactions;
+  // sheds its lowest fee beyond maxTransactionPendingSize only when sorting by fee
+  private TransactionPool rePushTransactions;
   private BlockingQueue<TriggerCapsule> triggerCapsuleQueue;
   // log filter
   private boolean isRunFilterProcessThread = true;
@@ -285,7 +290,7 @@ public class Manager {
             }
           } finally {
             if (tx != null && getRePushTransactions().remove(tx)) {
-              Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, -1,
+              Metrics.gaugeSet(MetricKeys.Gauge.MANAGER_QUEUE, getRePushTransactions().size(),
                   MetricLabels.Gauge.QUEUE_REPUSH);
             }
           }
@@ -326,9 +331,6 @@ public class Manager {
         }
       };
 
-  private Comparator downComparator = (Comparator<TransactionCapsule>) (o1, o2) -> Long
-      .compare(o2.getOrder(), o1.getOrder());
-
   public WitnessStore getWitnessStore() {
     return chainBaseManager.getWitnessStore();
   }
@@ -422,7 +424,7 @@ public class Manager {
     return chainBaseManager.getBlockIndexStore();
   }
 
-  public BlockingQueue<TransactionCapsule> getPendingTransactions() {
+  public TransactionPool getPendingTransactions() {
     return this.pendingTransactions;
   }
 
@@ -430,10 +432,19 @@ public class Manager {
     return this.poppedTransactions;
   }
 
-  public BlockingQueue<TransactionCapsule> getRePushTransactions() {
+  public TransactionPool getRePushTransactions() {
     return rePushTransactions;
   }
 
+  /**
+   * the transactions packed into the block prepared ahead of the slot, they left the pending
+   * ones but are not in a block yet.
+   */
+  public Collection<TransactionCapsule> getCandidateTransactions() {
+    BlockCandidate c = candidate;
+    return c == null ? Collections.emptyList() : c.getPacked();
+  }
+
   public void stopRePushThread() {
     isRunRePushThread = false;
     ExecutorServiceManager.shutdownAndAwaitTermination(rePushEs, rePushEsName);
@@ -453,6 +464,18 @@ public class Manager {
     ExecutorServiceManager.shutdownAndAwaitTermination(validateSignService, "validate-sign");
   }
 
+  public void stopStatePrefetchThread() {
+    if (statePrefetcher != null) {
+      statePrefetcher.close();
+    }
+  }
+
+  public void stopLogIndexThread() {
+    if (logIndexer != null) {
+      logIndexer.close();
+    }
+  }
+
   @PostConstruct
   public void init() {
     ChainBaseManager.init(chainBaseManager);
@@ -469,15 +492,11 @@ public class Manager {
     this.setMerkleContainer(
         merkleContainer.createInstance(chainBaseManager.getMerkleTreeStore(),
             chainBaseManager.getMerkleTreeIndexStore()));
-    if (Args.getInstance().isOpenTransactionSort()) {
-      this.pendingTransactions = new PriorityBlockingQueue(2000, downComparator);
-      this.rePushTransactions = new PriorityBlockingQueue<>(2000, downComparator);
-    } else {
-      this.pendingTransactions = new LinkedBlockingQueue<>();
-      this.rePushTransactions = new LinkedBlockingQueue<>();
-    }
+    boolean isSort = Args.getInstance().isOpenTransactionSort();
+    this.pendingTransactions = new TransactionPool(isSort);
+    this.rePushTransactions = new TransactionPool(isSort, maxTransactionPendingSize);
     this.triggerCapsuleQueue = new LinkedBlockingQueue<>();
-    this.filterCapsuleQueue = new LinkedBlockingQueue<>();
+    this.filterCapsuleQueue = new LinkedBlockingQueue<>(FILTER_QUEUE_SIZE);
     chainBaseManager.setMerkleContainer(getMerkleContainer());
     chainBaseManager.setMortgageService(mortgageService);
     this.initGenesis();
@@ -540,6 +559,9 @@ public class Manager {
         .newFixedThreadPool(Args.getInstance().getValidateSignThreadNum());
     rePushEs = ExecutorServiceManager.newSingleThreadExecutor(rePushEsName, true);
     rePushEs.submit(rePushLoop);
+    if (Args.getInstance().isStatePrefetch()) {
+      statePrefetcher = new StatePrefetcher(chainBaseManager);
+    }
     // add contract event listener for subscribing
     if (Args.getInstance().isEventSubscribe()) {
       startEventSubscribing();
@@ -551,6 +573,9 @@ public class Manager {
     if (CommonParameter.getInstance().isJsonRpcFilterEnabled()) {
       filterEs = ExecutorServiceManager.newSingleThreadExecutor(filterEsName);
       filterEs.submit(filterProcessLoop);
+      if (CommonParameter.getInstance().isJsonRpcLogIndex()) {
+        logIndexer = new LogIndexer(chainBaseManager);
+      }
     }
 
     //initStoreFactory
@@ -871,13 +896,15 @@ public class Manager {
             session.setValue(revokingStore.buildSession());
           }
 
-          try (ISession tmpSession = revokingStore.buildSession()) {
-            processTransaction(trx, null);
-            trx.setTrxTrace(null);
-            pendingTransactions.add(trx);
-            Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, 1,
-                    MetricLabels.Gauge.QUEUE_PENDING);
-            tmpSession.merge();
+          if (!packPushed(trx)) {
+            try (ISession tmpSession = revokingStore.buildSession()) {
+              processTransaction(trx, null);
+              trx.setTrxTrace(null);
+              pendingTransactions.add(trx);
+              Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, 1,
+                      MetricLabels.Gauge.QUEUE_PENDING);
+              tmpSession.merge();
+            }
           }
           if (isShieldedTransaction(trx.getInstance())) {
             shieldedTransInPendingCounts.incrementAndGet();
@@ -1222,6 +1249,7 @@ public class Manager {
           latestSolidityNumShutDown = block.getNum();
         }
 
+        discardCandidate();
         try (PendingManager pm = new PendingManager(this)) {
 
           if (!block.generatedByMyself) {
@@ -1522,9 +1550,62 @@ public class Manager {
         MetricKeys.Histogram.BLOCK_GENERATE_LATENCY, address);
     Metrics.histogramObserve(MetricKeys.Histogram.MINER_DELAY,
         (System.currentTimeMillis() - blockTime) / Metrics.MILLISECONDS_PER_SECOND, address);
-    long postponedTrxCount = 0;
     logger.info("Generate block {} begin.", chainBaseManager.getHeadBlockNum() + 1);
 
+    BlockCandidate c = candidate;
+    if (c != null && c.isFor(chainBaseManager.getHeadBlockId(), blockTime,
+        miner.getWitnessAddress())) {
+      candidate = null;
+      Metrics.counterInc(MetricKeys.Counter.SPECULATIVE_BLOCK, 1, SPECULATIVE_HIT);
+    } else {
+      discardCandidate();
+      c = newCandidate(miner, blockTime);
+      if (c == null) {
+        return null;
+      }
+    }
+    // a sealed block has pending transactions executed after it
+    if (!c.isSealed()) {
+      pack(c, timeout, false);
+      accountStateCallBack.executeGenerateFinish();
+    }
+    BlockCapsule blockCapsule = c.getBlock();
+    blockCapsule.addAllTransactions(c.getTransactions());
+
+    session.reset();
+
+    blockCapsule.setMerkleRoot();
+    blockCapsule.sign(miner.getPrivateKey());
+
+    BlockCapsule capsule = new BlockCapsule(blockCapsule.getInstance());
+    capsule.generatedByMyself = true;
+    Metrics.histogramObserve(timer);
+    logger.info("Generate block {} success, trxs:{}, pendingCount: {}, rePushCount: {},"
+                    + " postponedCount: {}, blockSize: {} B",
+            capsule.getNum(), capsule.getTransactions().size(),
+            pendingTransactions.size(), rePushTransactions.size(), c.getPostponedCount(),
+            capsule.getSerializedSize());
+    return capsule;
+  }
+
+  /**
+   * Packs the block of the slot ahead of time, the transactions pushed until it is generated
+   * are packed into it as well. Gives way to a block waiting for the lock.
+   */
+  public void prepareBlock(Miner miner, long blockTime) {
+    discardCandidate();
+    BlockCandidate c = newCandidate(miner, blockTime);
+    if (c == null) {
+      return;
+    }
+    candidate = c;
+    pack(c, blockTime, true);
+    logger.info("Prepare block {}, trxs: {}, pendingCount: {}, rePushCount: {}.",
+        c.getBlock().getNum(), c.getTransactions().size(), pendingTransactions.size(),
+        rePushTransactions.size());
+  }
+
+  private BlockCandidate newCandidate(Miner miner, long blockTime) {
     BlockCapsule blockCapsule = new BlockCapsule(chainBaseManager.getHeadBlockNum() + 1,
         chainBaseManager.getHeadBlockId(),
         blockTime, miner.getWitnessAddress());
@@ -1543,13 +1624,41 @@ public class Manager {
         return null;
       }
     }
+    return new BlockCandidate(blockCapsule);
+  }
+
+  /**
+   * Drops the prepared block, its transactions are executed in the session as the pending ones
+   * are, they are moved to the repush queue when the session is reset.
+   */
+  private void discardCandidate() {
+    if (candidate == null) {
+      return;
+    }
+    pendingTransactions.addAll(candidate.getTransactions());
+    Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, candidate.getTransactions().size(),
+        MetricLabels.Gauge.QUEUE_PENDING);
+    logger.info("Discard prepared block {}, trxs: {}.", candidate.getBlock().getNum(),
+        candidate.getTransactions().size());
+    candidate = null;
+    accountStateCallBack.exceptionFinish();
+    Metrics.counterInc(MetricKeys.Counter.SPECULATIVE_BLOCK, 1, SPECULATIVE_MISS);
+  }
 
-    Set<String> accountSet = new HashSet<>();
-    AtomicInteger shieldedTransCounts = new AtomicInteger(0);
-    List<TransactionCapsule> toBePacked = new ArrayList<>();
-    long currentSize = blockCapsule.getInstance().getSerializedSize();
+  private void pack(BlockCandidate c, long timeout, boolean yield) {
+    BlockCapsule blockCapsule = c.getBlock();
     boolean isSort = Args.getInstance().isOpenTransactionSort();
     while (pendingTransactions.size() > 0 || rePushTransactions.size() > 0) {
+      if (System.currentTimeMillis() > timeout) {
+        if (!yield) {
+          logger.warn("Processing transaction time exceeds the producing time {}.",
+              System.currentTimeMillis());
+        }
+        break;
+      }
+      if (yield && isBlockWaitingLock()) {
+        break;
+      }
       boolean fromPending = false;
       TransactionCapsule trx;
       if (pendingTransactions.size() > 0) {
@@ -1560,7 +1669,7 @@ public class Manager {
             fromPending = true;
           } else {
             trx = rePushTransactions.poll();
-            Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, -1,
+            Metrics.gaugeSet(MetricKeys.Gauge.MANAGER_QUEUE, rePushTransactions.size(),
                 MetricLabels.Gauge.QUEUE_REPUSH);
           }
         } else {
@@ -1568,7 +1677,7 @@ public class Manager {
         }
       } else {
         trx = rePushTransactions.poll();
-        Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, -1,
+        Metrics.gaugeSet(MetricKeys.Gauge.MANAGER_QUEUE, rePushTransactions.size(),
             MetricLabels.Gauge.QUEUE_REPUSH);
       }
 
@@ -1584,68 +1693,85 @@ public class Manager {
                 fromPending, pendingTransactions.size(), rePushTransactions.size());
         continue;
       }
-      if (System.currentTimeMillis() > timeout) {
-        logger.warn("Processing transaction time exceeds the producing time {}.",
-            System.currentTimeMillis());
-        break;
-      }
 
-      // check the block size
       long trxPackSize = trx.computeTrxSizeForBlockMessage();
-      if ((currentSize + trxPackSize)
-          > ChainConstant.BLOCK_SIZE) {
-        postponedTrxCount++;
+      if (!fits(c, trx, trxPackSize)) {
+        c.postpone();
         continue; // try pack more small trx
       }
-      //shielded transaction
-      Transaction transaction = trx.getInstance();
-      if (isShieldedTransaction(transaction)
-          && shieldedTransCounts.incrementAndGet() > SHIELDED_TRANS_IN_BLOCK_COUNTS) {
-        continue;
-      }
-      //multi sign transaction
-      byte[] owner = trx.getOwnerAddress();
-      String ownerAddress = ByteArray.toHexString(owner);
-      if (accountSet.contains(ownerAddress)) {
-        continue;
-      } else {
-        if (isMultiSignTransaction(transaction)) {
-          accountSet.add(ownerAddress);
-        }
-      }
-      if (ownerAddressSet.contains(ownerAddress)) {
-        trx.setVerified(false);
-      }
       // apply transaction
-      try (ISession tmpSession = revokingStore.buildSession()) {
-        accountStateCallBack.preExeTrans();
-        processTransaction(trx, blockCapsule);
-        accountStateCallBack.exeTransFinish();
-        tmpSession.merge();
-        toBePacked.add(trx);
-        currentSize += trxPackSize;
+      try {
+        packTransaction(c, trx, trxPackSize);
       } catch (Exception e) {
         logger.warn("Process trx {} failed when generating block {}, {}.", trx.getTransactionId(),
             blockCapsule.getNum(), e.getMessage());
       }
     }
-    blockCapsule.addAllTransactions(toBePacked);
-    accountStateCallBack.executeGenerateFinish();
+  }
 
-    session.reset();
+  /**
+   * Packs a transaction pushed while the block is prepared into it. The first one that does not
+   * fit seals the block, it and the later ones are executed as pending ones on top of it.
+   *
+   * @return false if the transaction is left to the pending ones.
+   */
+  private boolean packPushed(TransactionCapsule trx)
+      throws ValidateSignatureException, ContractValidateException, ContractExeException,
+      AccountResourceInsufficientException, DupTransactionException, TaposException,
+      TooBigTransactionException, TransactionExpirationException,
+      ReceiptCheckErrException, VMIllegalException, TooBigTransactionResultException {
+    if (candidate != null && candidate.isExpired(System.currentTimeMillis())) {
+      // the slot was missed
+      discardCandidate();
+    }
+    if (candidate == null || candidate.isSealed()) {
+      return false;
+    }
+    long trxPackSize = trx.computeTrxSizeForBlockMessage();
+    if (!fits(candidate, trx, trxPackSize)) {
+      candidate.seal();
+      // the state root of the block, before the pending transactions
+      accountStateCallBack.executeGenerateFinish();
+      return false;
+    }
+    packTransaction(candidate, trx, trxPackSize);
+    return true;
+  }
 
-    blockCapsule.setMerkleRoot();
-    blockCapsule.sign(miner.getPrivateKey());
+  private boolean fits(BlockCandidate c, TransactionCapsule trx, long trxPackSize) {
+    // check the block size
+    if ((c.getSize() + trxPackSize)
+        > ChainConstant.BLOCK_SIZE) {
+      return false;
+    }
+    //shielded transaction
+    Transaction transaction = trx.getInstance();
+    if (isShieldedTransaction(transaction)
+        && c.getShieldedCount() >= SHIELDED_TRANS_IN_BLOCK_COUNTS) {
+      return false;
+    }
+    //multi sign transaction
+    return !c.getAccountSet().contains(ByteArray.toHexString(trx.getOwnerAddress()));
+  }
 
-    BlockCapsule capsule = new BlockCapsule(blockCapsule.getInstance());
-    capsule.generatedByMyself = true;
-    Metrics.histogramObserve(timer);
-    logger.info("Generate block {} success, trxs:{}, pendingCount: {}, rePushCount: {},"
-                    + " postponedCount: {}, blockSize: {} B",
-            capsule.getNum(), capsule.getTransactions().size(),
-            pendingTransactions.size(), rePushTransactions.size(), postponedTrxCount,
-            capsule.getSerializedSize());
-    return capsule;
+  private void packTransaction(BlockCandidate c, TransactionCapsule trx, long trxPackSize)
+      throws ValidateSignatureException, ContractValidateException, ContractExeException,
+      AccountResourceInsufficientException, DupTransactionException, TaposException,
+      TooBigTransactionException, TransactionExpirationException,
+      ReceiptCheckErrException, VMIllegalException, TooBigTransactionResultException {
+    Transaction transaction = trx.getInstance();
+    String ownerAddress = ByteArray.toHexString(trx.getOwnerAddress());
+    if (ownerAddressSet.contains(ownerAddress)) {
+      trx.setVerified(false);
+    }
+    try (ISession tmpSession = revokingStore.buildSession()) {
+      accountStateCallBack.preExeTrans();
+      processTransaction(trx, c.getBlock());
+      accountStateCallBack.exeTransFinish();
+      tmpSession.merge();
+      c.add(trx, trxPackSize, isShieldedTransaction(transaction),
+          isMultiSignTransaction(transaction) ? ownerAddress : null);
+    }
   }
 
   private void filterOwnerAddress(TransactionCapsule transactionCapsule, Set<String> result) {
@@ -1714,6 +1840,10 @@ public class Manager {
 
     //reset BlockEnergyUsage
     chainBaseManager.getDynamicPropertiesStore().saveBlockEnergyUsage(0);
+    // warm the state while the signatures are checked
+    if (statePrefetcher != null) {
+      statePrefetcher.prefetch(block.getNum(), block.getTransactions());
+    }
     //parallel check sign
     if (!block.generatedByMyself) {
       try {
@@ -1748,6 +1878,9 @@ public class Manager {
     } finally {
       accountStateCallBack.exceptionFinish();
     }
+    if (statePrefetcher != null) {
+      statePrefetcher.report(block.getNum());
+    }
     merkleContainer.saveCurrentMerkleTreeAsBestMerkleTree(block.getNum());
     block.setResult(transactionRetCapsule);
     if (getDynamicPropertiesStore().getAllowAdaptiveEnergy() == 1) {
@@ -1785,6 +1918,9 @@ public class Manager {
           .initBlockSection(transactionRetCapsule);
       chainBaseManager.getSectionBloomStore().write(block.getNum());
       block.setBloom(blockBloom);
+      if (logIndexer != null) {
+        logIndexer.write(block.getNum(), transactionRetCapsule);
+      }
     }
   }
 
@@ -1929,9 +2065,12 @@ public class Manager {
     return chainBaseManager.getNullifierStore();
   }
 
+  /**
+   * the admission limit, counting the pending and the repush transactions together.
+   */
   public boolean isTooManyPending() {
     return getPendingTransactions().size() + getRePushTransactions().size()
-        > maxTransactionPendingSize;
+        + getCandidateTransactions().size() > maxTransactionPendingSize;
   }
 
   private void preValidateTransactionSign(List<TransactionCapsule> txs)
@@ -1965,6 +2104,28 @@ public class Manager {
     }
   }
 
+  /**
+   * Recovers the signers of the transactions into the signer cache on the sign validation
+   * threads, so the later validation in {@link #pushBlock} only has to check permissions.
+   */
+  public void recoverTransactionSigners(List<TransactionCapsule> txs)
+      throws InterruptedException {
+    if (txs.isEmpty()) {
+      return;
+    }
+    CountDownLatch countDownLatch = new CountDownLatch(txs.size());
+    for (TransactionCapsule transaction : txs) {
+      validateSignService.submit(() -> {
+        try {
+          transaction.recoverSigners();
+        } finally {
+          countDownLatch.countDown();
+        }
+      });
+    }
+    countDownLatch.await();
+  }
+
   public void rePush(TransactionCapsule tx) {
     if (containsTransaction(tx)) {
       return;
@@ -2318,24 +2479,16 @@ public class Manager {
   }
 
   public TransactionCapsule getTxFromPending(String txId) {
-    AtomicReference<TransactionCapsule> transactionCapsule = new AtomicReference<>();
     Sha256Hash txHash = Sha256Hash.wrap(ByteArray.fromHexString(txId));
-    pendingTransactions.forEach(tx -> {
-      if (tx.getTransactionId().equals(txHash)) {
-        transactionCapsule.set(tx);
-        return;
-      }
-    });
-    if (transactionCapsule.get() != null) {
-      return transactionCapsule.get();
+    TransactionCapsule transactionCapsule = pendingTransactions.get(txHash);
+    if (transactionCapsule != null) {
+      return transactionCapsule;
     }
-    rePushTransactions.forEach(tx -> {
-      if (tx.getTransactionId().equals(txHash)) {
-        transactionCapsule.set(tx);
-        return;
-      }
-    });
-    return transactionCapsule.get();
+    BlockCandidate c = candidate;
+    if (c != null && (transactionCapsule = c.getPacked(txHash)) != null) {
+      return transactionCapsule;
+    }
+    return rePushTransactions.get(txHash);
   }
 
   public Collection<String> getTxListFromPending() {
@@ -2346,12 +2499,15 @@ public class Manager {
     rePushTransactions.forEach(tx -> {
       result.add(tx.getTransactionId().toString());
     });
+    getCandidateTransactions().forEach(tx -> {
+      result.add(tx.getTransactionId().toString());
+    });
     return result;
   }
 
   public long getPendingSize() {
     long value = getPendingTransactions().size() + getRePushTransactions().size()
-        + getPoppedTransactions().size();
+        + getPoppedTransactions().size() + getCandidateTransactions().size();
     return value;
   }
 
@@ -1,6 +1,5 @@
 package org.tron.core.db;
 
-import java.util.Iterator;
 import lombok.extern.slf4j.Slf4j;
 import org.tron.common.prometheus.MetricKeys;
 import org.tron.common.prometheus.MetricLabels;
@@ -23,22 +22,7 @@ public class PendingManager implements AutoCloseable {
   @Override
   public void close() {
 
-    long now = System.currentTimeMillis();
-    Iterator<TransactionCapsule> iterator = dbManager.getRePushTransactions().iterator();
-    while (iterator.hasNext()) {
-      TransactionCapsule tx = iterator.next();
-      if (now - tx.getTime() > timeout) {
-        iterator.remove();
-        Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, -1,
-            MetricLabels.Gauge.QUEUE_REPUSH);
-        Metrics.counterInc(MetricKeys.Counter.TXS, 1,
-            MetricLabels.Counter.TXS_FAIL, MetricLabels.Counter.TXS_FAIL_TIMEOUT);
-        if (Args.getInstance().isOpenPrintLog()) {
-          logger.warn("Timeout remove tx from repush, txId: {}.", tx.getTransactionId());
-        }
-      }
-    }
-
+    TransactionPool rePush = dbManager.getRePushTransactions();
     for (TransactionCapsule tx : dbManager.getPendingTransactions()) {
       txIteration(tx);
     }
@@ -53,6 +37,27 @@ public class PendingManager implements AutoCloseable {
     dbManager.getPoppedTransactions().clear();
     Metrics.gaugeSet(MetricKeys.Gauge.MANAGER_QUEUE, 0,
         MetricLabels.Gauge.QUEUE_POPPED);
+
+    for (TransactionCapsule tx : rePush.removeTimeout(System.currentTimeMillis() - timeout)) {
+      Metrics.counterInc(MetricKeys.Counter.TXS, 1,
+          MetricLabels.Counter.TXS_FAIL, MetricLabels.Counter.TXS_FAIL_TIMEOUT);
+      if (Args.getInstance().isOpenPrintLog()) {
+        logger.warn("Timeout remove tx from repush, txId: {}.", tx.getTransactionId());
+      }
+    }
+    long headBlockTime = dbManager.getDynamicPropertiesStore().getLatestBlockHeaderTimestamp();
+    for (TransactionCapsule tx : rePush.removeExpired(headBlockTime)) {
+      Metrics.counterInc(MetricKeys.Counter.TXS, 1,
+          MetricLabels.Counter.TXS_FAIL, MetricLabels.Counter.TXS_FAIL_EXPIRED);
+      if (Args.getInstance().isOpenPrintLog()) {
+        logger.warn("Expired remove tx from repush, txId: {}.", tx.getTransactionId());
+      }
+    }
+    // the pool may have evicted some
+    Metrics.gaugeSet(MetricKeys.Gauge.MANAGER_QUEUE, rePush.size(),
+        MetricLabels.Gauge.QUEUE_REPUSH);
+    Metrics.gaugeSet(MetricKeys.Gauge.MANAGER_QUEUE_ACCOUNTS, rePush.getOwnerCounts().size(),
+        MetricLabels.Gauge.QUEUE_REPUSH);
     if (Args.getInstance().isOpenPrintLog()) {
       logger.info("Pending tx size: {}.", dbManager.getRePushTransactions().size());
     }
@@ -60,21 +65,14 @@ public class PendingManager implements AutoCloseable {
   }
 
   private void txIteration(TransactionCapsule tx) {
-    try {
-      if (System.currentTimeMillis() - tx.getTime() < timeout) {
-        dbManager.getRePushTransactions().put(tx);
-        Metrics.gaugeInc(MetricKeys.Gauge.MANAGER_QUEUE, 1,
-            MetricLabels.Gauge.QUEUE_REPUSH);
-      } else {
-        Metrics.counterInc(MetricKeys.Counter.TXS, 1,
-            MetricLabels.Counter.TXS_FAIL, MetricLabels.Counter.TXS_FAIL_TIMEOUT);
-        if (Args.getInstance().isOpenPrintLog()) {
-          logger.warn("Timeout remove tx from pending, txId: {}.", tx.getTransactionId());
-        }
+    if (System.currentTimeMillis() - tx.getTime() < timeout) {
+      dbManager.getRePushTransactions().put(tx);
+    } else {
+      Metrics.counterInc(MetricKeys.Counter.TXS, 1,
+          MetricLabels.Counter.TXS_FAIL, MetricLabels.Counter.TXS_FAIL_TIMEOUT);
+      if (Args.getInstance().isOpenPrintLog()) {
+        logger.warn("Timeout remove tx from pending, txId: {}.", tx.getTransactionId());
       }
-    } catch (InterruptedException e) {
-      logger.error(e.getMessage());
-      Thread.currentThread().interrupt();
     }
   }
 }
@@ -0,0 +1,141 @@
+package org.tron.core.db;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.es.ExecutorServiceManager;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.Metrics;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+
+/**
+ * Warms the store caches with the state the transactions of a block are known to read: the
+ * owner and receiver accounts and, for contract calls, the contract account, contract, code
+ * and ABI. The keys of a store are read in one batch, the stores in parallel, while the block
+ * is executed. Storage rows depend on the execution and are not prefetched.
+ */
+@Slf4j(topic = "DB")
+public class StatePrefetcher {
+
+  private static final String NAME = "state-prefetch";
+
+  private final TronStoreWithRevoking<?> accountStore;
+  // the stores keyed by contract address
+  private final List<TronStoreWithRevoking<?>> contractStores;
+  private final ExecutorService executor;
+  // cache statistics when the prefetch of the current block started
+  private Map<String, CacheStats> started;
+
+  public StatePrefetcher(ChainBaseManager chainBaseManager) {
+    accountStore = chainBaseManager.getAccountStore();
+    contractStores = Arrays.asList(chainBaseManager.getContractStore(),
+        chainBaseManager.getCodeStore(), chainBaseManager.getAbiStore());
+    executor = Executors.newFixedThreadPool(1 + contractStores.size(),
+        new ThreadFactoryBuilder().setNameFormat(NAME + "-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Starts the prefetch of the state of the transactions and returns, a failed prefetch only
+   * leaves the reads to the execution.
+   */
+  public void prefetch(long blockNum, List<TransactionCapsule> txs) {
+    started = CacheManager.stats();
+    Map<WrappedByteArray, byte[]> accounts = new LinkedHashMap<>();
+    Map<WrappedByteArray, byte[]> contracts = new LinkedHashMap<>();
+    for (TransactionCapsule tx : txs) {
+      for (Contract contract : tx.getInstance().getRawData().getContractList()) {
+        add(accounts, TransactionCapsule.getOwner(contract));
+        add(accounts, TransactionCapsule.getToAddress(contract));
+        if (contract.getType() == ContractType.TriggerSmartContract) {
+          byte[] address = contractAddress(contract);
+          add(accounts, address);
+          add(contracts, address);
+        }
+      }
+    }
+    submit(blockNum, accountStore, accounts.values());
+    contractStores.forEach(store -> submit(blockNum, store, contracts.values()));
+  }
+
+  private void submit(long blockNum, TronStoreWithRevoking<?> store, Collection<byte[]> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    List<byte[]> list = new ArrayList<>(keys);
+    executor.execute(() -> {
+      try {
+        int read = store.prefetch(list);
+        logger.debug("Block {} prefetched {} of {} keys of {}.", blockNum, read, list.size(),
+            store.getDbName());
+      } catch (Exception e) {
+        logger.warn("Block {} prefetch of {} failed: {}", blockNum, store.getDbName(),
+            e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Publishes the cache hit ratio of the prefetched stores since {@link #prefetch}, the share of
+   * the reads of the execution that the caches answered.
+   */
+  public void report(long blockNum) {
+    if (started == null) {
+      return;
+    }
+    Map<String, CacheStats> now = CacheManager.stats();
+    List<TronStoreWithRevoking<?>> stores = new ArrayList<>(contractStores);
+    stores.add(accountStore);
+    for (TronStoreWithRevoking<?> store : stores) {
+      String name = store.getDbName();
+      CacheStats before = started.get(name);
+      CacheStats after = now.get(name);
+      if (before == null || after == null) {
+        continue;
+      }
+      CacheStats block = after.minus(before);
+      if (block.requestCount() > 0) {
+        Metrics.gaugeSet(MetricKeys.Gauge.STATE_PREFETCH_HIT_RATIO, block.hitRate(), name);
+        logger.debug("Block {} {} cache hit ratio {}, requests {}.", blockNum, name,
+            block.hitRate(), block.requestCount());
+      }
+    }
+    started = null;
+  }
+
+  public void close() {
+    ExecutorServiceManager.shutdownAndAwaitTermination(executor, NAME);
+  }
+
+  private static byte[] contractAddress(Contract contract) {
+    try {
+      ByteString address = contract.getParameter().unpack(TriggerSmartContract.class)
+          .getContractAddress();
+      return address.toByteArray();
+    } catch (InvalidProtocolBufferException e) {
+      return new byte[0];
+    }
+  }
+
+  private static void add(Map<WrappedByteArray, byte[]> keys, byte[] key) {
+    if (!ByteArray.isEmpty(key)) {
+      keys.putIfAbsent(WrappedByteArray.of(key), key);
+    }
+  }
+}
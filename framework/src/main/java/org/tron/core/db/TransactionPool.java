@@ -0,0 +1,399 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.args.Args;
+
+/**
+ * The transactions waiting to be packed, indexed by id, by owner, by arrival time and by
+ * expiration. They are taken best first: the highest order (the fee) when sorting is open, then
+ * the earliest arrival. The capacity is kept only when sorting: the lowest fee gives way to a
+ * higher one. Without fees to compare every transaction is kept, the admission limits the size.
+ */
+@Slf4j(topic = "DB")
+public class TransactionPool extends AbstractQueue<TransactionCapsule>
+    implements BlockingQueue<TransactionCapsule> {
+
+  private final boolean sort;
+  private final int capacity;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private long sequence;
+
+  private final TreeSet<Entry> byPriority;
+  private final TreeSet<Entry> byTime = new TreeSet<>(by(e -> e.time));
+  private final TreeSet<Entry> byExpiration = new TreeSet<>(by(e -> e.expiration));
+  private final Map<Sha256Hash, Entry> byId = new HashMap<>();
+  private final Map<ByteString, TreeSet<Entry>> byOwner = new HashMap<>();
+
+  public TransactionPool(boolean sort, int capacity) {
+    this.sort = sort;
+    this.capacity = capacity;
+    Comparator<Entry> highestOrder = (a, b) -> Long.compare(b.order, a.order);
+    this.byPriority = new TreeSet<>(sort ? highestOrder.thenComparingLong(e -> e.sequence)
+        : Comparator.comparingLong((Entry e) -> e.sequence));
+  }
+
+  public TransactionPool(boolean sort) {
+    this(sort, Integer.MAX_VALUE);
+  }
+
+  private static Comparator<Entry> by(ToLongFunction<Entry> key) {
+    return Comparator.comparingLong(key).thenComparingLong(e -> e.sequence);
+  }
+
+  /**
+   * adds the transaction, evicting the lowest fee when full and sorting. False if the
+   * transaction has the lowest fee itself.
+   */
+  @Override
+  public boolean offer(TransactionCapsule trx) {
+    lock.lock();
+    try {
+      if (byId.containsKey(trx.getTransactionId())) {
+        return true;
+      }
+      Entry entry = new Entry(trx, sequence++);
+      if (sort && byId.size() >= capacity) {
+        Entry lowest = byPriority.last();
+        if (byPriority.comparator().compare(entry, lowest) >= 0) {
+          evicted(trx);
+          return false;
+        }
+        unlink(lowest);
+        evicted(lowest.trx);
+      }
+      link(entry);
+      notEmpty.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * never blocks, see {@link #offer(TransactionCapsule)}.
+   */
+  @Override
+  public void put(TransactionCapsule trx) {
+    offer(trx);
+  }
+
+  @Override
+  public boolean offer(TransactionCapsule trx, long timeout, TimeUnit unit) {
+    return offer(trx);
+  }
+
+  @Override
+  public TransactionCapsule take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (byPriority.isEmpty()) {
+        notEmpty.await();
+      }
+      return unlink(byPriority.first());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public TransactionCapsule poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (byPriority.isEmpty()) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      return unlink(byPriority.first());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public TransactionCapsule poll() {
+    lock.lock();
+    try {
+      return byPriority.isEmpty() ? null : unlink(byPriority.first());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public TransactionCapsule peek() {
+    lock.lock();
+    try {
+      return byPriority.isEmpty() ? null : byPriority.first().trx;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return byId.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    lock.lock();
+    try {
+      return sort ? capacity - byId.size() : Integer.MAX_VALUE;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int drainTo(Collection<? super TransactionCapsule> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super TransactionCapsule> c, int maxElements) {
+    lock.lock();
+    try {
+      int n = 0;
+      while (n < maxElements && !byPriority.isEmpty()) {
+        c.add(unlink(byPriority.first()));
+        n++;
+      }
+      return n;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (!(o instanceof TransactionCapsule)) {
+      return false;
+    }
+    return get(((TransactionCapsule) o).getTransactionId()) != null;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (!(o instanceof TransactionCapsule)) {
+      return false;
+    }
+    lock.lock();
+    try {
+      Entry entry = byId.get(((TransactionCapsule) o).getTransactionId());
+      if (entry == null) {
+        return false;
+      }
+      unlink(entry);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      byPriority.clear();
+      byTime.clear();
+      byExpiration.clear();
+      byId.clear();
+      byOwner.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * iterates a snapshot, best first.
+   */
+  @Override
+  public Iterator<TransactionCapsule> iterator() {
+    List<TransactionCapsule> snapshot;
+    lock.lock();
+    try {
+      snapshot = new ArrayList<>(byPriority.size());
+      byPriority.forEach(e -> snapshot.add(e.trx));
+    } finally {
+      lock.unlock();
+    }
+    return new Iterator<TransactionCapsule>() {
+      private int cursor;
+      private TransactionCapsule last;
+
+      @Override
+      public boolean hasNext() {
+        return cursor < snapshot.size();
+      }
+
+      @Override
+      public TransactionCapsule next() {
+        if (cursor >= snapshot.size()) {
+          throw new NoSuchElementException();
+        }
+        last = snapshot.get(cursor++);
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        if (last == null) {
+          throw new IllegalStateException();
+        }
+        TransactionPool.this.remove(last);
+        last = null;
+      }
+    };
+  }
+
+  public TransactionCapsule get(Sha256Hash id) {
+    lock.lock();
+    try {
+      Entry entry = byId.get(id);
+      return entry == null ? null : entry.trx;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * the transactions of an owner, best first.
+   */
+  public List<TransactionCapsule> getByOwner(byte[] owner) {
+    List<TransactionCapsule> result = new ArrayList<>();
+    lock.lock();
+    try {
+      TreeSet<Entry> entries = byOwner.get(ByteString.copyFrom(owner));
+      if (entries != null) {
+        entries.forEach(e -> result.add(e.trx));
+      }
+    } finally {
+      lock.unlock();
+    }
+    return result;
+  }
+
+  /**
+   * the number of transactions of each owner.
+   */
+  public Map<ByteString, Integer> getOwnerCounts() {
+    Map<ByteString, Integer> result = new HashMap<>();
+    lock.lock();
+    try {
+      byOwner.forEach((owner, entries) -> result.put(owner, entries.size()));
+    } finally {
+      lock.unlock();
+    }
+    return result;
+  }
+
+  /**
+   * removes the transactions that arrived before the time.
+   */
+  public List<TransactionCapsule> removeTimeout(long time) {
+    return removeBefore(byTime, e -> e.time, time);
+  }
+
+  /**
+   * removes the transactions that expire at the time or before.
+   */
+  public List<TransactionCapsule> removeExpired(long time) {
+    return removeBefore(byExpiration, e -> e.expiration, time + 1);
+  }
+
+  private List<TransactionCapsule> removeBefore(TreeSet<Entry> index, ToLongFunction<Entry> key,
+      long bound) {
+    List<TransactionCapsule> removed = new ArrayList<>();
+    lock.lock();
+    try {
+      while (!index.isEmpty() && key.applyAsLong(index.first()) < bound) {
+        removed.add(unlink(index.first()));
+      }
+    } finally {
+      lock.unlock();
+    }
+    return removed;
+  }
+
+  private void link(Entry entry) {
+    byPriority.add(entry);
+    byTime.add(entry);
+    byExpiration.add(entry);
+    byId.put(entry.trx.getTransactionId(), entry);
+    byOwner.computeIfAbsent(entry.owner, k -> new TreeSet<>(byPriority.comparator()))
+        .add(entry);
+  }
+
+  private TransactionCapsule unlink(Entry entry) {
+    byPriority.remove(entry);
+    byTime.remove(entry);
+    byExpiration.remove(entry);
+    byId.remove(entry.trx.getTransactionId());
+    TreeSet<Entry> entries = byOwner.get(entry.owner);
+    entries.remove(entry);
+    if (entries.isEmpty()) {
+      byOwner.remove(entry.owner);
+    }
+    return entry.trx;
+  }
+
+  private void evicted(TransactionCapsule trx) {
+    Metrics.counterInc(MetricKeys.Counter.TXS, 1,
+        MetricLabels.Counter.TXS_FAIL, MetricLabels.Counter.TXS_FAIL_EVICTED);
+    if (Args.getInstance().isOpenPrintLog()) {
+      logger.warn("Evict tx from pool, txId: {}, order: {}.", trx.getTransactionId(),
+          trx.getOrder());
+    }
+  }
+
+  // the keys are taken once, the capsule may change while pooled
+  private static class Entry {
+
+    private final TransactionCapsule trx;
+    private final long sequence;
+    private final long order;
+    private final long time;
+    private final long expiration;
+    private final ByteString owner;
+
+    private Entry(TransactionCapsule trx, long sequence) {
+      this.trx = trx;
+      this.sequence = sequence;
+      this.order = trx.getOrder();
+      this.time = trx.getTime();
+      this.expiration = trx.getExpiration();
+      this.owner = trx.getInstance().getRawData().getContractCount() == 0
+          ? ByteString.EMPTY : ByteString.copyFrom(trx.getOwnerAddress());
+    }
+  }
+}
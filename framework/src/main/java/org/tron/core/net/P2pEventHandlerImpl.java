@@ -24,6 +24,7 @@ import org.tron.core.net.message.base.DisconnectMessage;
 import org.tron.core.net.message.handshake.HelloMessage;
 import org.tron.core.net.messagehandler.BlockMsgHandler;
 import org.tron.core.net.messagehandler.ChainInventoryMsgHandler;
+import org.tron.core.net.messagehandler.CompactBlockMsgHandler;
 import org.tron.core.net.messagehandler.FetchInvDataMsgHandler;
 import org.tron.core.net.messagehandler.InventoryMsgHandler;
 import org.tron.core.net.messagehandler.PbftDataSyncHandler;
@@ -74,6 +75,9 @@ public class P2pEventHandlerImpl extends P2pEventHandler {
   @Autowired
   private PbftDataSyncHandler pbftDataSyncHandler;
 
+  @Autowired
+  private CompactBlockMsgHandler compactBlockMsgHandler;
+
   @Autowired
   private HandshakeService handshakeService;
 
@@ -201,6 +205,11 @@ public class P2pEventHandlerImpl extends P2pEventHandler {
         case PBFT_COMMIT_MSG:
           pbftDataSyncHandler.processMessage(peer, msg);
           break;
+        case COMPACT_BLOCK:
+        case FETCH_BLOCK_TRXS:
+        case BLOCK_TRXS:
+          compactBlockMsgHandler.processMessage(peer, msg);
+          break;
         default:
           throw new P2pException(P2pException.TypeEnum.NO_SUCH_MESSAGE, msg.getType().toString());
       }
@@ -5,6 +5,7 @@ import static org.tron.core.exception.BadBlockException.TypeEnum.CALC_MERKLE_ROO
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterables;
 import io.prometheus.client.Histogram;
 import java.util.Collection;
 import java.util.List;
@@ -203,6 +204,11 @@ public class TronNetDelegate {
     return false;
   }
 
+  public Iterable<TransactionCapsule> getPoolTransactions() {
+    return Iterables.concat(dbManager.getPendingTransactions(),
+        dbManager.getRePushTransactions(), dbManager.getCandidateTransactions());
+  }
+
   public Message getData(Sha256Hash hash, InventoryType type) throws P2pException {
     try {
       switch (type) {
@@ -331,6 +337,24 @@ public class TronNetDelegate {
     }
   }
 
+  /**
+   * Computes the state independent parts of the block validation ahead of time: the block id,
+   * the merkle root and the witness signer.
+   */
+  public void preValidate(BlockCapsule block) {
+    block.getBlockId();
+    block.calcMerkleRoot();
+    try {
+      block.recoverWitnessSigner();
+    } catch (Exception e) {
+      logger.debug("Recover witness of block {} failed: {}", block.getNum(), e.getMessage());
+    }
+  }
+
+  public void recoverSigners(BlockCapsule block) throws InterruptedException {
+    dbManager.recoverTransactionSigners(block.getTransactions());
+  }
+
   public boolean validBlock(BlockCapsule block) throws P2pException {
     long time = System.currentTimeMillis();
     if (block.getTimeStamp() - time > timeout) {
@@ -6,6 +6,9 @@ import org.tron.core.exception.P2pException;
 import org.tron.core.metrics.MetricsKey;
 import org.tron.core.metrics.MetricsUtil;
 import org.tron.core.net.message.adv.BlockMessage;
+import org.tron.core.net.message.adv.BlockTransactionsMessage;
+import org.tron.core.net.message.adv.CompactBlockMessage;
+import org.tron.core.net.message.adv.FetchBlockTransactionsMessage;
 import org.tron.core.net.message.adv.FetchInvDataMessage;
 import org.tron.core.net.message.adv.InventoryMessage;
 import org.tron.core.net.message.adv.TransactionMessage;
@@ -73,6 +76,12 @@ public class TronMessageFactory {
         return new ChainInventoryMessage(packed);
       case PBFT_COMMIT_MSG:
         return new PbftCommitMessage(packed);
+      case COMPACT_BLOCK:
+        return new CompactBlockMessage(packed);
+      case FETCH_BLOCK_TRXS:
+        return new FetchBlockTransactionsMessage(packed);
+      case BLOCK_TRXS:
+        return new BlockTransactionsMessage(packed);
       default:
         throw new P2pException(P2pException.TypeEnum.NO_SUCH_MESSAGE,
             receivedTypes.toString() + DATA_LEN + packed.length);
@@ -0,0 +1,54 @@
+package org.tron.core.net.message.adv;
+
+import java.util.List;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.net.message.MessageTypes;
+import org.tron.core.net.message.TronMessage;
+import org.tron.protos.Protocol.BlockTransactions;
+import org.tron.protos.Protocol.Transaction;
+
+public class BlockTransactionsMessage extends TronMessage {
+
+  private BlockTransactions blockTransactions;
+
+  public BlockTransactionsMessage(byte[] data) throws Exception {
+    super(data);
+    this.type = MessageTypes.BLOCK_TRXS.asByte();
+    this.blockTransactions = BlockTransactions.parseFrom(getCodedInputStream(data));
+    if (isFilter()) {
+      compareBytes(data, blockTransactions.toByteArray());
+      TransactionCapsule.validContractProto(blockTransactions.getTransactionsList());
+    }
+  }
+
+  public BlockTransactionsMessage(BlockId blockId, List<Transaction> transactions) {
+    this.blockTransactions = BlockTransactions.newBuilder()
+        .setBlockId(blockId.getByteString())
+        .addAllTransactions(transactions)
+        .build();
+    this.type = MessageTypes.BLOCK_TRXS.asByte();
+    this.data = blockTransactions.toByteArray();
+  }
+
+  public BlockId getBlockId() {
+    return new BlockId(Sha256Hash.wrap(blockTransactions.getBlockId()));
+  }
+
+  public List<Transaction> getTransactions() {
+    return blockTransactions.getTransactionsList();
+  }
+
+  @Override
+  public Class<?> getAnswerMessage() {
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return new StringBuilder().append(super.toString()).append(getBlockId().getString())
+        .append(", trx size: ").append(blockTransactions.getTransactionsCount()).append("\n")
+        .toString();
+  }
+}
@@ -0,0 +1,86 @@
+package org.tron.core.net.message.adv;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.ByteBuffer;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.net.message.MessageTypes;
+import org.tron.core.net.message.TronMessage;
+import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.CompactBlock;
+import org.tron.protos.Protocol.CompactBlock.CompactTransaction;
+
+public class CompactBlockMessage extends TronMessage {
+
+  private CompactBlock compactBlock;
+
+  private BlockId blockId;
+
+  public CompactBlockMessage(byte[] data) throws Exception {
+    super(data);
+    this.type = MessageTypes.COMPACT_BLOCK.asByte();
+    this.compactBlock = CompactBlock.parseFrom(getCodedInputStream(data));
+    if (isFilter()) {
+      compareBytes(data, compactBlock.toByteArray());
+    }
+    this.blockId = new BlockCapsule(Block.newBuilder()
+        .setBlockHeader(compactBlock.getBlockHeader()).build()).getBlockId();
+  }
+
+  public CompactBlockMessage(BlockCapsule block) {
+    this.blockId = block.getBlockId();
+    HashFunction hash = shortIdHash(blockId);
+    CompactBlock.Builder builder = CompactBlock.newBuilder()
+        .setBlockHeader(block.getInstance().getBlockHeader());
+    for (TransactionCapsule trx : block.getTransactions()) {
+      builder.addTransactions(CompactTransaction.newBuilder()
+          .setShortId(shortId(hash, trx.getTransactionId()))
+          .addAllRet(trx.getInstance().getRetList()));
+    }
+    this.compactBlock = builder.build();
+    this.type = MessageTypes.COMPACT_BLOCK.asByte();
+    this.data = compactBlock.toByteArray();
+  }
+
+  /**
+   * SipHash keyed by the block hash, so the short ids of a block can not be collided in
+   * advance.
+   */
+  public static HashFunction shortIdHash(BlockId blockId) {
+    ByteBuffer key = ByteBuffer.wrap(blockId.getBytes());
+    // the first 8 bytes are the block number
+    return Hashing.sipHash24(key.getLong(8), key.getLong(16));
+  }
+
+  public static long shortId(HashFunction hash, Sha256Hash trxId) {
+    return hash.hashBytes(trxId.getBytes()).asLong();
+  }
+
+  public BlockId getBlockId() {
+    return blockId;
+  }
+
+  public CompactBlock getCompactBlock() {
+    return compactBlock;
+  }
+
+  @Override
+  public Sha256Hash getMessageId() {
+    return blockId;
+  }
+
+  @Override
+  public Class<?> getAnswerMessage() {
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return new StringBuilder().append(super.toString()).append(blockId.getString())
+        .append(", trx size: ").append(compactBlock.getTransactionsCount()).append("\n")
+        .toString();
+  }
+}
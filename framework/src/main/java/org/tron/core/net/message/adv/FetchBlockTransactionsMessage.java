@@ -0,0 +1,50 @@
+package org.tron.core.net.message.adv;
+
+import java.util.List;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.net.message.MessageTypes;
+import org.tron.core.net.message.TronMessage;
+import org.tron.protos.Protocol.BlockTransactionsRequest;
+
+public class FetchBlockTransactionsMessage extends TronMessage {
+
+  private BlockTransactionsRequest request;
+
+  public FetchBlockTransactionsMessage(byte[] data) throws Exception {
+    super(data);
+    this.type = MessageTypes.FETCH_BLOCK_TRXS.asByte();
+    this.request = BlockTransactionsRequest.parseFrom(getCodedInputStream(data));
+    if (isFilter()) {
+      compareBytes(data, request.toByteArray());
+    }
+  }
+
+  public FetchBlockTransactionsMessage(BlockId blockId, List<Integer> indexes) {
+    this.request = BlockTransactionsRequest.newBuilder()
+        .setBlockId(blockId.getByteString())
+        .addAllIndexes(indexes)
+        .build();
+    this.type = MessageTypes.FETCH_BLOCK_TRXS.asByte();
+    this.data = request.toByteArray();
+  }
+
+  public BlockId getBlockId() {
+    return new BlockId(Sha256Hash.wrap(request.getBlockId()));
+  }
+
+  public List<Integer> getIndexes() {
+    return request.getIndexesList();
+  }
+
+  @Override
+  public Class<?> getAnswerMessage() {
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return new StringBuilder().append(super.toString()).append(getBlockId().getString())
+        .append(", trx size: ").append(request.getIndexesCount()).append("\n").toString();
+  }
+}
@@ -61,6 +61,7 @@ public class HelloMessage extends TronMessage {
     builder.setNodeType(chainBaseManager.getNodeType().getType());
     builder.setLowestBlockNum(chainBaseManager.isLiteNode()
         ? chainBaseManager.getLowestBlockNum() : 0);
+    builder.setCompactBlock(Args.getInstance().isCompactBlock());
 
     this.helloMessage = builder.build();
     this.type = MessageTypes.P2P_HELLO.asByte();
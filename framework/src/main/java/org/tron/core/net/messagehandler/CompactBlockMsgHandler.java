@@ -0,0 +1,43 @@
+package org.tron.core.net.messagehandler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tron.core.exception.P2pException;
+import org.tron.core.exception.P2pException.TypeEnum;
+import org.tron.core.net.message.TronMessage;
+import org.tron.core.net.message.adv.BlockTransactionsMessage;
+import org.tron.core.net.message.adv.CompactBlockMessage;
+import org.tron.core.net.message.adv.FetchBlockTransactionsMessage;
+import org.tron.core.net.peer.PeerConnection;
+import org.tron.core.net.service.compactblock.CompactBlockService;
+
+@Slf4j(topic = "net")
+@Component
+public class CompactBlockMsgHandler implements TronMsgHandler {
+
+  @Autowired
+  private CompactBlockService compactBlockService;
+
+  @Override
+  public void processMessage(PeerConnection peer, TronMessage msg) throws P2pException {
+    if (!peer.isCompactBlockPeer()) {
+      throw new P2pException(TypeEnum.BAD_MESSAGE, "compact block not negotiated");
+    }
+    switch (msg.getType()) {
+      case COMPACT_BLOCK:
+        compactBlockService.processCompactBlock(peer, (CompactBlockMessage) msg);
+        break;
+      case FETCH_BLOCK_TRXS:
+        compactBlockService.processFetchBlockTransactions(peer,
+            (FetchBlockTransactionsMessage) msg);
+        break;
+      case BLOCK_TRXS:
+        compactBlockService.processBlockTransactions(peer, (BlockTransactionsMessage) msg);
+        break;
+      default:
+        throw new P2pException(TypeEnum.NO_SUCH_MESSAGE, msg.getType().toString());
+    }
+  }
+
+}
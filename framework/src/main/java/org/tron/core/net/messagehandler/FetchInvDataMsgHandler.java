@@ -28,6 +28,7 @@ import org.tron.core.net.message.pbft.PbftCommitMessage;
 import org.tron.core.net.peer.Item;
 import org.tron.core.net.peer.PeerConnection;
 import org.tron.core.net.service.adv.AdvService;
+import org.tron.core.net.service.compactblock.CompactBlockService;
 import org.tron.core.net.service.sync.SyncService;
 import org.tron.protos.Protocol.Inventory.InventoryType;
 import org.tron.protos.Protocol.PBFTMessage.Raw;
@@ -49,6 +50,8 @@ public class FetchInvDataMsgHandler implements TronMsgHandler {
   private AdvService advService;
   @Autowired
   private ConsensusDelegate consensusDelegate;
+  @Autowired
+  private CompactBlockService compactBlockService;
 
   @Override
   public void processMessage(PeerConnection peer, TronMessage msg) throws P2pException {
@@ -80,7 +83,12 @@ public class FetchInvDataMsgHandler implements TronMsgHandler {
           peer.setBlockBothHave(blockId);
         }
         sendPbftCommitMessage(peer, ((BlockMessage) message).getBlockCapsule());
-        peer.sendMessage(message);
+        if (isCompact(peer, item)) {
+          peer.sendMessage(compactBlockService.getCompactBlock(
+              ((BlockMessage) message).getBlockCapsule()));
+        } else {
+          peer.sendMessage(message);
+        }
       } else {
         transactions.add(((TransactionMessage) message).getTransactionCapsule().getInstance());
         size += ((TransactionMessage) message).getTransactionCapsule().getInstance()
@@ -97,6 +105,12 @@ public class FetchInvDataMsgHandler implements TronMsgHandler {
     }
   }
 
+  // only the new blocks, the synced ones are not in the pool of the peer
+  private boolean isCompact(PeerConnection peer, Item item) {
+    return peer.isCompactBlockPeer() && !peer.isNeedSyncFromUs()
+        && peer.getAdvInvSpread().getIfPresent(item) != null;
+  }
+
   private void sendPbftCommitMessage(PeerConnection peer, BlockCapsule blockCapsule) {
     try {
       if (!tronNetDelegate.allowPBFT() || peer.isSyncFinish()) {
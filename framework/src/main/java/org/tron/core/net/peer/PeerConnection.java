@@ -40,6 +40,7 @@ import org.tron.core.net.message.handshake.HelloMessage;
 import org.tron.core.net.message.keepalive.PingMessage;
 import org.tron.core.net.message.keepalive.PongMessage;
 import org.tron.core.net.service.adv.AdvService;
+import org.tron.core.net.service.compactblock.PartialBlock;
 import org.tron.core.net.service.statistics.NodeStatistics;
 import org.tron.core.net.service.statistics.PeerStatistics;
 import org.tron.core.net.service.statistics.TronStatsManager;
@@ -118,6 +119,9 @@ public class PeerConnection {
   @Getter
   private Map<Item, Long> advInvRequest = new ConcurrentHashMap<>();
 
+  @Getter
+  private Map<BlockId, PartialBlock> partialBlocks = new ConcurrentHashMap<>();
+
   @Setter
   private BlockId fastForwardBlock;
 
@@ -166,6 +170,12 @@ public class PeerConnection {
     this.blockBothHaveUpdateTime = System.currentTimeMillis();
   }
 
+  public boolean isCompactBlockPeer() {
+    return helloMessageSend != null && helloMessageReceive != null
+        && helloMessageSend.getInstance().getCompactBlock()
+        && helloMessageReceive.getInstance().getCompactBlock();
+  }
+
   public boolean isIdle() {
     return advInvRequest.isEmpty() && syncBlockRequested.isEmpty() && syncChainRequested == null;
   }
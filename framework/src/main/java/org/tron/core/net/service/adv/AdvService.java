@@ -13,10 +13,9 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -48,6 +47,7 @@ public class AdvService {
   private final int MAX_TRX_CACHE_SIZE = 50_000;
   private final int MAX_BLOCK_CACHE_SIZE = 10;
   private final int MAX_SPREAD_SIZE = 1_000;
+  private final long RETRY_INTERVAL = 30;
 
   @Autowired
   private TronNetDelegate tronNetDelegate;
@@ -73,9 +73,14 @@ public class AdvService {
       .maximumSize(MAX_BLOCK_CACHE_SIZE).expireAfterWrite(1, TimeUnit.MINUTES)
       .recordStats().build();
 
-  private ScheduledExecutorService spreadExecutor = Executors.newSingleThreadScheduledExecutor();
+  private long advMaxDelay = Args.getInstance().getAdvMaxDelay();
+  private int advMaxBatch = Args.getInstance().getAdvMaxBatch();
 
-  private ScheduledExecutorService fetchExecutor = Executors.newSingleThreadScheduledExecutor();
+  private AdvWorker spreadWorker = new AdvWorker("adv-spread", this::consumerInvToSpread,
+      () -> invToSpread.size(), advMaxDelay, advMaxBatch, RETRY_INTERVAL);
+
+  private AdvWorker fetchWorker = new AdvWorker("adv-fetch", this::consumerInvToFetch,
+      () -> invToFetch.size(), advMaxDelay, advMaxBatch, RETRY_INTERVAL);
 
   @Getter
   private MessageCount trxCount = new MessageCount();
@@ -83,27 +88,13 @@ public class AdvService {
   private boolean fastForward = Args.getInstance().isFastForward();
 
   public void init() {
-
-    spreadExecutor.scheduleWithFixedDelay(() -> {
-      try {
-        consumerInvToSpread();
-      } catch (Exception exception) {
-        logger.error("Spread thread error", exception);
-      }
-    }, 100, 30, TimeUnit.MILLISECONDS);
-
-    fetchExecutor.scheduleWithFixedDelay(() -> {
-      try {
-        consumerInvToFetch();
-      } catch (Exception exception) {
-        logger.error("Fetch thread error", exception);
-      }
-    }, 100, 30, TimeUnit.MILLISECONDS);
+    spreadWorker.start();
+    fetchWorker.start();
   }
 
   public void close() {
-    spreadExecutor.shutdown();
-    fetchExecutor.shutdown();
+    spreadWorker.stop();
+    fetchWorker.stop();
   }
 
   public synchronized void addInvToCache(Item item) {
@@ -133,11 +124,17 @@ public class AdvService {
 
     if (InventoryType.BLOCK.equals(item.getType())) {
       consumerInvToFetch();
+    } else {
+      fetchWorker.signal();
     }
 
     return true;
   }
 
+  public Map<Item, Message> getTrxCache() {
+    return trxCache.asMap();
+  }
+
   public Message getMessage(Item item) {
     if (item.getType() == InventoryType.TRX) {
       return trxCache.getIfPresent(item);
@@ -217,6 +214,8 @@ public class AdvService {
 
     if (InventoryType.BLOCK.equals(item.getType())) {
       consumerInvToSpread();
+    } else {
+      spreadWorker.signal();
     }
   }
 
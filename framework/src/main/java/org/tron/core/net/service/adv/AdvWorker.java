@@ -0,0 +1,98 @@
+package org.tron.core.net.service.adv;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.es.ExecutorServiceManager;
+
+/**
+ * Runs a consumer of the inventory on its own thread when new items are signaled, instead of
+ * on a fixed delay. The first signal is held for up to maxDelay ms so the items arriving
+ * meanwhile go out in the same messages, unless maxBatch of them are already waiting. While
+ * items are left after a run, e.g. no peer was idle, it runs again every retryInterval ms;
+ * with nothing left it sleeps until the next signal.
+ */
+@Slf4j(topic = "net")
+public class AdvWorker {
+
+  private final String name;
+  private final Runnable consumer;
+  private final IntSupplier waiting;
+  private final long maxDelay;
+  private final int maxBatch;
+  private final long retryInterval;
+
+  private final Object lock = new Object();
+  private boolean signaled;
+  private boolean stopped;
+  private ExecutorService executor;
+
+  public AdvWorker(String name, Runnable consumer, IntSupplier waiting, long maxDelay,
+      int maxBatch, long retryInterval) {
+    this.name = name;
+    this.consumer = consumer;
+    this.waiting = waiting;
+    this.maxDelay = maxDelay;
+    this.maxBatch = maxBatch;
+    this.retryInterval = retryInterval;
+  }
+
+  public void start() {
+    executor = ExecutorServiceManager.newSingleThreadExecutor(name);
+    executor.submit(this::loop);
+  }
+
+  public void stop() {
+    synchronized (lock) {
+      stopped = true;
+      lock.notifyAll();
+    }
+    ExecutorServiceManager.shutdownAndAwaitTermination(executor, name);
+  }
+
+  public void signal() {
+    synchronized (lock) {
+      // the worker only waits for the first signal, or for a full batch
+      if (!signaled || waiting.getAsInt() >= maxBatch) {
+        signaled = true;
+        lock.notifyAll();
+      }
+    }
+  }
+
+  private void loop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        if (!await()) {
+          return;
+        }
+        consumer.run();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        logger.error("{} error", name, e);
+      }
+    }
+  }
+
+  /**
+   * waits for the next run, false once stopped.
+   */
+  private boolean await() throws InterruptedException {
+    synchronized (lock) {
+      if (!signaled && !stopped) {
+        lock.wait(waiting.getAsInt() > 0 ? retryInterval : 0);
+      }
+      if (signaled) {
+        long deadline = System.currentTimeMillis() + maxDelay;
+        long delay = maxDelay;
+        while (delay > 0 && !stopped && waiting.getAsInt() < maxBatch) {
+          lock.wait(delay);
+          delay = deadline - System.currentTimeMillis();
+        }
+      }
+      signaled = false;
+      return !stopped;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package org.tron.core.net.service.compactblock;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tron.common.overlay.message.Message;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.Metrics;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.exception.P2pException;
+import org.tron.core.exception.P2pException.TypeEnum;
+import org.tron.core.net.TronNetDelegate;
+import org.tron.core.net.message.adv.BlockMessage;
+import org.tron.core.net.message.adv.BlockTransactionsMessage;
+import org.tron.core.net.message.adv.CompactBlockMessage;
+import org.tron.core.net.message.adv.FetchBlockTransactionsMessage;
+import org.tron.core.net.message.adv.TransactionMessage;
+import org.tron.core.net.messagehandler.BlockMsgHandler;
+import org.tron.core.net.peer.Item;
+import org.tron.core.net.peer.PeerConnection;
+import org.tron.core.net.service.adv.AdvService;
+import org.tron.protos.Protocol.Inventory.InventoryType;
+import org.tron.protos.Protocol.Transaction;
+
+/**
+ * Rebuilds the blocks a peer relays as compact blocks from the transactions this node already
+ * has: the pending and the repush ones of the manager and the ones cached for broadcast. Only
+ * the transactions not found are fetched, a rebuilt block goes on as if the peer had sent it.
+ * It also serves the compact blocks and their transactions to the peers.
+ */
+@Slf4j(topic = "net")
+@Component
+public class CompactBlockService {
+
+  private static final String COMPLETE = "complete";
+  private static final String MISSING = "missing";
+  private static final String MISMATCH = "mismatch";
+  private static final int MAX_BLOCK_CACHE_SIZE = 10;
+
+  @Autowired
+  private TronNetDelegate tronNetDelegate;
+
+  @Autowired
+  private AdvService advService;
+
+  @Autowired
+  private BlockMsgHandler blockMsgHandler;
+
+  // made once for all the peers
+  private Cache<BlockId, CompactBlockMessage> compactBlockCache = CacheBuilder.newBuilder()
+      .maximumSize(MAX_BLOCK_CACHE_SIZE).expireAfterWrite(1, TimeUnit.MINUTES).build();
+
+  public CompactBlockMessage getCompactBlock(BlockCapsule block) {
+    try {
+      return compactBlockCache.get(block.getBlockId(), () -> new CompactBlockMessage(block));
+    } catch (ExecutionException e) {
+      return new CompactBlockMessage(block);
+    }
+  }
+
+  public void processFetchBlockTransactions(PeerConnection peer,
+      FetchBlockTransactionsMessage msg) throws P2pException {
+    Item item = new Item(msg.getBlockId(), InventoryType.BLOCK);
+    if (peer.getAdvInvSpread().getIfPresent(item) == null) {
+      throw new P2pException(TypeEnum.BAD_MESSAGE, "not spread inv: " + item);
+    }
+    Message message = advService.getMessage(item);
+    if (message == null) {
+      try {
+        message = tronNetDelegate.getData(msg.getBlockId(), InventoryType.BLOCK);
+      } catch (Exception e) {
+        throw new P2pException(TypeEnum.DB_ITEM_NOT_FOUND,
+            "Fetch item " + item + " failed. reason: " + e.getMessage());
+      }
+    }
+    List<Transaction> transactions = ((BlockMessage) message).getBlockCapsule().getInstance()
+        .getTransactionsList();
+    List<Transaction> fetched = new ArrayList<>();
+    for (int index : msg.getIndexes()) {
+      if (index < 0 || index >= transactions.size()) {
+        throw new P2pException(TypeEnum.BAD_MESSAGE, "trx index out of block: " + index);
+      }
+      fetched.add(transactions.get(index));
+    }
+    peer.sendMessage(new BlockTransactionsMessage(msg.getBlockId(), fetched));
+  }
+
+  public void processCompactBlock(PeerConnection peer, CompactBlockMessage msg)
+      throws P2pException {
+    Item item = new Item(msg.getBlockId(), InventoryType.BLOCK);
+    if (!peer.getAdvInvRequest().containsKey(item)
+        || peer.getPartialBlocks().containsKey(msg.getBlockId())) {
+      throw new P2pException(TypeEnum.BAD_MESSAGE, "no request");
+    }
+
+    PartialBlock partialBlock = new PartialBlock(msg);
+    tronNetDelegate.getPoolTransactions().forEach(trx ->
+        partialBlock.offer(trx.getTransactionId(), trx.getInstance()));
+    advService.getTrxCache().forEach((trxItem, message) ->
+        partialBlock.offer(trxItem.getHash(),
+            ((TransactionMessage) message).getTransactionCapsule().getInstance()));
+
+    int missing = partialBlock.seal().size();
+    logger.info("Receive compact block {} from {}, trx size: {}, missing: {}",
+        msg.getBlockId().getString(), peer.getInetSocketAddress(),
+        msg.getCompactBlock().getTransactionsCount(), missing);
+    if (missing == 0) {
+      Metrics.counterInc(MetricKeys.Counter.COMPACT_BLOCK, 1, COMPLETE);
+      complete(peer, partialBlock);
+    } else {
+      Metrics.counterInc(MetricKeys.Counter.COMPACT_BLOCK, 1, MISSING);
+      fetch(peer, partialBlock);
+    }
+  }
+
+  public void processBlockTransactions(PeerConnection peer, BlockTransactionsMessage msg)
+      throws P2pException {
+    PartialBlock partialBlock = peer.getPartialBlocks().remove(msg.getBlockId());
+    if (partialBlock == null) {
+      throw new P2pException(TypeEnum.BAD_MESSAGE, "no request");
+    }
+    partialBlock.fill(msg.getTransactions());
+    complete(peer, partialBlock);
+  }
+
+  private void complete(PeerConnection peer, PartialBlock partialBlock) throws P2pException {
+    BlockCapsule block = partialBlock.toBlock();
+    if (block == null) {
+      if (partialBlock.isFetchAll()) {
+        throw new P2pException(TypeEnum.BAD_BLOCK, "block " + partialBlock.getBlockId()
+            .getString() + " transactions do not match the merkle root");
+      }
+      Metrics.counterInc(MetricKeys.Counter.COMPACT_BLOCK, 1, MISMATCH);
+      logger.warn("Compact block {} from {} rebuilt with wrong transactions, fetch all",
+          partialBlock.getBlockId().getString(), peer.getInetSocketAddress());
+      partialBlock.refetchAll();
+      fetch(peer, partialBlock);
+      return;
+    }
+    blockMsgHandler.processMessage(peer, new BlockMessage(block));
+  }
+
+  private void fetch(PeerConnection peer, PartialBlock partialBlock) {
+    peer.getPartialBlocks().put(partialBlock.getBlockId(), partialBlock);
+    peer.sendMessage(new FetchBlockTransactionsMessage(partialBlock.getBlockId(),
+        partialBlock.getMissing()));
+  }
+}
@@ -0,0 +1,111 @@
+package org.tron.core.net.service.compactblock;
+
+import com.google.common.hash.HashFunction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.exception.P2pException;
+import org.tron.core.exception.P2pException.TypeEnum;
+import org.tron.core.net.message.adv.CompactBlockMessage;
+import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.CompactBlock;
+import org.tron.protos.Protocol.CompactBlock.CompactTransaction;
+import org.tron.protos.Protocol.Transaction;
+
+/**
+ * A block being rebuilt from a compact block: the transactions found by their short id, then
+ * the missing ones fetched from the peer.
+ */
+public class PartialBlock {
+
+  @Getter
+  private final BlockId blockId;
+  private final CompactBlock compactBlock;
+  private final HashFunction hash;
+  private final Transaction[] transactions;
+  // position of each short id, -1 if more transactions of the block have it
+  private final Map<Long, Integer> positions = new HashMap<>();
+  @Getter
+  private List<Integer> missing;
+  // the found transactions did not make the block, all are fetched
+  @Getter
+  private boolean fetchAll;
+
+  public PartialBlock(CompactBlockMessage message) {
+    this.blockId = message.getBlockId();
+    this.compactBlock = message.getCompactBlock();
+    this.hash = CompactBlockMessage.shortIdHash(blockId);
+    this.transactions = new Transaction[compactBlock.getTransactionsCount()];
+    for (int i = 0; i < transactions.length; i++) {
+      positions.merge(compactBlock.getTransactions(i).getShortId(), i, (a, b) -> -1);
+    }
+  }
+
+  /**
+   * takes the transaction if the block has it.
+   */
+  public void offer(Sha256Hash trxId, Transaction trx) {
+    Integer position = positions.get(CompactBlockMessage.shortId(hash, trxId));
+    if (position == null || position < 0 || transactions[position] != null) {
+      return;
+    }
+    CompactTransaction compact = compactBlock.getTransactions(position);
+    transactions[position] = trx.toBuilder().clearRet().addAllRet(compact.getRetList()).build();
+  }
+
+  /**
+   * the positions of the transactions not found, to fetch.
+   */
+  public List<Integer> seal() {
+    missing = new ArrayList<>();
+    for (int i = 0; i < transactions.length; i++) {
+      if (transactions[i] == null) {
+        missing.add(i);
+      }
+    }
+    return missing;
+  }
+
+  public void fill(List<Transaction> fetched) throws P2pException {
+    if (missing == null || fetched.size() != missing.size()) {
+      throw new P2pException(TypeEnum.BAD_MESSAGE, "block " + blockId.getString()
+          + " transactions not requested");
+    }
+    for (int i = 0; i < fetched.size(); i++) {
+      transactions[missing.get(i)] = fetched.get(i);
+    }
+    missing = new ArrayList<>();
+  }
+
+  /**
+   * drops the found transactions, a short id matched a transaction with another content.
+   */
+  public List<Integer> refetchAll() {
+    fetchAll = true;
+    for (int i = 0; i < transactions.length; i++) {
+      transactions[i] = null;
+    }
+    return seal();
+  }
+
+  /**
+   * the block, null if its transactions do not match the merkle root of the header.
+   */
+  public BlockCapsule toBlock() {
+    Block.Builder builder = Block.newBuilder().setBlockHeader(compactBlock.getBlockHeader());
+    for (Transaction trx : transactions) {
+      builder.addTransactions(trx);
+    }
+    BlockCapsule block = new BlockCapsule(builder.build());
+    if (!block.calcMerkleRoot().getByteString()
+        .equals(compactBlock.getBlockHeader().getRawData().getTxTrieRoot())) {
+      return null;
+    }
+    return block;
+  }
+}
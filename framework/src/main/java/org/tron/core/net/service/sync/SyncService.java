@@ -4,6 +4,8 @@ import static org.tron.core.config.Parameter.NetConstants.MAX_BLOCK_FETCH_PER_PE
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.prometheus.client.Histogram;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -11,13 +13,19 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
 import org.tron.common.utils.Pair;
 import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.capsule.BlockCapsule.BlockId;
@@ -59,6 +67,17 @@ public class SyncService {
   private ScheduledExecutorService blockHandleExecutor = Executors
       .newSingleThreadScheduledExecutor();
 
+  /*
+   * Blocks waiting for their turn are pre-validated in two stages: the block level checks,
+   * then the recovery of the transaction signers. Both only warm up caches, when a queue is
+   * full the block is left to the serial validation.
+   */
+  private final ExecutorService preValidateExecutor = newStageExecutor(
+      Args.getInstance().getSyncPreValidateQueueSize(), "sync-pre-validate");
+
+  private final ExecutorService signRecoverExecutor = newStageExecutor(
+      Args.getInstance().getSyncSignRecoverQueueSize(), "sync-sign-recover");
+
   private volatile boolean handleFlag = false;
 
   @Setter
@@ -93,6 +112,54 @@ public class SyncService {
   public void close() {
     fetchExecutor.shutdown();
     blockHandleExecutor.shutdown();
+    if (preValidateExecutor != null) {
+      preValidateExecutor.shutdownNow();
+    }
+    if (signRecoverExecutor != null) {
+      signRecoverExecutor.shutdownNow();
+    }
+  }
+
+  private static ExecutorService newStageExecutor(int queueSize, String name) {
+    if (queueSize <= 0) {
+      return null;
+    }
+    return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(queueSize),
+        new ThreadFactoryBuilder().setNameFormat(name + "-%d").setDaemon(true).build(),
+        new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  private void preValidate(BlockCapsule block) {
+    if (preValidateExecutor == null) {
+      return;
+    }
+    preValidateExecutor.execute(() -> {
+      Histogram.Timer timer = Metrics.histogramStartTimer(
+          MetricKeys.Histogram.SYNC_STAGE_LATENCY, MetricLabels.Histogram.SYNC_PRE_VALIDATE);
+      try {
+        tronNetDelegate.preValidate(block);
+      } finally {
+        Metrics.histogramObserve(timer);
+      }
+      if (signRecoverExecutor != null) {
+        signRecoverExecutor.execute(() -> recoverSigners(block));
+      }
+    });
+  }
+
+  private void recoverSigners(BlockCapsule block) {
+    Histogram.Timer timer = Metrics.histogramStartTimer(
+        MetricKeys.Histogram.SYNC_STAGE_LATENCY, MetricLabels.Histogram.SYNC_SIGN_RECOVER);
+    try {
+      tronNetDelegate.recoverSigners(block);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      logger.debug("Recover signers of block {} failed: {}", block.getNum(), e.getMessage());
+    } finally {
+      Metrics.histogramObserve(timer);
+    }
   }
 
   public void startSync(PeerConnection peer) {
@@ -130,6 +197,7 @@ public class SyncService {
     synchronized (blockJustReceived) {
       blockJustReceived.put(blockMessage, peer);
     }
+    preValidate(blockMessage.getBlockCapsule());
     handleFlag = true;
     if (peer.isIdle()) {
       if (peer.getRemainNum() > 0
@@ -296,6 +364,8 @@ public class SyncService {
     boolean flag = true;
     boolean attackFlag = false;
     BlockId blockId = block.getBlockId();
+    Histogram.Timer timer = Metrics.histogramStartTimer(
+        MetricKeys.Histogram.SYNC_STAGE_LATENCY, MetricLabels.Histogram.SYNC_APPLY);
     try {
       tronNetDelegate.validSignature(block);
       tronNetDelegate.processBlock(block, true);
@@ -309,6 +379,8 @@ public class SyncService {
     } catch (Exception e) {
       logger.error("Process sync block {} failed", blockId.getString(), e);
       flag = false;
+    } finally {
+      Metrics.histogramObserve(timer);
     }
 
     if (attackFlag) {
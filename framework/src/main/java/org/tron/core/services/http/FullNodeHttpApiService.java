@@ -284,6 +284,8 @@ public class FullNodeHttpApiService implements Service {
   @Autowired
   private GetPendingSizeServlet getPendingSizeServlet;
   @Autowired
+  private GetPendingPoolServlet getPendingPoolServlet;
+  @Autowired
   private GetEnergyPricesServlet getEnergyPricesServlet;
   @Autowired
   private GetBandwidthPricesServlet getBandwidthPricesServlet;
@@ -550,6 +552,7 @@ public class FullNodeHttpApiService implements Service {
       context.addServlet(new ServletHolder(getTransactionListFromPendingServlet),
           "/wallet/gettransactionlistfrompending");
       context.addServlet(new ServletHolder(getPendingSizeServlet), "/wallet/getpendingsize");
+      context.addServlet(new ServletHolder(getPendingPoolServlet), "/wallet/getpendingpool");
       context.addServlet(new ServletHolder(getEnergyPricesServlet), "/wallet/getenergyprices");
       context.addServlet(new ServletHolder(getBandwidthPricesServlet),
           "/wallet/getbandwidthprices");
@@ -0,0 +1,74 @@
+package org.tron.core.services.http;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.google.protobuf.ByteString;
+import java.util.HashMap;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.StringUtil;
+import org.tron.core.db.Manager;
+import org.tron.core.db.TransactionPool;
+
+/**
+ * The composition of the transaction pool: the size of each queue, the number of accounts and
+ * the accounts with the most transactions.
+ */
+@Component
+@Slf4j(topic = "API")
+public class GetPendingPoolServlet extends RateLimiterServlet {
+
+  private static final int TOP_ACCOUNTS = 10;
+
+  @Autowired
+  private Manager manager;
+
+  protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+    try {
+      response.getWriter().println(getPool(Util.getVisible(request)).toJSONString());
+    } catch (Exception e) {
+      Util.processError(e, response);
+    }
+  }
+
+  protected void doPost(HttpServletRequest request, HttpServletResponse response) {
+    try {
+      PostParams params = PostParams.getPostParams(request);
+      response.getWriter().println(getPool(params.isVisible()).toJSONString());
+    } catch (Exception e) {
+      Util.processError(e, response);
+    }
+  }
+
+  private JSONObject getPool(boolean visible) {
+    TransactionPool pending = manager.getPendingTransactions();
+    TransactionPool rePush = manager.getRePushTransactions();
+    Map<ByteString, Integer> owners = new HashMap<>(rePush.getOwnerCounts());
+    pending.getOwnerCounts().forEach((owner, count) -> owners.merge(owner, count, Integer::sum));
+
+    JSONArray topAccounts = new JSONArray();
+    owners.entrySet().stream()
+        .sorted(Map.Entry.<ByteString, Integer>comparingByValue().reversed())
+        .limit(TOP_ACCOUNTS)
+        .forEach(e -> {
+          JSONObject account = new JSONObject();
+          account.put("address", visible ? StringUtil.encode58Check(e.getKey().toByteArray())
+              : ByteArray.toHexString(e.getKey().toByteArray()));
+          account.put("count", e.getValue());
+          topAccounts.add(account);
+        });
+
+    JSONObject pool = new JSONObject();
+    pool.put("pendingSize", pending.size());
+    pool.put("rePushSize", rePush.size());
+    pool.put("poppedSize", manager.getPoppedTransactions().size());
+    pool.put("accounts", owners.size());
+    pool.put("topAccounts", topAccounts);
+    return pool;
+  }
+}
@@ -29,7 +29,7 @@ public class GetTransactionInfoByBlockNumServlet extends RateLimiterServlet {
       transactionInfo = transactionInfo.toBuilder().clearLog().addAllLog(newLogList).build();
     }
 
-    return JSONObject.parseObject(JsonFormat.printToString(transactionInfo, visible));
+    return JsonFormat.printToJSON(transactionInfo, visible);
   }
 
   private String printTransactionInfoList(TransactionInfoList list, boolean selfType) {
@@ -30,6 +30,8 @@ package org.tron.core.services.http;
 */
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Descriptors;
@@ -116,6 +118,26 @@ public class JsonFormat {
 
   protected static void print(Message message, JsonGenerator generator, boolean selfType)
       throws IOException {
+    Map<FieldDescriptor, Object> fieldsToPrint = fieldsToPrint(message);
+
+    //for (Iterator<Map.Entry<FieldDescriptor, Object>> iter = message.getAllFields().entrySet()
+    for (Iterator<Map.Entry<FieldDescriptor, Object>> iter = fieldsToPrint.entrySet()
+        .iterator(); iter.hasNext(); ) {
+      Map.Entry<FieldDescriptor, Object> field = iter.next();
+      printField(field.getKey(), field.getValue(), generator, selfType);
+      if (iter.hasNext()) {
+        generator.print(",");
+      }
+    }
+
+    // do not print unknown fields
+    // if (message.getUnknownFields().asMap().size() > 0) {
+    //   generator.print(", ");
+    // }
+    // printUnknownFields(message.getUnknownFields(), generator, selfType);
+  }
+
+  private static Map<FieldDescriptor, Object> fieldsToPrint(Message message) {
     Map<FieldDescriptor, Object> fieldsToPrint = new TreeMap<>(message.getAllFields());
     if (ALWAYS_OUTPUT_DEFAULT_VALUE_FIELDS && MESSAGES.contains(message.getClass())) {
       for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
@@ -137,22 +159,7 @@ public class JsonFormat {
         }
       }
     }
-
-    //for (Iterator<Map.Entry<FieldDescriptor, Object>> iter = message.getAllFields().entrySet()
-    for (Iterator<Map.Entry<FieldDescriptor, Object>> iter = fieldsToPrint.entrySet()
-        .iterator(); iter.hasNext(); ) {
-      Map.Entry<FieldDescriptor, Object> field = iter.next();
-      printField(field.getKey(), field.getValue(), generator, selfType);
-      if (iter.hasNext()) {
-        generator.print(",");
-      }
-    }
-
-    // do not print unknown fields
-    // if (message.getUnknownFields().asMap().size() > 0) {
-    //   generator.print(", ");
-    // }
-    // printUnknownFields(message.getUnknownFields(), generator, selfType);
+    return fieldsToPrint;
   }
 
   /**
@@ -168,6 +175,85 @@ public class JsonFormat {
     }
   }
 
+  /**
+   * Builds the same object as {@code JSONObject.parseObject(printToString(message, selfType))}
+   * without printing the text and parsing it back. Every value gets the type fastjson would
+   * have parsed it into, so serializing the result gives the same output.
+   */
+  public static JSONObject printToJSON(Message message, boolean selfType) {
+    JSONObject json = new JSONObject();
+    for (Map.Entry<FieldDescriptor, Object> field : fieldsToPrint(message).entrySet()) {
+      FieldDescriptor descriptor = field.getKey();
+      if (descriptor.isRepeated()) {
+        JSONArray array = new JSONArray();
+        for (Object value : (List<?>) field.getValue()) {
+          array.add(toJSONValue(descriptor, value, selfType));
+        }
+        json.put(fieldName(descriptor), array);
+      } else {
+        json.put(fieldName(descriptor), toJSONValue(descriptor, field.getValue(), selfType));
+      }
+    }
+    return json;
+  }
+
+  private static Object toJSONValue(FieldDescriptor field, Object value, boolean selfType) {
+    switch (field.getType()) {
+      case INT32:
+      case SINT32:
+      case SFIXED32:
+      case BOOL:
+        return value;
+      case INT64:
+      case SINT64:
+      case SFIXED64:
+        return toJSONNumber((Long) value);
+      case UINT32:
+      case FIXED32:
+        return toJSONNumber((Integer) value & 0x00000000FFFFFFFFL);
+      case UINT64:
+      case FIXED64:
+        long unsigned = (Long) value;
+        return unsigned >= 0 ? toJSONNumber(unsigned) : new BigInteger(unsignedToString(unsigned));
+      case FLOAT:
+      case DOUBLE:
+        // not on any hot path, leave the number format to fastjson
+        return JSON.parse(value.toString());
+      case STRING:
+        return toJSONString(escapeText((String) value));
+      case BYTES:
+        return toJSONString(escapeBytes((ByteString) value, field.getFullName(), selfType));
+      case ENUM:
+        return ((EnumValueDescriptor) value).getName();
+      case MESSAGE:
+      case GROUP:
+        return printToJSON((Message) value, selfType);
+      default:
+        return null;
+    }
+  }
+
+  private static Object toJSONNumber(long value) {
+    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+      return (int) value;
+    }
+    return value;
+  }
+
+  /**
+   * @param text the content of a JSON string literal as the printer writes it
+   * @return the string fastjson would parse from that literal
+   */
+  private static String toJSONString(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\\' || c < 0x20 || Character.isSurrogate(c)) {
+        return JSON.parseObject("{\"key\":\"" + text + "\"}").getString("key");
+      }
+    }
+    return text;
+  }
+
   /**
    * Like {@code print()}, but writes directly to a {@code String} and returns it.
    */
@@ -283,30 +369,29 @@ public class JsonFormat {
     printSingleField(field, value, generator, selfType);
   }
 
-  private static void printSingleField(FieldDescriptor field,
-      Object value, JsonGenerator generator, boolean selfType) throws IOException {
+  private static String fieldName(FieldDescriptor field) {
     if (field.isExtension()) {
-      generator.print("\"");
       // We special-case MessageSet elements for compatibility with proto1.
       if (field.getContainingType().getOptions().getMessageSetWireFormat()
           && (field.getType() == FieldDescriptor.Type.MESSAGE) && (field.isOptional())
           // object equality
           && (field.getExtensionScope() == field.getMessageType())) {
-        generator.print(field.getMessageType().getFullName());
-      } else {
-        generator.print(field.getFullName());
+        return field.getMessageType().getFullName();
       }
-      generator.print("\"");
-    } else {
-      generator.print("\"");
-      if (field.getType() == FieldDescriptor.Type.GROUP) {
-        // Groups must be serialized with their original capitalization.
-        generator.print(field.getMessageType().getName());
-      } else {
-        generator.print(field.getName());
-      }
-      generator.print("\"");
+      return field.getFullName();
     }
+    if (field.getType() == FieldDescriptor.Type.GROUP) {
+      // Groups must be serialized with their original capitalization.
+      return field.getMessageType().getName();
+    }
+    return field.getName();
+  }
+
+  private static void printSingleField(FieldDescriptor field,
+      Object value, JsonGenerator generator, boolean selfType) throws IOException {
+    generator.print("\"");
+    generator.print(fieldName(field));
+    generator.print("\"");
 
     // Done with the name, on to the value
 
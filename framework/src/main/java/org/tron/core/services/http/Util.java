@@ -96,7 +96,7 @@ public class Util {
 
   public static String printBlockList(BlockList list, boolean selfType) {
     List<Block> blocks = list.getBlockList();
-    JSONObject jsonObject = JSONObject.parseObject(JsonFormat.printToString(list, selfType));
+    JSONObject jsonObject = new JSONObject();
     JSONArray jsonArray = new JSONArray();
     blocks.stream().forEach(block -> jsonArray.add(printBlockToJSON(block, selfType)));
     jsonObject.put("block", jsonArray);
@@ -111,18 +111,22 @@ public class Util {
   public static JSONObject printBlockToJSON(Block block, boolean selfType) {
     BlockCapsule blockCapsule = new BlockCapsule(block);
     String blockID = ByteArray.toHexString(blockCapsule.getBlockId().getBytes());
-    JSONObject jsonObject = JSONObject.parseObject(JsonFormat.printToString(block, selfType));
-    jsonObject.put("blockID", blockID);
+    // keys are put in the order JsonFormat prints them, so the serialized output is unchanged
+    JSONObject jsonObject = new JSONObject();
     if (!blockCapsule.getTransactions().isEmpty()) {
       jsonObject.put("transactions",
           printTransactionListToJSON(blockCapsule.getTransactions(), selfType));
     }
+    if (block.hasBlockHeader()) {
+      jsonObject.put("block_header", JsonFormat.printToJSON(block.getBlockHeader(), selfType));
+    }
+    jsonObject.put("blockID", blockID);
     return jsonObject;
   }
 
   public static String printTransactionList(TransactionList list, boolean selfType) {
     List<Transaction> transactions = list.getTransactionList();
-    JSONObject jsonObject = JSONObject.parseObject(JsonFormat.printToString(list, selfType));
+    JSONObject jsonObject = new JSONObject();
     JSONArray jsonArray = new JSONArray();
     transactions.stream()
         .forEach(transaction -> jsonArray.add(printTransactionToJSON(transaction, selfType)));
@@ -132,7 +136,7 @@ public class Util {
   }
 
   public static String printTransactionIdList(TransactionIdList list, boolean selfType) {
-    JSONObject jsonObject = JSONObject.parseObject(JsonFormat.printToString(list, selfType));
+    JSONObject jsonObject = JsonFormat.printToJSON(list, selfType);
 
     return jsonObject.toJSONString();
   }
@@ -161,8 +165,7 @@ public class Util {
 
   public static String printTransactionExtention(TransactionExtention transactionExtention,
       boolean selfType) {
-    String string = JsonFormat.printToString(transactionExtention, selfType);
-    JSONObject jsonObject = JSONObject.parseObject(string);
+    JSONObject jsonObject = JsonFormat.printToJSON(transactionExtention, selfType);
     if (transactionExtention.getResult().getResult()) {
       JSONObject transactionObject = printTransactionToJSON(transactionExtention.getTransaction(),
           selfType);
@@ -179,8 +182,7 @@ public class Util {
 
   public static String printTransactionSignWeight(TransactionSignWeight transactionSignWeight,
       boolean selfType) {
-    String string = JsonFormat.printToString(transactionSignWeight, selfType);
-    JSONObject jsonObject = JSONObject.parseObject(string);
+    JSONObject jsonObject = JsonFormat.printToJSON(transactionSignWeight, selfType);
     JSONObject jsonObjectExt = jsonObject.getJSONObject(TRANSACTION);
     jsonObjectExt.put(TRANSACTION,
         printTransactionToJSON(transactionSignWeight.getTransaction().getTransaction(), selfType));
@@ -190,8 +192,7 @@ public class Util {
 
   public static String printTransactionApprovedList(TransactionApprovedList transactionApprovedList,
       boolean selfType) {
-    String string = JsonFormat.printToString(transactionApprovedList, selfType);
-    JSONObject jsonObject = JSONObject.parseObject(string);
+    JSONObject jsonObject = JsonFormat.printToJSON(transactionApprovedList, selfType);
     JSONObject jsonObjectExt = jsonObject.getJSONObject(TRANSACTION);
     jsonObjectExt.put(TRANSACTION,
         printTransactionToJSON(transactionApprovedList.getTransaction().getTransaction(),
@@ -215,8 +216,7 @@ public class Util {
   }
 
   public static JSONObject printTransactionToJSON(Transaction transaction, boolean selfType) {
-    JSONObject jsonTransaction = JSONObject
-        .parseObject(JsonFormat.printToString(transaction, selfType));
+    JSONObject jsonTransaction = JsonFormat.printToJSON(transaction, selfType);
     JSONArray contracts = new JSONArray();
     transaction.getRawData().getContractList().stream().forEach(contract -> {
       try {
@@ -226,8 +226,7 @@ public class Util {
           case CreateSmartContract:
             CreateSmartContract deployContract = contractParameter
                 .unpack(CreateSmartContract.class);
-            contractJson = JSONObject
-                .parseObject(JsonFormat.printToString(deployContract, selfType));
+            contractJson = JsonFormat.printToJSON(deployContract, selfType);
             byte[] ownerAddress = deployContract.getOwnerAddress().toByteArray();
             byte[] contractAddress = generateContractAddress(transaction, ownerAddress);
             jsonTransaction.put(CONTRACT_ADDRESS, ByteArray.toHexString(contractAddress));
@@ -235,8 +234,7 @@ public class Util {
           default:
             Class clazz = TransactionFactory.getContract(contract.getType());
             if (clazz != null) {
-              contractJson = JSONObject
-                  .parseObject(JsonFormat.printToString(contractParameter.unpack(clazz), selfType));
+              contractJson = JsonFormat.printToJSON(contractParameter.unpack(clazz), selfType);
             }
             break;
         }
@@ -256,7 +254,7 @@ public class Util {
       }
     });
 
-    JSONObject rawData = JSONObject.parseObject(jsonTransaction.get("raw_data").toString());
+    JSONObject rawData = jsonTransaction.getJSONObject("raw_data");
     rawData.put("contract", contracts);
     jsonTransaction.put("raw_data", rawData);
     String rawDataHex = ByteArray.toHexString(transaction.getRawData().toByteArray());
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Component;
 import org.tron.common.application.Service;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.core.services.filter.HttpInterceptor;
+import org.tron.core.services.jsonrpc.websocket.JsonRpcWebSocketServlet;
 
 @Component
 @Slf4j(topic = "API")
@@ -26,6 +27,9 @@ public class FullNodeJsonRpcHttpService implements Service {
   @Autowired
   private JsonRpcServlet jsonRpcServlet;
 
+  @Autowired
+  private JsonRpcWebSocketServlet jsonRpcWebSocketServlet;
+
   @Override
   public void init() {
   }
@@ -43,6 +47,9 @@ public class FullNodeJsonRpcHttpService implements Service {
       server.setHandler(context);
 
       context.addServlet(new ServletHolder(jsonRpcServlet), "/jsonrpc");
+      if (CommonParameter.getInstance().isJsonRpcWebSocketEnable()) {
+        context.addServlet(new ServletHolder(jsonRpcWebSocketServlet), "/websocket");
+      }
 
       int maxHttpConnectNumber = CommonParameter.getInstance().getMaxHttpConnectNumber();
       if (maxHttpConnectNumber > 0) {
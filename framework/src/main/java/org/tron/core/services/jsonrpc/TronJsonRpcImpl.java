@@ -13,6 +13,8 @@ import static org.tron.core.services.jsonrpc.JsonRpcApiUtil.triggerCallContract;
 import com.alibaba.fastjson.JSON;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.GeneratedMessageV3;
+import io.prometheus.client.Histogram;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -27,7 +29,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.bouncycastle.util.encoders.Hex;
 import org.tron.api.GrpcAPI.BytesMessage;
@@ -40,6 +41,9 @@ import org.tron.common.logsfilter.ContractEventParser;
 import org.tron.common.logsfilter.capsule.BlockFilterCapsule;
 import org.tron.common.logsfilter.capsule.LogsFilterCapsule;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.ByteUtil;
@@ -64,15 +68,17 @@ import org.tron.core.services.http.JsonFormat;
 import org.tron.core.services.http.Util;
 import org.tron.core.services.jsonrpc.filters.BlockFilterAndResult;
 import org.tron.core.services.jsonrpc.filters.LogBlockQuery;
-import org.tron.core.services.jsonrpc.filters.LogFilter;
 import org.tron.core.services.jsonrpc.filters.LogFilterAndResult;
+import org.tron.core.services.jsonrpc.filters.LogFilterIndex;
 import org.tron.core.services.jsonrpc.filters.LogFilterWrapper;
+import org.tron.core.services.jsonrpc.filters.LogIndexQuery;
 import org.tron.core.services.jsonrpc.filters.LogMatch;
 import org.tron.core.services.jsonrpc.types.BlockResult;
 import org.tron.core.services.jsonrpc.types.BuildArguments;
 import org.tron.core.services.jsonrpc.types.CallArguments;
 import org.tron.core.services.jsonrpc.types.TransactionReceipt;
 import org.tron.core.services.jsonrpc.types.TransactionResult;
+import org.tron.core.services.jsonrpc.websocket.Subscriptions;
 import org.tron.core.store.StorageRowStore;
 import org.tron.core.vm.program.Storage;
 import org.tron.program.Version;
@@ -82,6 +88,7 @@ import org.tron.protos.Protocol.Transaction;
 import org.tron.protos.Protocol.Transaction.Contract.ContractType;
 import org.tron.protos.Protocol.Transaction.Result.code;
 import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
 import org.tron.protos.contract.AssetIssueContractOuterClass.TransferAssetContract;
 import org.tron.protos.contract.BalanceContract.TransferContract;
 import org.tron.protos.contract.SmartContractOuterClass.CreateSmartContract;
@@ -107,6 +114,7 @@ public class TronJsonRpcImpl implements TronJsonRpc {
   @Getter
   private static final Map<String, LogFilterAndResult> eventFilter2ResultFull =
       new ConcurrentHashMap<>();
+  private static final LogFilterIndex eventFilterIndexFull = new LogFilterIndex();
   /**
    * for block in Full Json-RPC
    */
@@ -119,6 +127,7 @@ public class TronJsonRpcImpl implements TronJsonRpc {
   @Getter
   private static final Map<String, LogFilterAndResult> eventFilter2ResultSolidity =
       new ConcurrentHashMap<>();
+  private static final LogFilterIndex eventFilterIndexSolidity = new LogFilterIndex();
   /**
    * for block in solidity Json-RPC
    */
@@ -173,47 +182,69 @@ public class TronJsonRpcImpl implements TronJsonRpc {
       }
       entry.getValue().getResult().add(ByteArray.toJsonHex(blockFilterCapsule.getBlockHash()));
     }
+    Subscriptions.getInstance().handleBlock(blockFilterCapsule);
   }
 
   public static void handleLogsFilter(LogsFilterCapsule logsFilterCapsule) {
-    Iterator<Entry<String, LogFilterAndResult>> it;
+    Map<String, LogFilterAndResult> eventFilter2Result;
+    LogFilterIndex logFilterIndex;
+    String label;
 
     if (logsFilterCapsule.isSolidified()) {
-      it = getEventFilter2ResultSolidity().entrySet().iterator();
+      eventFilter2Result = getEventFilter2ResultSolidity();
+      logFilterIndex = eventFilterIndexSolidity;
+      label = MetricLabels.SOLIDITY;
     } else {
-      it = getEventFilter2ResultFull().entrySet().iterator();
+      eventFilter2Result = getEventFilter2ResultFull();
+      logFilterIndex = eventFilterIndexFull;
+      label = MetricLabels.FULLNODE;
     }
+    Histogram.Timer timer = Metrics.histogramStartTimer(
+        MetricKeys.Histogram.JSONRPC_FILTER_LATENCY, label);
 
+    Iterator<Entry<String, LogFilterAndResult>> it = eventFilter2Result.entrySet().iterator();
     while (it.hasNext()) {
       Entry<String, LogFilterAndResult> entry = it.next();
       if (entry.getValue().isExpire()) {
         it.remove();
-        continue;
-      }
-
-      LogFilterAndResult logFilterAndResult = entry.getValue();
-      long fromBlock = logFilterAndResult.getLogFilterWrapper().getFromBlock();
-      long toBlock = logFilterAndResult.getLogFilterWrapper().getToBlock();
-      if (!(fromBlock <= logsFilterCapsule.getBlockNumber()
-          && logsFilterCapsule.getBlockNumber() <= toBlock)) {
-        continue;
-      }
-
-      if (logsFilterCapsule.getBloom() != null
-          && !logFilterAndResult.getLogFilterWrapper().getLogFilter()
-          .matchBloom(logsFilterCapsule.getBloom())) {
-        continue;
+        logFilterIndex.remove(entry.getKey());
+      } else {
+        logFilterIndex.add(entry.getKey(), entry.getValue().getLogFilterWrapper().getLogFilter());
       }
-
-      LogFilter logFilter = logFilterAndResult.getLogFilterWrapper().getLogFilter();
-      List<LogFilterElement> elements =
-          LogMatch.matchBlock(logFilter, logsFilterCapsule.getBlockNumber(),
-              logsFilterCapsule.getBlockHash(), logsFilterCapsule.getTxInfoList(),
-              logsFilterCapsule.isRemoved());
-      if (CollectionUtils.isNotEmpty(elements)) {
-        logFilterAndResult.getResult().addAll(elements);
+    }
+    Metrics.gaugeSet(MetricKeys.Gauge.JSONRPC_LOG_FILTERS, logFilterIndex.size(), label);
+
+    long blockNum = logsFilterCapsule.getBlockNumber();
+    List<TransactionInfo> transactionInfoList = logsFilterCapsule.getTxInfoList();
+    int matched = 0;
+    int logIndexInBlock = 0;
+    for (int i = 0; i < transactionInfoList.size(); i++) {
+      TransactionInfo transactionInfo = transactionInfoList.get(i);
+      for (Log log : transactionInfo.getLogList()) {
+        // only the filters of the address or topic0 of the log and the wildcard ones
+        for (String filterId : logFilterIndex.candidates(log)) {
+          LogFilterAndResult logFilterAndResult = eventFilter2Result.get(filterId);
+          if (logFilterAndResult == null) {
+            logFilterIndex.remove(filterId);
+            continue;
+          }
+          LogFilterWrapper logFilterWrapper = logFilterAndResult.getLogFilterWrapper();
+          if (logFilterWrapper.getFromBlock() <= blockNum
+              && blockNum <= logFilterWrapper.getToBlock()
+              && logFilterWrapper.getLogFilter().matchesExactly(log)) {
+            logFilterAndResult.getResult().add(LogMatch.newElement(
+                logsFilterCapsule.getBlockHash(), blockNum, transactionInfo, i, log,
+                logIndexInBlock, logsFilterCapsule.isRemoved()));
+            matched++;
+          }
+        }
+        logIndexInBlock += 1;
       }
     }
+    Metrics.counterInc(MetricKeys.Counter.JSONRPC_FILTER_MATCHED_LOGS, matched, label);
+    Metrics.histogramObserve(timer);
+
+    Subscriptions.getInstance().handleLogs(logsFilterCapsule);
   }
 
   @Override
@@ -1220,16 +1251,20 @@ public class TronJsonRpcImpl implements TronJsonRpc {
     disableInPBFT("eth_newFilter");
 
     Map<String, LogFilterAndResult> eventFilter2Result;
+    LogFilterIndex logFilterIndex;
     if (getSource() == RequestSource.FULLNODE) {
       eventFilter2Result = eventFilter2ResultFull;
+      logFilterIndex = eventFilterIndexFull;
     } else {
       eventFilter2Result = eventFilter2ResultSolidity;
+      logFilterIndex = eventFilterIndexSolidity;
     }
 
     long currentMaxFullNum = wallet.getNowBlock().getBlockHeader().getRawData().getNumber();
     LogFilterAndResult logFilterAndResult = new LogFilterAndResult(fr, currentMaxFullNum, wallet);
     String filterID = generateFilterId();
     eventFilter2Result.put(filterID, logFilterAndResult);
+    logFilterIndex.add(filterID, logFilterAndResult.getLogFilterWrapper().getLogFilter());
     return ByteArray.toJsonHex(filterID);
   }
 
@@ -1257,17 +1292,21 @@ public class TronJsonRpcImpl implements TronJsonRpc {
 
     Map<String, BlockFilterAndResult> blockFilter2Result;
     Map<String, LogFilterAndResult> eventFilter2Result;
+    LogFilterIndex logFilterIndex;
     if (getSource() == RequestSource.FULLNODE) {
       blockFilter2Result = blockFilter2ResultFull;
       eventFilter2Result = eventFilter2ResultFull;
+      logFilterIndex = eventFilterIndexFull;
     } else {
       blockFilter2Result = blockFilter2ResultSolidity;
       eventFilter2Result = eventFilter2ResultSolidity;
+      logFilterIndex = eventFilterIndexSolidity;
     }
 
     filterId = ByteArray.fromHex(filterId);
     if (eventFilter2Result.containsKey(filterId)) {
       eventFilter2Result.remove(filterId);
+      logFilterIndex.remove(filterId);
     } else if (blockFilter2Result.containsKey(filterId)) {
       blockFilter2Result.remove(filterId);
     } else {
@@ -1337,6 +1376,18 @@ public class TronJsonRpcImpl implements TronJsonRpc {
   private LogFilterElement[] getLogsByLogFilterWrapper(LogFilterWrapper logFilterWrapper,
       long currentMaxBlockNum) throws JsonRpcTooManyResultException, ExecutionException,
       InterruptedException, BadItemException, ItemNotFoundException {
+    if (CommonParameter.getInstance().isJsonRpcLogIndex()) {
+      LogIndexQuery logIndexQuery = new LogIndexQuery(logFilterWrapper,
+          manager.getChainBaseManager().getLogIndexStore(), currentMaxBlockNum, manager);
+      if (logIndexQuery.isIndexed()) {
+        try {
+          return logIndexQuery.getLogs();
+        } catch (IOException e) {
+          logger.warn("Read log index failed, query by section bloom: {}", e.getMessage());
+        }
+      }
+    }
+
     //query possible block
     LogBlockQuery logBlockQuery = new LogBlockQuery(logFilterWrapper, manager.getChainBaseManager()
         .getSectionBloomStore(), currentMaxBlockNum, sectionExecutor);
@@ -9,7 +9,9 @@ import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.tron.common.bloom.Bloom;
+import org.tron.common.bloom.SectionBitmap;
 import org.tron.common.crypto.Hash;
+import org.tron.core.exception.EventBloomException;
 import org.tron.core.exception.JsonRpcTooManyResultException;
 import org.tron.core.store.SectionBloomStore;
 
@@ -99,22 +101,28 @@ public class LogBlockQuery {
   /**
    * address -> subMatch0,
    * topic1 -> subMatch1, topic2 -> subMatch2, topic3 -> subMatch3, topic4 -> subMatch4
-   * works serial, return a BitSet with capacity of section num * blockPerSection
+   * the sections work parallel, return a BitSet with capacity of section num * blockPerSection
    */
   private BitSet subMatch(int[][] bitIndexes) throws ExecutionException, InterruptedException {
 
     int capacity = (maxSection - minSection + 1) * SectionBloomStore.BLOCK_PER_SECTION;
     BitSet subBitSet = new BitSet(capacity);
 
+    List<Future<SectionBitmap>> futureList = new ArrayList<>();
     for (int section = minSection; section <= maxSection; section++) {
-      BitSet partialBitSet = partialMatch(bitIndexes, section);
+      final int current = section;
+      futureList.add(sectionExecutor.submit(() -> partialMatch(bitIndexes, current)));
+    }
+
+    for (int k = 0; k < futureList.size(); k++) {
+      BitSet partialBitSet = futureList.get(k).get().toBitSet();
 
       for (int i = partialBitSet.nextSetBit(0); i >= 0; i = partialBitSet.nextSetBit(i + 1)) {
         // operate on index i here
         if (i == Integer.MAX_VALUE) {
           break; // or (i+1) would overflow
         }
-        int offset = (section - minSection) * SectionBloomStore.BLOCK_PER_SECTION + i;
+        int offset = k * SectionBloomStore.BLOCK_PER_SECTION + i;
         subBitSet.set(offset);
       }
     }
@@ -123,44 +131,29 @@ public class LogBlockQuery {
   }
 
   /**
-   * every section has a compound query of sectionBloomStore, works parallel
+   * every section has a compound query of sectionBloomStore, on the compressed bitmaps
    * "and" condition in second dimension of query, "or" condition in first dimension
-   * return a BitSet whose capacity is blockPerSection
    */
-  private BitSet partialMatch(final int[][] bitIndexes, int section)
-      throws ExecutionException, InterruptedException {
-    List<List<Future<BitSet>>> bitSetList = new ArrayList<>();
+  private SectionBitmap partialMatch(final int[][] bitIndexes, int section)
+      throws EventBloomException {
+    SectionBitmap bitmap = SectionBitmap.EMPTY;
 
     for (int[] index : bitIndexes) {
-      List<Future<BitSet>> futureList = new ArrayList<>();
+      SectionBitmap subBitmap = null;
       for (final int bitIndex : index) { //must be 3
-        Future<BitSet> bitSetFuture =
-            sectionExecutor.submit(() -> sectionBloomStore.get(section, bitIndex));
-        futureList.add(bitSetFuture);
-      }
-      bitSetList.add(futureList);
-    }
-
-    BitSet bitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
-
-    for (List<Future<BitSet>> futureList : bitSetList) {
-      // initial a BitSet with all 1
-      BitSet subBitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
-      subBitSet.set(0, SectionBloomStore.BLOCK_PER_SECTION);
-      // and condition in second dimension
-      for (Future<BitSet> future : futureList) {
-        BitSet one = future.get();
-        if (one == null) { //match nothing
-          subBitSet.clear();
+        SectionBitmap one = sectionBloomStore.getBitmap(section, bitIndex);
+        // "and" condition in second dimension
+        subBitmap = subBitmap == null ? one : subBitmap.and(one);
+        if (subBitmap.isEmpty()) { //match nothing
           break;
         }
-        // "and" condition in second dimension
-        subBitSet.and(one);
       }
       // "or" condition in first dimension
-      bitSet.or(subBitSet);
+      if (subBitmap != null) {
+        bitmap = bitmap.or(subBitmap);
+      }
     }
-    return bitSet;
+    return bitmap;
   }
 
   /**
@@ -0,0 +1,111 @@
+package org.tron.core.services.jsonrpc.filters;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.ArrayUtils;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+
+/**
+ * index of the log filters by the most selective part of each: a filter with addresses is in
+ * the bucket of each address, else a filter with topic0 in the bucket of each topic0, else in
+ * the wildcard bucket. The candidates of a log are the filters of its address, of its topic0
+ * and the wildcard ones, they still have to match exactly.
+ */
+public class LogFilterIndex {
+
+  private final Map<String, LogFilter> filters = new ConcurrentHashMap<>();
+  private final Map<WrappedByteArray, Set<String>> byAddress = new ConcurrentHashMap<>();
+  private final Map<WrappedByteArray, Set<String>> byTopic0 = new ConcurrentHashMap<>();
+  private final Set<String> wildcard = ConcurrentHashMap.newKeySet();
+
+  public void add(String filterId, LogFilter logFilter) {
+    if (filters.putIfAbsent(filterId, logFilter) != null) {
+      return;
+    }
+    byte[][] topic0 = topic0(logFilter);
+    if (ArrayUtils.isNotEmpty(logFilter.getContractAddresses())) {
+      for (byte[] address : logFilter.getContractAddresses()) {
+        addTo(byAddress, WrappedByteArray.of(address), filterId);
+      }
+    } else if (ArrayUtils.isNotEmpty(topic0)) {
+      for (byte[] topic : topic0) {
+        addTo(byTopic0, WrappedByteArray.of(topic), filterId);
+      }
+    } else {
+      wildcard.add(filterId);
+    }
+  }
+
+  public void remove(String filterId) {
+    LogFilter logFilter = filters.remove(filterId);
+    if (logFilter == null) {
+      return;
+    }
+    byte[][] topic0 = topic0(logFilter);
+    if (ArrayUtils.isNotEmpty(logFilter.getContractAddresses())) {
+      for (byte[] address : logFilter.getContractAddresses()) {
+        removeFrom(byAddress, WrappedByteArray.of(address), filterId);
+      }
+    } else if (ArrayUtils.isNotEmpty(topic0)) {
+      for (byte[] topic : topic0) {
+        removeFrom(byTopic0, WrappedByteArray.of(topic), filterId);
+      }
+    } else {
+      wildcard.remove(filterId);
+    }
+  }
+
+  public boolean contains(String filterId) {
+    return filters.containsKey(filterId);
+  }
+
+  public LogFilter get(String filterId) {
+    return filters.get(filterId);
+  }
+
+  public int size() {
+    return filters.size();
+  }
+
+  /**
+   * the filters that may match the log.
+   */
+  public Set<String> candidates(Log log) {
+    Set<String> candidates = new HashSet<>(wildcard);
+    candidates.addAll(byAddress.getOrDefault(
+        WrappedByteArray.of(log.getAddress().toByteArray()), Collections.emptySet()));
+    if (log.getTopicsCount() > 0) {
+      candidates.addAll(byTopic0.getOrDefault(
+          WrappedByteArray.of(log.getTopics(0).toByteArray()), Collections.emptySet()));
+    }
+    return candidates;
+  }
+
+  private static byte[][] topic0(LogFilter logFilter) {
+    List<byte[][]> topics = logFilter.getTopics();
+    return topics.isEmpty() ? null : topics.get(0);
+  }
+
+  // a bucket is changed under the lock of its key, a removal does not drop a bucket being added to
+  private static void addTo(Map<WrappedByteArray, Set<String>> buckets, WrappedByteArray key,
+      String filterId) {
+    buckets.compute(key, (k, ids) -> {
+      Set<String> bucket = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+      bucket.add(filterId);
+      return bucket;
+    });
+  }
+
+  private static void removeFrom(Map<WrappedByteArray, Set<String>> buckets,
+      WrappedByteArray key, String filterId) {
+    buckets.computeIfPresent(key, (k, ids) -> {
+      ids.remove(filterId);
+      return ids.isEmpty() ? null : ids;
+    });
+  }
+}
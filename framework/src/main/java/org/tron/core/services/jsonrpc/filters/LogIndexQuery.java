@@ -0,0 +1,146 @@
+package org.tron.core.services.jsonrpc.filters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.capsule.TransactionRetCapsule;
+import org.tron.core.db.Manager;
+import org.tron.core.exception.BadItemException;
+import org.tron.core.exception.ItemNotFoundException;
+import org.tron.core.exception.JsonRpcTooManyResultException;
+import org.tron.core.services.jsonrpc.TronJsonRpc.LogFilterElement;
+import org.tron.core.store.LogIndexStore;
+import org.tron.core.store.LogIndexStore.Posting;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+
+/**
+ * query the logs by the posting lists of logIndexStore, "or" condition is the union of the
+ * lists of the values, "and" condition is the intersection of the conditions. Only the
+ * transactions of the postings are read.
+ */
+@Slf4j(topic = "API")
+public class LogIndexQuery {
+
+  private final LogFilterWrapper logFilterWrapper;
+  private final LogIndexStore logIndexStore;
+  private final Manager manager;
+
+  private final long minBlock;
+  private final long maxBlock;
+
+  public LogIndexQuery(LogFilterWrapper logFilterWrapper, LogIndexStore logIndexStore,
+      long currentMaxBlockNum, Manager manager) {
+    this.logFilterWrapper = logFilterWrapper;
+    this.logIndexStore = logIndexStore;
+    this.manager = manager;
+
+    if (logFilterWrapper.getFromBlock() == Long.MAX_VALUE) {
+      minBlock = currentMaxBlockNum;
+    } else {
+      minBlock = logFilterWrapper.getFromBlock();
+    }
+    maxBlock = Math.min(logFilterWrapper.getToBlock(), currentMaxBlockNum);
+  }
+
+  /**
+   * the index answers a query with address or topics whose blocks it has indexed
+   */
+  public boolean isIndexed() {
+    LogFilter logFilter = logFilterWrapper.getLogFilter();
+    boolean hasCondition = ArrayUtils.isNotEmpty(logFilter.getContractAddresses())
+        || logFilter.getTopics().stream().anyMatch(ArrayUtils::isNotEmpty);
+    return hasCondition && minBlock <= maxBlock && logIndexStore.covers(minBlock, maxBlock);
+  }
+
+  public LogFilterElement[] getLogs() throws IOException, BadItemException,
+      ItemNotFoundException, JsonRpcTooManyResultException {
+    List<LogFilterElement> logFilterElementList = new ArrayList<>();
+    LogFilter logFilter = logFilterWrapper.getLogFilter();
+
+    NavigableSet<Posting> postings = match(logFilter);
+    long blockNum = -1;
+    String blockHash = null;
+    List<TransactionInfo> transactionInfoList = Collections.emptyList();
+    int[] firstLogIndex = new int[0];
+
+    for (Posting posting : postings) {
+      if (posting.getBlockNum() != blockNum) {
+        blockNum = posting.getBlockNum();
+        TransactionRetCapsule transactionRetCapsule = manager.getTransactionRetStore()
+            .getTransactionInfoByBlockNum(ByteArray.fromLong(blockNum));
+        if (transactionRetCapsule == null) {
+          transactionInfoList = Collections.emptyList();
+          continue;
+        }
+        transactionInfoList = transactionRetCapsule.getInstance().getTransactioninfoList();
+        firstLogIndex = new int[transactionInfoList.size()];
+        for (int i = 1; i < firstLogIndex.length; i++) {
+          firstLogIndex[i] = firstLogIndex[i - 1] + transactionInfoList.get(i - 1).getLogCount();
+        }
+        blockHash = manager.getChainBaseManager().getBlockIdByNum(blockNum).toString();
+      }
+
+      int txIndex = posting.getTxIndex();
+      if (txIndex >= transactionInfoList.size()
+          || posting.getLogIndex() >= transactionInfoList.get(txIndex).getLogCount()) {
+        continue;
+      }
+      TransactionInfo transactionInfo = transactionInfoList.get(txIndex);
+      Log log = transactionInfo.getLog(posting.getLogIndex());
+      // the posting of a block that was switched out
+      if (!logFilter.matchesExactly(log)) {
+        continue;
+      }
+      logFilterElementList.add(LogMatch.newElement(blockHash, blockNum, transactionInfo,
+          txIndex, log, firstLogIndex[txIndex] + posting.getLogIndex(), false));
+
+      if (logFilterElementList.size() > LogBlockQuery.MAX_RESULT) {
+        throw new JsonRpcTooManyResultException(
+            "query returned more than " + LogBlockQuery.MAX_RESULT + " results");
+      }
+    }
+
+    return logFilterElementList.toArray(new LogFilterElement[0]);
+  }
+
+  /**
+   * address -> position 0, topic1 -> position 1, ..., topic4 -> position 4,
+   * intersect the conditions from the smallest one
+   */
+  private NavigableSet<Posting> match(LogFilter logFilter) throws IOException {
+    List<NavigableSet<Posting>> conditions = new ArrayList<>();
+    if (ArrayUtils.isNotEmpty(logFilter.getContractAddresses())) {
+      conditions.add(union(LogIndexStore.ADDRESS, logFilter.getContractAddresses()));
+    }
+    List<byte[][]> topics = logFilter.getTopics();
+    for (int i = 0; i < topics.size(); i++) {
+      if (ArrayUtils.isNotEmpty(topics.get(i))) {
+        conditions.add(union(i + 1, topics.get(i)));
+      }
+    }
+    conditions.sort(Comparator.comparingInt(Set::size));
+
+    NavigableSet<Posting> postings = conditions.get(0);
+    for (int i = 1; i < conditions.size() && !postings.isEmpty(); i++) {
+      postings.retainAll(conditions.get(i));
+    }
+    return postings;
+  }
+
+  private NavigableSet<Posting> union(int position, byte[][] values) throws IOException {
+    NavigableSet<Posting> postings = new TreeSet<>();
+    for (byte[] value : values) {
+      postings.addAll(logIndexStore.get(position, value, minBlock, maxBlock));
+    }
+    return postings;
+  }
+}
@@ -53,22 +53,8 @@ public class LogMatch {
         Log log = transactionInfo.getLog(j);
 
         if (logFilter.matchesExactly(log)) {
-          List<DataWord> topicList = new ArrayList<>();
-          for (ByteString topic : log.getTopicsList()) {
-            topicList.add(new DataWord(topic.toByteArray()));
-          }
-
-          LogFilterElement logFilterElement = new LogFilterElement(blockHash,
-              blockNum,
-              ByteArray.toHexString(transactionInfo.getId().toByteArray()),
-              i,
-              ByteArray.toHexString(log.getAddress().toByteArray()),
-              topicList,
-              ByteArray.toHexString(log.getData().toByteArray()),
-              logIndexInBlock,
-              removed
-          );
-          matchedLog.add(logFilterElement);
+          matchedLog.add(newElement(blockHash, blockNum, transactionInfo, i, log,
+              logIndexInBlock, removed));
         }
 
         logIndexInBlock += 1;
@@ -78,6 +64,26 @@ public class LogMatch {
     return matchedLog;
   }
 
+  public static LogFilterElement newElement(String blockHash, long blockNum,
+      TransactionInfo transactionInfo, int txIndex, Log log, int logIndexInBlock,
+      boolean removed) {
+    List<DataWord> topicList = new ArrayList<>();
+    for (ByteString topic : log.getTopicsList()) {
+      topicList.add(new DataWord(topic.toByteArray()));
+    }
+
+    return new LogFilterElement(blockHash,
+        blockNum,
+        ByteArray.toHexString(transactionInfo.getId().toByteArray()),
+        txIndex,
+        ByteArray.toHexString(log.getAddress().toByteArray()),
+        topicList,
+        ByteArray.toHexString(log.getData().toByteArray()),
+        logIndexInBlock,
+        removed
+    );
+  }
+
   public LogFilterElement[] matchBlockOneByOne()
       throws BadItemException, ItemNotFoundException, JsonRpcTooManyResultException {
     List<LogFilterElement> logFilterElementList = new ArrayList<>();
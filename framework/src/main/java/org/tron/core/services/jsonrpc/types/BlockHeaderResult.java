@@ -0,0 +1,63 @@
+package org.tron.core.services.jsonrpc.types;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.protos.Protocol.BlockHeader;
+
+/**
+ * the header of a block sent to the newHeads subscriptions, the fields of BlockResult without
+ * the transactions, the size and the gas that need the transactions and their infos.
+ */
+@JsonPropertyOrder(alphabetic = true)
+public class BlockHeaderResult {
+
+  @Getter
+  private final String number;
+  @Getter
+  private final String hash;
+  @Getter
+  private final String parentHash;
+  @Getter
+  private final String nonce = ByteArray.toJsonHex(new byte[8]); // no value
+  @Getter
+  private final String sha3Uncles = ByteArray.toJsonHex(new byte[32]); // no value
+  @Getter
+  private final String logsBloom = ByteArray.toJsonHex(new byte[256]); // no value
+  @Getter
+  private final String transactionsRoot;
+  @Getter
+  private final String stateRoot;
+  @Getter
+  private final String receiptsRoot = ByteArray.toJsonHex(new byte[32]); // no value
+  @Getter
+  private final String miner;
+  @Getter
+  private final String difficulty = "0x0"; // no value
+  @Getter
+  private final String extraData = "0x"; // no value
+  @Getter
+  private final String timestamp;
+  @Getter
+  private final String baseFeePerGas = "0x0";
+  @Getter
+  private final String mixHash = ByteArray.toJsonHex(new byte[32]);
+
+  public BlockHeaderResult(BlockCapsule blockCapsule) {
+    BlockHeader.raw rawData = blockCapsule.getInstance().getBlockHeader().getRawData();
+
+    number = ByteArray.toJsonHex(blockCapsule.getNum());
+    hash = ByteArray.toJsonHex(blockCapsule.getBlockId().getBytes());
+    parentHash = ByteArray.toJsonHex(rawData.getParentHash().toByteArray());
+    transactionsRoot = ByteArray.toJsonHex(rawData.getTxTrieRoot().toByteArray());
+    stateRoot = ByteArray.toJsonHex(rawData.getAccountStateRoot().toByteArray());
+
+    if (blockCapsule.getNum() == 0) {
+      miner = ByteArray.toJsonHex(new byte[20]);
+    } else {
+      miner = ByteArray.toJsonHexAddress(blockCapsule.getWitnessAddress().toByteArray());
+    }
+    timestamp = ByteArray.toJsonHex(blockCapsule.getTimeStamp() / 1000);
+  }
+}
@@ -0,0 +1,238 @@
+package org.tron.core.services.jsonrpc.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WebSocketListener;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.Metrics;
+import org.tron.core.exception.JsonRpcInvalidParamsException;
+import org.tron.core.exception.JsonRpcInvalidRequestException;
+import org.tron.core.exception.JsonRpcMethodNotFoundException;
+import org.tron.core.exception.JsonRpcTooManyResultException;
+import org.tron.core.services.jsonrpc.TronJsonRpc.FilterRequest;
+import org.tron.core.services.jsonrpc.filters.LogFilter;
+
+/**
+ * A websocket connection of jsonrpc, it serves eth_subscribe and eth_unsubscribe. The messages
+ * are sent asynchronously, a connection with more than sendBuffer of them not yet written is a
+ * slow consumer: it is disconnected and its subscriptions are removed.
+ */
+@Slf4j(topic = "API")
+public class JsonRpcWebSocket implements WebSocketListener {
+
+  public static final int MAX_SUBSCRIPTIONS = 100;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final Subscriptions subscriptions;
+  private final int sendBuffer;
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final Set<String> subscriptionIds = ConcurrentHashMap.newKeySet();
+  private volatile Session session;
+
+  public JsonRpcWebSocket(Subscriptions subscriptions, int sendBuffer) {
+    this.subscriptions = subscriptions;
+    this.sendBuffer = sendBuffer;
+  }
+
+  @Override
+  public void onWebSocketConnect(Session session) {
+    this.session = session;
+  }
+
+  @Override
+  public void onWebSocketText(String message) {
+    JsonNode request;
+    try {
+      request = MAPPER.readTree(message);
+    } catch (IOException e) {
+      sendError(NullNode.getInstance(), -32700, "parse error");
+      return;
+    }
+    JsonNode id = request == null ? null : request.get("id");
+    if (id == null) {
+      id = NullNode.getInstance();
+    }
+
+    try {
+      if (request == null || !request.isObject() || !request.path("method").isTextual()) {
+        throw new JsonRpcInvalidRequestException("invalid request");
+      }
+      String method = request.get("method").asText();
+      JsonNode params = request.path("params");
+      switch (method) {
+        case "eth_subscribe":
+          sendResult(id, MAPPER.getNodeFactory().textNode(subscribe(params)));
+          break;
+        case "eth_unsubscribe":
+          sendResult(id, MAPPER.getNodeFactory().booleanNode(unsubscribe(params)));
+          break;
+        default:
+          throw new JsonRpcMethodNotFoundException(
+              String.format("the method %s does not exist/is not available", method));
+      }
+    } catch (JsonRpcInvalidRequestException e) {
+      sendError(id, -32600, e.getMessage());
+    } catch (JsonRpcMethodNotFoundException e) {
+      sendError(id, -32601, e.getMessage());
+    } catch (JsonRpcInvalidParamsException e) {
+      sendError(id, -32602, e.getMessage());
+    } catch (JsonRpcTooManyResultException e) {
+      sendError(id, -32005, e.getMessage());
+    }
+  }
+
+  @Override
+  public void onWebSocketBinary(byte[] payload, int offset, int len) {
+    sendError(NullNode.getInstance(), -32600, "binary message is not supported");
+  }
+
+  @Override
+  public void onWebSocketClose(int statusCode, String reason) {
+    closed.set(true);
+    unsubscribeAll();
+  }
+
+  @Override
+  public void onWebSocketError(Throwable cause) {
+    logger.debug("Websocket error: {}.", cause.getMessage());
+  }
+
+  /**
+   * queues the message without waiting for it to be written.
+   */
+  public void send(String message) {
+    Session current = session;
+    if (current == null || closed.get()) {
+      return;
+    }
+    if (pending.incrementAndGet() > sendBuffer) {
+      disconnectSlowConsumer(current);
+      return;
+    }
+    current.getRemote().sendString(message, new WriteCallback() {
+      @Override
+      public void writeFailed(Throwable x) {
+        pending.decrementAndGet();
+        logger.debug("Websocket send failed: {}.", x.getMessage());
+      }
+
+      @Override
+      public void writeSuccess() {
+        pending.decrementAndGet();
+      }
+    });
+  }
+
+  private String subscribe(JsonNode params) throws JsonRpcInvalidParamsException,
+      JsonRpcTooManyResultException {
+    if (!params.isArray() || !params.path(0).isTextual() || params.size() > 2) {
+      throw new JsonRpcInvalidParamsException("invalid subscription params");
+    }
+    if (subscriptionIds.size() >= MAX_SUBSCRIPTIONS) {
+      throw new JsonRpcTooManyResultException(
+          "exceed max subscriptions of a connection: " + MAX_SUBSCRIPTIONS);
+    }
+    String subscriptionId;
+    switch (params.get(0).asText()) {
+      case Subscriptions.NEW_HEADS:
+        subscriptionId = subscriptions.subscribeNewHeads(this);
+        break;
+      case Subscriptions.LOGS:
+        subscriptionId = subscriptions.subscribeLogs(this, new LogFilter(filterRequest(params)));
+        break;
+      default:
+        throw new JsonRpcInvalidParamsException(
+            "unsupported subscription: " + params.get(0).asText());
+    }
+    subscriptionIds.add(subscriptionId);
+    // closed while subscribing, nothing removes it later
+    if (closed.get()) {
+      unsubscribeAll();
+    }
+    return subscriptionId;
+  }
+
+  private static FilterRequest filterRequest(JsonNode params)
+      throws JsonRpcInvalidParamsException {
+    if (params.size() < 2) {
+      return new FilterRequest();
+    }
+    try {
+      return MAPPER.treeToValue(params.get(1), FilterRequest.class);
+    } catch (JsonProcessingException e) {
+      throw new JsonRpcInvalidParamsException("invalid logs filter: " + e.getOriginalMessage());
+    }
+  }
+
+  private boolean unsubscribe(JsonNode params) throws JsonRpcInvalidParamsException {
+    if (!params.isArray() || params.size() != 1 || !params.get(0).isTextual()) {
+      throw new JsonRpcInvalidParamsException("invalid unsubscribe params");
+    }
+    String subscriptionId = params.get(0).asText();
+    subscriptionIds.remove(subscriptionId);
+    return subscriptions.unsubscribe(this, subscriptionId);
+  }
+
+  private void unsubscribeAll() {
+    for (String subscriptionId : subscriptionIds) {
+      subscriptions.unsubscribe(this, subscriptionId);
+    }
+    subscriptionIds.clear();
+  }
+
+  private void disconnectSlowConsumer(Session current) {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    Metrics.counterInc(MetricKeys.Counter.JSONRPC_SLOW_CONSUMERS, 1);
+    logger.info("Disconnect slow websocket consumer {}, {} messages not sent.",
+        current.getRemoteAddress(), sendBuffer);
+    unsubscribeAll();
+    // a close frame would wait behind the messages not sent
+    try {
+      current.disconnect();
+    } catch (IOException e) {
+      logger.debug("Disconnect websocket failed: {}.", e.getMessage());
+    }
+  }
+
+  private void sendResult(JsonNode id, JsonNode result) {
+    ObjectNode response = MAPPER.createObjectNode();
+    response.put("jsonrpc", "2.0");
+    response.set("id", id);
+    response.set("result", result);
+    sendResponse(response);
+  }
+
+  private void sendError(JsonNode id, int code, String message) {
+    ObjectNode error = MAPPER.createObjectNode();
+    error.put("code", code);
+    error.put("message", message);
+    ObjectNode response = MAPPER.createObjectNode();
+    response.put("jsonrpc", "2.0");
+    response.set("id", id);
+    response.set("error", error);
+    sendResponse(response);
+  }
+
+  private void sendResponse(ObjectNode response) {
+    try {
+      send(MAPPER.writeValueAsString(response));
+    } catch (JsonProcessingException e) {
+      logger.warn("Websocket response failed: {}.", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package org.tron.core.services.jsonrpc.websocket;
+
+import org.eclipse.jetty.websocket.servlet.WebSocketServlet;
+import org.eclipse.jetty.websocket.servlet.WebSocketServletFactory;
+import org.springframework.stereotype.Component;
+import org.tron.common.parameter.CommonParameter;
+
+@Component
+public class JsonRpcWebSocketServlet extends WebSocketServlet {
+
+  private static final long IDLE_TIMEOUT_MS = 300_000L;
+  private static final int MAX_MESSAGE_SIZE = 64 * 1024;
+
+  @Override
+  public void configure(WebSocketServletFactory factory) {
+    factory.getPolicy().setIdleTimeout(IDLE_TIMEOUT_MS);
+    factory.getPolicy().setMaxTextMessageSize(MAX_MESSAGE_SIZE);
+    int sendBuffer = CommonParameter.getInstance().getJsonRpcWebSocketSendBuffer();
+    factory.setCreator((request, response) ->
+        new JsonRpcWebSocket(Subscriptions.getInstance(), sendBuffer));
+  }
+}
@@ -0,0 +1,136 @@
+package org.tron.core.services.jsonrpc.websocket;
+
+import static org.tron.core.services.jsonrpc.JsonRpcApiUtil.generateFilterId;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.logsfilter.capsule.BlockFilterCapsule;
+import org.tron.common.logsfilter.capsule.LogsFilterCapsule;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.Metrics;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.services.jsonrpc.filters.LogFilter;
+import org.tron.core.services.jsonrpc.filters.LogFilterIndex;
+import org.tron.core.services.jsonrpc.filters.LogMatch;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+
+/**
+ * The eth_subscribe subscriptions of the websocket connections of the full node. They are
+ * notified from the same block and logs filter capsules as the polled filters, on the filter
+ * thread; a notification is only queued on its connection, never waited for.
+ */
+@Slf4j(topic = "API")
+public class Subscriptions {
+
+  public static final String NEW_HEADS = "newHeads";
+  public static final String LOGS = "logs";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Getter
+  private static final Subscriptions instance = new Subscriptions();
+
+  private final Map<String, JsonRpcWebSocket> owners = new ConcurrentHashMap<>();
+  private final Set<String> newHeads = ConcurrentHashMap.newKeySet();
+  private final LogFilterIndex logs = new LogFilterIndex();
+
+  public String subscribeNewHeads(JsonRpcWebSocket socket) {
+    String subscriptionId = ByteArray.toJsonHex(generateFilterId());
+    owners.put(subscriptionId, socket);
+    newHeads.add(subscriptionId);
+    updateGauge();
+    return subscriptionId;
+  }
+
+  public String subscribeLogs(JsonRpcWebSocket socket, LogFilter logFilter) {
+    String subscriptionId = ByteArray.toJsonHex(generateFilterId());
+    owners.put(subscriptionId, socket);
+    logs.add(subscriptionId, logFilter);
+    updateGauge();
+    return subscriptionId;
+  }
+
+  /**
+   * removes the subscription if it is one of the connection.
+   */
+  public boolean unsubscribe(JsonRpcWebSocket socket, String subscriptionId) {
+    if (!owners.remove(subscriptionId, socket)) {
+      return false;
+    }
+    newHeads.remove(subscriptionId);
+    logs.remove(subscriptionId);
+    updateGauge();
+    return true;
+  }
+
+  public int size() {
+    return owners.size();
+  }
+
+  public void handleBlock(BlockFilterCapsule blockFilterCapsule) {
+    if (blockFilterCapsule.isSolidified() || blockFilterCapsule.getHeader() == null
+        || newHeads.isEmpty()) {
+      return;
+    }
+    JsonNode header = MAPPER.valueToTree(blockFilterCapsule.getHeader());
+    for (String subscriptionId : newHeads) {
+      notify(subscriptionId, header);
+    }
+  }
+
+  public void handleLogs(LogsFilterCapsule logsFilterCapsule) {
+    if (logsFilterCapsule.isSolidified() || logs.size() == 0) {
+      return;
+    }
+    long blockNum = logsFilterCapsule.getBlockNumber();
+    List<TransactionInfo> transactionInfoList = logsFilterCapsule.getTxInfoList();
+    int logIndexInBlock = 0;
+    for (int i = 0; i < transactionInfoList.size(); i++) {
+      TransactionInfo transactionInfo = transactionInfoList.get(i);
+      for (Log log : transactionInfo.getLogList()) {
+        for (String subscriptionId : logs.candidates(log)) {
+          LogFilter logFilter = logs.get(subscriptionId);
+          if (logFilter != null && logFilter.matchesExactly(log)) {
+            notify(subscriptionId, MAPPER.valueToTree(LogMatch.newElement(
+                logsFilterCapsule.getBlockHash(), blockNum, transactionInfo, i, log,
+                logIndexInBlock, logsFilterCapsule.isRemoved())));
+          }
+        }
+        logIndexInBlock += 1;
+      }
+    }
+  }
+
+  private void notify(String subscriptionId, JsonNode result) {
+    JsonRpcWebSocket socket = owners.get(subscriptionId);
+    if (socket == null) {
+      return;
+    }
+    ObjectNode params = MAPPER.createObjectNode();
+    params.put("subscription", subscriptionId);
+    params.set("result", result);
+    ObjectNode notification = MAPPER.createObjectNode();
+    notification.put("jsonrpc", "2.0");
+    notification.put("method", "eth_subscription");
+    notification.set("params", params);
+    try {
+      socket.send(MAPPER.writeValueAsString(notification));
+    } catch (JsonProcessingException e) {
+      logger.warn("Notify subscription {} failed: {}.", subscriptionId, e.getMessage());
+    }
+  }
+
+  private void updateGauge() {
+    Metrics.gaugeSet(MetricKeys.Gauge.JSONRPC_SUBSCRIPTIONS, newHeads.size(), NEW_HEADS);
+    Metrics.gaugeSet(MetricKeys.Gauge.JSONRPC_SUBSCRIPTIONS, logs.size(), LOGS);
+  }
+}
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Random;
 import lombok.extern.slf4j.Slf4j;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.Test;
@@ -581,4 +582,87 @@ public class DataWordTest {
   }
 
 
+  @Test
+  public void testArithmeticMatchesBigInteger() {
+    Random random = new Random(256);
+    for (int i = 0; i < 2000; i++) {
+      byte[] a = randomWord(random);
+      byte[] b = randomWord(random);
+      BigInteger x = new BigInteger(1, a);
+      BigInteger y = new BigInteger(1, b);
+
+      DataWord w = new DataWord(a.clone());
+      w.mul(new DataWord(b.clone()));
+      assertEquals(x.multiply(y).and(DataWord.MAX_VALUE), w.value());
+
+      w = new DataWord(a.clone());
+      w.sub(new DataWord(b.clone()));
+      assertEquals(x.subtract(y).and(DataWord.MAX_VALUE), w.value());
+
+      if (y.signum() != 0) {
+        w = new DataWord(a.clone());
+        w.div(new DataWord(b.clone()));
+        assertEquals(x.divide(y), w.value());
+
+        w = new DataWord(a.clone());
+        w.mod(new DataWord(b.clone()));
+        assertEquals(x.mod(y), w.value());
+      }
+
+      assertEquals(Integer.signum(x.compareTo(y)),
+          new DataWord(a).compareTo(new DataWord(b)));
+      assertEquals(Integer.signum(new BigInteger(a).compareTo(new BigInteger(b))),
+          new DataWord(a).sCompareTo(new DataWord(b)));
+    }
+  }
+
+  @Test
+  public void testExpMatchesBigInteger() {
+    Random random = new Random(2);
+    for (int i = 0; i < 200; i++) {
+      byte[] a = randomWord(random);
+      byte[] b = randomWord(random);
+      DataWord w = new DataWord(a.clone());
+      w.exp(new DataWord(b));
+      assertEquals(new BigInteger(1, a).modPow(new BigInteger(1, b), DataWord._2_256),
+          w.value());
+    }
+    DataWord zero = DataWord.ZERO();
+    zero.exp(DataWord.ZERO());
+    assertEquals(DataWord.ONE(), zero);
+  }
+
+  @Test
+  public void testExpEdgeExponents() {
+    DataWord highBit = new DataWord(
+        "8000000000000000000000000000000000000000000000000000000000000000");
+    String[] bases = {"00", "01", "02", "03",
+        "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"};
+    for (String base : bases) {
+      BigInteger x = new DataWord(base).value();
+
+      DataWord w = new DataWord(base);
+      w.exp(DataWord.ZERO());
+      assertEquals(base, DataWord.ONE(), w);
+
+      w = new DataWord(base);
+      w.exp(DataWord.ONE());
+      assertEquals(base, new DataWord(base), w);
+
+      w = new DataWord(base);
+      w.exp(highBit);
+      assertEquals(base, x.modPow(highBit.value(), DataWord._2_256), w.value());
+    }
+  }
+
+  private static byte[] randomWord(Random random) {
+    byte[] word = new byte[32];
+    // mix small and full width values so that the long fast paths are covered
+    int length = random.nextBoolean() ? 1 + random.nextInt(8) : 32;
+    byte[] tmp = new byte[length];
+    random.nextBytes(tmp);
+    System.arraycopy(tmp, 0, word, 32 - length, length);
+    return word;
+  }
+
 }
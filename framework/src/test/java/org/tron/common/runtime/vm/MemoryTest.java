@@ -563,4 +563,25 @@ public class MemoryTest {
   }
 
 
+  @Test
+  public void memoryGrowKeepsData() {
+
+    Memory memoryBuffer = new Memory();
+    byte[] word = new byte[WORD_SIZE];
+    for (int i = 0; i < 10; ++i) {
+      Arrays.fill(word, (byte) (i + 1));
+      memoryBuffer.write(i * CHUNK_SIZE + 900, word, word.length, false);
+    }
+
+    assertTrue(memoryBuffer.size() == 9 * CHUNK_SIZE + 960);
+    assertTrue(memoryBuffer.internalSize() == 10 * CHUNK_SIZE);
+    assertTrue(memoryBuffer.getChunks().size() == 10);
+    for (int i = 0; i < 10; ++i) {
+      Arrays.fill(word, (byte) (i + 1));
+      assertArrayEquals(word, memoryBuffer.read(i * CHUNK_SIZE + 900, WORD_SIZE));
+      assertArrayEquals(word, memoryBuffer.readWord(i * CHUNK_SIZE + 900).getData());
+      assertTrue(memoryBuffer.readByte(i * CHUNK_SIZE + 899) == 0);
+    }
+  }
+
 }
@@ -0,0 +1,94 @@
+package org.tron.common.runtime.vm;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.vm.program.ProgramPrecompile;
+import org.tron.core.vm.program.Stack;
+
+public class ProgramPrecompileTest {
+
+  @Test
+  public void testJumpDest() {
+    // JUMPDEST PUSH2 0x5b5b JUMPDEST PUSH1 0x5b ... JUMPDEST at 70
+    byte[] ops = new byte[71];
+    byte[] head = Hex.decode("5b615b5b5b605b");
+    System.arraycopy(head, 0, ops, 0, head.length);
+    ops[70] = 0x5b;
+
+    ProgramPrecompile precompile = ProgramPrecompile.compile(ops);
+    Assert.assertTrue(precompile.hasJumpDest(0));
+    Assert.assertFalse(precompile.hasJumpDest(1));
+    Assert.assertFalse(precompile.hasJumpDest(2));
+    Assert.assertFalse(precompile.hasJumpDest(3));
+    Assert.assertTrue(precompile.hasJumpDest(4));
+    Assert.assertFalse(precompile.hasJumpDest(6));
+    Assert.assertTrue(precompile.hasJumpDest(70));
+    Assert.assertFalse(precompile.hasJumpDest(71));
+    Assert.assertFalse(precompile.hasJumpDest(128));
+    Assert.assertFalse(precompile.hasJumpDest(-1));
+    Assert.assertFalse(precompile.hasJumpDest(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testTruncatedPush() {
+    ProgramPrecompile precompile = ProgramPrecompile.compile(Hex.decode("5b7f5b5b"));
+    Assert.assertTrue(precompile.hasJumpDest(0));
+    Assert.assertFalse(precompile.hasJumpDest(2));
+    Assert.assertFalse(precompile.hasJumpDest(3));
+  }
+
+  @Test
+  public void testBasicBlocks() {
+    // PUSH1 1 PUSH1 2 ADD | JUMPDEST POP POP STOP | PUSH1 0
+    byte[] ops = Hex.decode("60016002015b5050006000");
+    ProgramPrecompile precompile = ProgramPrecompile.compile(ops);
+    Assert.assertTrue(precompile.isBlockStart(0));
+    Assert.assertFalse(precompile.isBlockStart(2));
+    Assert.assertTrue(precompile.isBlockStart(5));
+    Assert.assertTrue(precompile.isBlockStart(9));
+
+    Assert.assertEquals(5, precompile.verifiedBlockEnd(0, 0));
+    Assert.assertEquals(-1, precompile.verifiedBlockEnd(0, Stack.MAX_SIZE - 1));
+    Assert.assertEquals(-1, precompile.verifiedBlockEnd(5, 1));
+    Assert.assertEquals(9, precompile.verifiedBlockEnd(5, 2));
+    Assert.assertEquals(11, precompile.verifiedBlockEnd(9, 0));
+    Assert.assertEquals(-1, precompile.verifiedBlockEnd(2, 10));
+  }
+
+  @Test
+  public void testSharedCache() {
+    byte[] ops = Hex.decode("6001565b00");
+    ProgramPrecompile first = ProgramPrecompile.getOrCompile(ops);
+    Assert.assertSame(first, ProgramPrecompile.getOrCompile(ops.clone()));
+    Assert.assertTrue(first.hasJumpDest(3));
+    Assert.assertFalse(first.hasJumpDest(0));
+  }
+
+  @Test
+  public void testForgedCodeHash() {
+    // PUSH1 3 JUMP JUMPDEST STOP, a deployment may claim its code hash
+    byte[] victim = Hex.decode("6003565b00");
+    // JUMPDEST PUSH2 0x5b5b STOP, the init code run under the forged hash
+    byte[] init = Hex.decode("5b615b5b00");
+    ProgramPrecompile forged = ProgramPrecompile.getOrCompile(init);
+    Assert.assertTrue(forged.hasJumpDest(0));
+
+    ProgramPrecompile precompile = ProgramPrecompile.getOrCompile(victim);
+    Assert.assertNotSame(forged, precompile);
+    Assert.assertFalse(precompile.hasJumpDest(0));
+    Assert.assertTrue(precompile.hasJumpDest(3));
+  }
+
+  @Test
+  public void testForgedCodeHashStackBounds() {
+    // STOP, needs nothing on the stack
+    ProgramPrecompile forged = ProgramPrecompile.getOrCompile(Hex.decode("00"));
+    Assert.assertEquals(1, forged.verifiedBlockEnd(0, 0));
+
+    // ADD STOP, the underflow of an empty stack is still checked per instruction
+    ProgramPrecompile precompile = ProgramPrecompile.getOrCompile(Hex.decode("0100"));
+    Assert.assertEquals(-1, precompile.verifiedBlockEnd(0, 0));
+    Assert.assertEquals(2, precompile.verifiedBlockEnd(0, 2));
+  }
+}
@@ -0,0 +1,48 @@
+package org.tron.common.runtime.vm;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.vm.program.Program;
+import org.tron.core.vm.program.Stack;
+
+public class StackTest {
+
+  @Test
+  public void testPushPopSwap() {
+    Stack stack = new Stack();
+    for (int i = 0; i < 4; i++) {
+      stack.push(new DataWord(i));
+    }
+    Assert.assertEquals(4, stack.size());
+    Assert.assertEquals(new DataWord(3), stack.peek());
+    Assert.assertEquals(new DataWord(1), stack.get(1));
+
+    stack.swap(3, 0);
+    Assert.assertEquals(new DataWord(0), stack.pop());
+    Assert.assertEquals(new DataWord(2), stack.pop());
+    Assert.assertEquals(new DataWord(1), stack.pop());
+    Assert.assertEquals(new DataWord(3), stack.pop());
+    Assert.assertTrue(stack.isEmpty());
+  }
+
+  @Test
+  public void testBounds() {
+    Stack stack = new Stack();
+    try {
+      stack.pop();
+      Assert.fail();
+    } catch (Program.StackTooSmallException e) {
+      Assert.assertEquals(0, stack.size());
+    }
+
+    for (int i = 0; i < Stack.MAX_SIZE; i++) {
+      stack.push(DataWord.ZERO());
+    }
+    try {
+      stack.push(DataWord.ONE());
+      Assert.fail();
+    } catch (Program.StackTooLargeException e) {
+      Assert.assertEquals(Stack.MAX_SIZE, stack.size());
+    }
+  }
+}
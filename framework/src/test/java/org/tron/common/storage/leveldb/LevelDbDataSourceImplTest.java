@@ -27,6 +27,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -338,6 +339,25 @@ public class LevelDbDataSourceImplTest {
     dataSource.closeDB();
   }
 
+  @Test
+  public void multiGetTest() {
+    LevelDbDataSourceImpl dataSource = new LevelDbDataSourceImpl(
+        Args.getInstance().getOutputDirectory(), "test_multiGet");
+    dataSource.initDB();
+    dataSource.resetDb();
+    putSomeKeyValue(dataSource);
+
+    byte[] absent = "00000009aa".getBytes();
+    Map<WrappedByteArray, byte[]> result = dataSource.multiGet(Arrays.asList(key1, key6, absent));
+    Assert.assertEquals(2, result.size());
+    Assert.assertArrayEquals(value1, result.get(WrappedByteArray.of(key1)));
+    Assert.assertArrayEquals(value6, result.get(WrappedByteArray.of(key6)));
+    Assert.assertTrue(dataSource.multiGet(Collections.emptyList()).isEmpty());
+
+    dataSource.resetDb();
+    dataSource.closeDB();
+  }
+
   @Test
   public void initDbTest() {
     exit.expectSystemExitWithStatus(1);
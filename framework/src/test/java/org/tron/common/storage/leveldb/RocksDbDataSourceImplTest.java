@@ -9,6 +9,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -23,6 +24,7 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.contrib.java.lang.system.ExpectedSystemExit;
+import org.tron.common.setting.RocksDbSettings;
 import org.tron.common.storage.rocksdb.RocksDbDataSourceImpl;
 import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.FileUtil;
@@ -388,6 +390,60 @@ public class RocksDbDataSourceImplTest {
     dataSource.closeDB();
   }
 
+  @Test
+  public void testColumnFamilies() {
+    RocksDbSettings settings = RocksDbSettings.getSettings();
+    String dir = Args.getInstance().getOutputDirectory() + File.separator + "test_cf";
+    RocksDbDataSourceImpl first = new RocksDbDataSourceImpl(dir, "test_cf_first",
+        RocksDbSettings.getDefaultSettings().withColumnFamilies(true));
+    RocksDbDataSourceImpl second = new RocksDbDataSourceImpl(dir, "test_cf_second",
+        RocksDbSettings.getSettings());
+    try {
+      Assert.assertSame(first.getDatabase(), second.getDatabase());
+      Assert.assertFalse(first.getDbPath().toFile().exists());
+      first.putData(key1, value1);
+      second.putData(key1, value2);
+      Assert.assertArrayEquals(value1, first.getData(key1));
+      Assert.assertArrayEquals(value2, second.getData(key1));
+
+      first.resetDb();
+      Assert.assertNull(first.getData(key1));
+      Assert.assertArrayEquals(value2, second.getData(key1));
+
+      first.closeDB();
+      // the instance stays open for the other column family
+      Assert.assertArrayEquals(value2, second.getData(key1));
+      second.closeDB();
+
+      second = new RocksDbDataSourceImpl(dir, "test_cf_second", RocksDbSettings.getSettings());
+      Assert.assertArrayEquals(value2, second.getData(key1));
+      second.closeDB();
+    } finally {
+      first.closeDB();
+      second.closeDB();
+      RocksDbSettings.setRocksDbSettings(settings);
+    }
+  }
+
+  @Test
+  public void multiGetTest() {
+    RocksDbDataSourceImpl dataSource = new RocksDbDataSourceImpl(
+        Args.getInstance().getOutputDirectory(), "test_multiGet");
+    dataSource.initDB();
+    dataSource.resetDb();
+    putSomeKeyValue(dataSource);
+
+    byte[] absent = "00000009aa".getBytes();
+    Map<WrappedByteArray, byte[]> result = dataSource.multiGet(Arrays.asList(key1, key6, absent));
+    Assert.assertEquals(2, result.size());
+    Assert.assertArrayEquals(value1, result.get(WrappedByteArray.of(key1)));
+    Assert.assertArrayEquals(value6, result.get(WrappedByteArray.of(key6)));
+    Assert.assertTrue(dataSource.multiGet(Collections.emptyList()).isEmpty());
+
+    dataSource.resetDb();
+    dataSource.closeDB();
+  }
+
   @Test
   public void initDbTest() {
     exit.expectSystemExitWithStatus(1);
@@ -141,6 +141,29 @@ public class BlockCapsuleTest {
     Assert.assertTrue(blockCapsule0.hasWitnessSignature());
   }
 
+  @Test
+  public void testRecoverWitnessSigner() throws Exception {
+    BlockCapsule block = new BlockCapsule(2, Sha256Hash.ZERO_HASH, 1234,
+        ByteString.copyFrom("1234567".getBytes()));
+    block.sign(ByteArray.fromHexString(privateKey));
+    byte[] address = PublicMethod.getAddressByteByPrivateKey(privateKey);
+    Assert.assertArrayEquals(address, block.recoverWitnessSigner());
+    // served from the signer cache
+    Assert.assertArrayEquals(address, block.recoverWitnessSigner());
+  }
+
+  @Test
+  public void testMerkleRootFollowsTransactions() {
+    BlockCapsule block = new BlockCapsule(3, Sha256Hash.ZERO_HASH, 1234,
+        ByteString.copyFrom("1234567".getBytes()));
+    Assert.assertEquals(Sha256Hash.ZERO_HASH, block.calcMerkleRoot());
+    block.addTransaction(new TransactionCapsule(TransferContract.newBuilder().setAmount(1L)
+        .build(), ContractType.TransferContract));
+    Sha256Hash root = block.calcMerkleRoot();
+    Assert.assertNotEquals(Sha256Hash.ZERO_HASH, root);
+    Assert.assertEquals(root, new BlockCapsule(block.getInstance()).calcMerkleRoot());
+  }
+
   @Test
   public void testGetTimeStamp() {
     Assert.assertEquals(1234L, blockCapsule0.getTimeStamp());
@@ -0,0 +1,109 @@
+package org.tron.core.capsule;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.crypto.Hash;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.exception.BadItemException;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+import org.tron.protos.Protocol.TransactionRet;
+
+@Slf4j
+public class TransactionRetCapsuleTest {
+
+  private static final int TX_COUNT = 2048;
+
+  private static byte[] id(int i) {
+    return Hash.sha3(ByteArray.fromInt(i));
+  }
+
+  private static byte[] block(int count) {
+    TransactionRet.Builder ret = TransactionRet.newBuilder()
+        .setBlockNumber(100).setBlockTimeStamp(200);
+    for (int i = 0; i < count; i++) {
+      ret.addTransactioninfo(TransactionInfo.newBuilder()
+          .setId(ByteString.copyFrom(id(i)))
+          .setFee(i)
+          .setBlockNumber(100)
+          .addLog(Log.newBuilder().setAddress(ByteString.copyFrom(id(-i)))
+              .addTopics(ByteString.copyFrom(id(i + TX_COUNT)))
+              .setData(ByteString.copyFrom(new byte[64])))
+          .build());
+    }
+    return ret.build().toByteArray();
+  }
+
+  private static TransactionInfo fullDecode(byte[] data, byte[] id) throws BadItemException {
+    ByteString key = ByteString.copyFrom(id);
+    for (TransactionInfo info : new TransactionRetCapsule(data).getInstance()
+        .getTransactioninfoList()) {
+      if (info.getId().equals(key)) {
+        return info;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  public void testFindTransactionInfo() throws BadItemException {
+    byte[] data = block(TX_COUNT);
+    for (int i : new int[] {0, 1, TX_COUNT / 2, TX_COUNT - 1}) {
+      TransactionInfo info = TransactionRetCapsule.findTransactionInfo(data, id(i));
+      Assert.assertNotNull(info);
+      Assert.assertEquals(i, info.getFee());
+      Assert.assertEquals(fullDecode(data, id(i)), info);
+    }
+    Assert.assertNull(TransactionRetCapsule.findTransactionInfo(data, id(TX_COUNT)));
+    Assert.assertNull(TransactionRetCapsule.findTransactionInfo(data, new byte[0]));
+    Assert.assertNull(TransactionRetCapsule.findTransactionInfo(new byte[0], id(0)));
+  }
+
+  @Test(expected = BadItemException.class)
+  public void testFindInCorruptData() throws BadItemException {
+    byte[] data = block(2);
+    byte[] truncated = new byte[data.length - 10];
+    System.arraycopy(data, 0, truncated, 0, truncated.length);
+    TransactionRetCapsule.findTransactionInfo(truncated, id(1));
+  }
+
+  @Test
+  public void testFindPerformance() throws BadItemException {
+    boolean enabled = false;
+    if (!enabled) {
+      Assert.assertTrue(true);
+      return;
+    }
+
+    byte[] data = block(TX_COUNT);
+    List<byte[]> ids = new ArrayList<>();
+    for (int i = 0; i < TX_COUNT; i += 16) {
+      ids.add(id(i));
+    }
+    int rounds = 20;
+
+    long start = System.nanoTime();
+    for (int r = 0; r < rounds; r++) {
+      for (byte[] id : ids) {
+        fullDecode(data, id);
+      }
+    }
+    long full = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int r = 0; r < rounds; r++) {
+      for (byte[] id : ids) {
+        TransactionRetCapsule.findTransactionInfo(data, id);
+      }
+    }
+    long scan = System.nanoTime() - start;
+
+    long lookups = (long) rounds * ids.size();
+    logger.info("{} txs per block, full decode: {} us/lookup, scan: {} us/lookup", TX_COUNT,
+        full / lookups / 1000, scan / lookups / 1000);
+  }
+}
@@ -0,0 +1,69 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class BlockCandidateTest {
+
+  private static final ByteString WITNESS = ByteString.copyFrom(new byte[] {0x41, 1});
+
+  @Test
+  public void testIsFor() {
+    BlockId head = new BlockId(Sha256Hash.of(true, new byte[] {1}), 10);
+    BlockCandidate candidate = new BlockCandidate(new BlockCapsule(11, head, 3000, WITNESS));
+    Assert.assertTrue(candidate.isFor(head, 3000, WITNESS));
+    // a new head
+    Assert.assertFalse(candidate.isFor(new BlockId(Sha256Hash.of(true, new byte[] {2}), 11),
+        3000, WITNESS));
+    // the slot is missed
+    Assert.assertFalse(candidate.isFor(head, 6000, WITNESS));
+    Assert.assertFalse(candidate.isFor(head, 3000, ByteString.copyFrom(new byte[] {0x41, 2})));
+  }
+
+  @Test
+  public void testAdd() {
+    BlockCapsule block = new BlockCapsule(1, Sha256Hash.ZERO_HASH, 3000, WITNESS);
+    BlockCandidate candidate = new BlockCandidate(block);
+    Assert.assertEquals(block.getInstance().getSerializedSize(), candidate.getSize());
+
+    TransactionCapsule trx = new TransactionCapsule(TransferContract.newBuilder()
+        .setOwnerAddress(WITNESS)
+        .setToAddress(ByteString.copyFrom(new byte[] {0x41, 0}))
+        .setAmount(1)
+        .build(), ContractType.TransferContract);
+    long trxPackSize = trx.computeTrxSizeForBlockMessage();
+    candidate.add(trx, trxPackSize, false, null);
+    candidate.postpone();
+    Assert.assertEquals(1, candidate.getTransactions().size());
+    Assert.assertEquals(block.getInstance().getSerializedSize() + trxPackSize,
+        candidate.getSize());
+    Assert.assertEquals(1, candidate.getPostponedCount());
+    Assert.assertSame(trx, candidate.getPacked(trx.getTransactionId()));
+    Assert.assertEquals(1, candidate.getPacked().size());
+    Assert.assertEquals(0, candidate.getShieldedCount());
+    Assert.assertTrue(candidate.getAccountSet().isEmpty());
+
+    candidate.add(trx, trxPackSize, true, "4101");
+    Assert.assertEquals(1, candidate.getShieldedCount());
+    Assert.assertTrue(candidate.getAccountSet().contains("4101"));
+    Assert.assertFalse(candidate.isSealed());
+    candidate.seal();
+    Assert.assertTrue(candidate.isSealed());
+  }
+
+  @Test
+  public void testExpired() {
+    BlockCandidate candidate = new BlockCandidate(
+        new BlockCapsule(1, Sha256Hash.ZERO_HASH, 3000, WITNESS));
+    Assert.assertFalse(candidate.isExpired(3000));
+    Assert.assertFalse(candidate.isExpired(4500));
+    Assert.assertTrue(candidate.isExpired(4501));
+  }
+}
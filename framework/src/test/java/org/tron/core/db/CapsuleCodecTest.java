@@ -0,0 +1,119 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.lang.reflect.Constructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheStrategies;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BytesCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.db2.SnapshotRootTest.ProtoCapsuleTest;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.exception.BadItemException;
+import org.tron.protos.Protocol.AccountType;
+
+@Slf4j
+public class CapsuleCodecTest {
+
+  private static byte[] account(int i) {
+    return new AccountCapsule(ByteString.copyFromUtf8("name" + i),
+        ByteString.copyFrom(new byte[] {0x41, (byte) i}), AccountType.Normal, i).getData();
+  }
+
+  @Test
+  public void testDecode() throws BadItemException {
+    byte[] data = account(1);
+    AccountCapsule account = CapsuleCodec.<AccountCapsule>of(AccountCapsule.class).decode(data);
+    Assert.assertEquals(new AccountCapsule(data).getInstance(), account.getInstance());
+
+    byte[] bytes = {1, 2, 3};
+    Assert.assertSame(bytes,
+        CapsuleCodec.<BytesCapsule>of(BytesCapsule.class).decode(bytes).getData());
+    // not registered, decoded by its byte[] constructor
+    Assert.assertArrayEquals(bytes,
+        CapsuleCodec.<ProtoCapsuleTest>of(ProtoCapsuleTest.class).decode(bytes).getData());
+  }
+
+  @Test(expected = BadItemException.class)
+  public void testDecodeBadItem() throws BadItemException {
+    CapsuleCodec.<TransactionCapsule>of(TransactionCapsule.class).decode(new byte[] {1, 2, 3});
+  }
+
+  @Test(expected = BadItemException.class)
+  public void testDecodeNull() throws BadItemException {
+    CapsuleCodec.<AccountCapsule>of(AccountCapsule.class).decode(null);
+  }
+
+  @Test
+  public void testDecodedCache() throws BadItemException {
+    TronCache<WrappedByteArray, Object> cache = CacheManager.allocate(CacheType.accountDecoded,
+        String.format(CacheStrategies.PATTERNS, 10, 10, "30s", 1));
+    CapsuleCodec<AccountCapsule> codec = CapsuleCodec.of(AccountCapsule.class);
+    AccountCapsule first = codec.decode(account(1), cache);
+    AccountCapsule second = codec.decode(account(1), cache);
+    Assert.assertNotSame(first, second);
+    Assert.assertSame(first.getInstance(), second.getInstance());
+
+    // capsules don't share updates
+    second.setBalance(100);
+    Assert.assertEquals(1, first.getBalance());
+    Assert.assertEquals(1, codec.decode(account(1), cache).getBalance());
+    Assert.assertEquals(100, codec.decode(second.getData(), cache).getBalance());
+    Assert.assertEquals(2, codec.decode(account(2), cache).getBalance());
+    CacheManager.release(cache);
+  }
+
+  @Test
+  public void testDecodePerformance() throws Exception {
+    boolean enabled = false;
+    if (!enabled) {
+      Assert.assertTrue(true);
+      return;
+    }
+
+    byte[][] accounts = new byte[256][];
+    for (int i = 0; i < accounts.length; i++) {
+      accounts[i] = account(i);
+    }
+    int rounds = 20_000;
+    CapsuleCodec<AccountCapsule> codec = CapsuleCodec.of(AccountCapsule.class);
+    TronCache<WrappedByteArray, Object> cache = CacheManager.allocate(CacheType.accountDecoded,
+        String.format(CacheStrategies.PATTERNS, 1000, 1000, "30s", 1));
+
+    long start = System.nanoTime();
+    for (int r = 0; r < rounds; r++) {
+      for (byte[] account : accounts) {
+        Constructor<AccountCapsule> constructor =
+            AccountCapsule.class.getConstructor(byte[].class);
+        constructor.newInstance((Object) account);
+      }
+    }
+    long reflective = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int r = 0; r < rounds; r++) {
+      for (byte[] account : accounts) {
+        codec.decode(account);
+      }
+    }
+    long direct = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int r = 0; r < rounds; r++) {
+      for (byte[] account : accounts) {
+        codec.decode(account, cache);
+      }
+    }
+    long cached = System.nanoTime() - start;
+
+    long reads = (long) rounds * accounts.length;
+    logger.info("account decode, reflective: {} ns, direct: {} ns, cached: {} ns",
+        reflective / reads, direct / reads, cached / reads);
+    CacheManager.release(cache);
+  }
+}
@@ -0,0 +1,68 @@
+package org.tron.core.db;
+
+import javax.annotation.Resource;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.core.Constant;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.ISession;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.store.DynamicPropertiesStore;
+
+public class DynamicPropertiesStoreTest extends BaseTest {
+
+  @Resource
+  private DynamicPropertiesStore dynamicPropertiesStore;
+
+  static {
+    dbPath = "output_DynamicPropertiesStore_test";
+    Args.setParam(new String[]{"--output-directory", dbPath}, Constant.TEST_CONF);
+  }
+
+  @Test
+  public void testMirrorFollowsWrites() {
+    dynamicPropertiesStore.saveTotalEnergyWeight(10);
+    Assert.assertEquals(10, dynamicPropertiesStore.getTotalEnergyWeight());
+    dynamicPropertiesStore.saveTotalEnergyWeight(11);
+    Assert.assertEquals(11, dynamicPropertiesStore.getTotalEnergyWeight());
+    Assert.assertEquals(11, dynamicPropertiesStore.getTotalEnergyWeight());
+
+    dynamicPropertiesStore.saveBlockFilledSlotsIndex(3);
+    Assert.assertEquals(3, dynamicPropertiesStore.getBlockFilledSlotsIndex());
+  }
+
+  @Test
+  public void testMirrorFollowsSessions() {
+    dynamicPropertiesStore.saveTotalNetWeight(1);
+    Assert.assertEquals(1, dynamicPropertiesStore.getTotalNetWeight());
+
+    try (ISession session = dbManager.getRevokingStore().buildSession(true)) {
+      dynamicPropertiesStore.saveTotalNetWeight(2);
+      Assert.assertEquals(2, dynamicPropertiesStore.getTotalNetWeight());
+      // revoked on close
+    }
+    Assert.assertEquals(1, dynamicPropertiesStore.getTotalNetWeight());
+
+    try (ISession session = dbManager.getRevokingStore().buildSession(true)) {
+      dynamicPropertiesStore.saveTotalNetWeight(3);
+      Assert.assertEquals(3, dynamicPropertiesStore.getTotalNetWeight());
+      try (ISession inner = dbManager.getRevokingStore().buildSession()) {
+        dynamicPropertiesStore.saveTotalNetWeight(4);
+        inner.merge();
+      }
+      Assert.assertEquals(4, dynamicPropertiesStore.getTotalNetWeight());
+      session.commit();
+    }
+    Assert.assertEquals(4, dynamicPropertiesStore.getTotalNetWeight());
+
+    // the committed snapshot is not solidified yet
+    dynamicPropertiesStore.setCursor(Chainbase.Cursor.SOLIDITY);
+    try {
+      Assert.assertEquals(1, dynamicPropertiesStore.getTotalNetWeight());
+    } finally {
+      dynamicPropertiesStore.setCursor(Chainbase.Cursor.HEAD);
+    }
+    Assert.assertEquals(4, dynamicPropertiesStore.getTotalNetWeight());
+  }
+}
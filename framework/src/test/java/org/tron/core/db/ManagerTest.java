@@ -35,6 +35,8 @@ import org.tron.common.utils.ReflectUtils;
 import org.tron.common.utils.Sha256Hash;
 import org.tron.common.utils.StringUtil;
 import org.tron.common.utils.Utils;
+import org.tron.consensus.base.Param;
+import org.tron.consensus.base.Param.Miner;
 import org.tron.consensus.dpos.DposSlot;
 import org.tron.core.ChainBaseManager;
 import org.tron.core.Constant;
@@ -1045,6 +1047,102 @@ public class ManagerTest extends BlockGenerate {
     return blockCapsule;
   }
 
+  @Test
+  public void prepareAndGenerateBlock() throws Exception {
+    dbManager.stopRePushThread();
+    ECKey owner = fundedAccount();
+    Miner miner = miner();
+    long blockTime = System.currentTimeMillis() / 3000 * 3000 + 60_000;
+
+    dbManager.prepareBlock(miner, blockTime);
+    TransactionCapsule trx1 = transfer(owner, 1);
+    dbManager.pushTransaction(trx1);
+    // packed into the prepared block, still seen as pending
+    Assert.assertEquals(0, dbManager.getPendingTransactions().size());
+    Assert.assertEquals(1, dbManager.getCandidateTransactions().size());
+    String id1 = trx1.getTransactionId().toString();
+    Assert.assertNotNull(dbManager.getTxFromPending(id1));
+    Assert.assertTrue(dbManager.getTxListFromPending().contains(id1));
+    Assert.assertEquals(1, dbManager.getPendingSize());
+
+    // the next one does not fit, the block is sealed and it is left pending
+    BlockCandidate candidate = ReflectUtils.getFieldValue(dbManager, "candidate");
+    ReflectUtils.setFieldValue(candidate, "size",
+        (long) Parameter.ChainConstant.BLOCK_SIZE);
+    TransactionCapsule trx2 = transfer(owner, 2);
+    dbManager.pushTransaction(trx2);
+    Assert.assertTrue(candidate.isSealed());
+    Assert.assertEquals(1, dbManager.getPendingTransactions().size());
+    Assert.assertEquals(2, dbManager.getPendingSize());
+
+    BlockCapsule block = dbManager.generateBlock(miner, blockTime,
+        System.currentTimeMillis() + 1000);
+    Assert.assertEquals(1, block.getTransactions().size());
+    Assert.assertEquals(trx1.getTransactionId(), block.getTransactions().get(0)
+        .getTransactionId());
+    Assert.assertTrue(dbManager.getCandidateTransactions().isEmpty());
+    Assert.assertNotNull(dbManager.getTxFromPending(trx2.getTransactionId().toString()));
+
+    // a missed slot drops the block, the transaction is executed as a pending one
+    dbManager.prepareBlock(miner, System.currentTimeMillis() - 3000);
+    TransactionCapsule trx3 = transfer(owner, 3);
+    dbManager.pushTransaction(trx3);
+    Assert.assertTrue(dbManager.getCandidateTransactions().isEmpty());
+    Assert.assertEquals(2, dbManager.getPendingTransactions().size());
+  }
+
+  @Test
+  public void prepareAndPushBlock() throws Exception {
+    dbManager.stopRePushThread();
+    ECKey owner = fundedAccount();
+    Miner miner = miner();
+
+    dbManager.prepareBlock(miner, System.currentTimeMillis() / 3000 * 3000 + 60_000);
+    TransactionCapsule trx = transfer(owner, 1);
+    dbManager.pushTransaction(trx);
+    Assert.assertEquals(1, dbManager.getCandidateTransactions().size());
+
+    // a block arrives, the prepared one is dropped and its transactions are pushed again
+    try {
+      dbManager.pushBlock(blockCapsule2);
+    } catch (UnLinkedBlockException e) {
+      // the prepared block is dropped before the block is linked
+    }
+    Assert.assertTrue(dbManager.getCandidateTransactions().isEmpty());
+    Assert.assertEquals(0, dbManager.getPendingTransactions().size());
+    Assert.assertNotNull(dbManager.getRePushTransactions().get(trx.getTransactionId()));
+    Assert.assertEquals(1, dbManager.getPendingSize());
+  }
+
+  private Miner miner() {
+    byte[] key = ByteArray.fromHexString(privateKey);
+    ByteString witness = ByteString.copyFrom(PublicMethod.getAddressByteByPrivateKey(privateKey));
+    return Param.getInstance().new Miner(key, witness, witness);
+  }
+
+  private ECKey fundedAccount() {
+    ECKey ecKey = new ECKey(Utils.getRandom());
+    chainManager.getAccountStore().put(ecKey.getAddress(), new AccountCapsule(
+        Account.newBuilder().setAddress(ByteString.copyFrom(ecKey.getAddress()))
+            .setBalance(1_000_000_000L).build()));
+    dbManager.updateRecentBlock(chainManager.getHead());
+    return ecKey;
+  }
+
+  private TransactionCapsule transfer(ECKey owner, long amount) {
+    TransferContract contract = TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(owner.getAddress()))
+        .setToAddress(ByteString.copyFrom(PublicMethod.getAddressByteByPrivateKey(privateKey)))
+        .setAmount(amount)
+        .build();
+    TransactionCapsule trx = new TransactionCapsule(contract, ContractType.TransferContract);
+    chainManager.setBlockReference(trx);
+    trx.setExpiration(chainManager.getHeadBlockTimeStamp() + 60_000);
+    trx.setTime(System.currentTimeMillis());
+    trx.sign(owner.getPrivKeyBytes());
+    return trx;
+  }
+
   @Test
   public void testExpireTransaction() {
     TransferContract tc =
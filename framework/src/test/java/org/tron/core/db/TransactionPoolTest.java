@@ -0,0 +1,132 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class TransactionPoolTest {
+
+  private static int count;
+
+  private static TransactionCapsule trx(int owner, long order, long time, long expiration) {
+    TransferContract contract = TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(new byte[] {0x41, (byte) owner}))
+        .setToAddress(ByteString.copyFrom(new byte[] {0x41, 0}))
+        .setAmount(++count)
+        .build();
+    TransactionCapsule trx = new TransactionCapsule(contract, ContractType.TransferContract);
+    trx.setExpiration(expiration);
+    trx.setOrder(order);
+    trx.setTime(time);
+    return trx;
+  }
+
+  private static List<TransactionCapsule> drain(TransactionPool pool) {
+    List<TransactionCapsule> result = new ArrayList<>();
+    pool.drainTo(result);
+    return result;
+  }
+
+  @Test
+  public void testOrder() {
+    TransactionPool fifo = new TransactionPool(false);
+    TransactionPool sorted = new TransactionPool(true);
+    TransactionCapsule t1 = trx(1, 10, 0, 0);
+    TransactionCapsule t2 = trx(2, 30, 0, 0);
+    TransactionCapsule t3 = trx(3, 30, 0, 0);
+    TransactionCapsule t4 = trx(1, 20, 0, 0);
+    for (TransactionCapsule trx : new TransactionCapsule[] {t1, t2, t3, t4}) {
+      fifo.add(trx);
+      sorted.add(trx);
+    }
+    // a duplicate is kept once
+    fifo.add(t1);
+
+    List<TransactionCapsule> expected = new ArrayList<>();
+    expected.add(t1);
+    expected.add(t2);
+    expected.add(t3);
+    expected.add(t4);
+    Assert.assertEquals(expected, drain(fifo));
+
+    Assert.assertEquals(t2, sorted.peek());
+    Assert.assertEquals(2, sorted.getByOwner(new byte[] {0x41, 1}).size());
+    Assert.assertEquals(t4, sorted.getByOwner(new byte[] {0x41, 1}).get(0));
+    Assert.assertEquals(3, sorted.getOwnerCounts().size());
+    expected.clear();
+    expected.add(t2);
+    expected.add(t3);
+    expected.add(t4);
+    expected.add(t1);
+    Assert.assertEquals(expected, drain(sorted));
+    Assert.assertTrue(sorted.getOwnerCounts().isEmpty());
+    Assert.assertNull(sorted.poll());
+  }
+
+  @Test
+  public void testEvict() {
+    TransactionPool pool = new TransactionPool(true, 2);
+    TransactionCapsule t1 = trx(1, 10, 0, 0);
+    TransactionCapsule t2 = trx(2, 20, 0, 0);
+    TransactionCapsule t3 = trx(3, 5, 0, 0);
+    TransactionCapsule t4 = trx(4, 30, 0, 0);
+    Assert.assertTrue(pool.offer(t1));
+    Assert.assertTrue(pool.offer(t2));
+    // the lowest itself
+    Assert.assertFalse(pool.offer(t3));
+    Assert.assertTrue(pool.offer(t4));
+    Assert.assertEquals(2, pool.size());
+    Assert.assertEquals(0, pool.remainingCapacity());
+    Assert.assertNull(pool.get(t1.getTransactionId()));
+    Assert.assertNull(pool.get(t3.getTransactionId()));
+    Assert.assertEquals(t4, pool.get(t4.getTransactionId()));
+    Assert.assertTrue(pool.getByOwner(new byte[] {0x41, 1}).isEmpty());
+  }
+
+  @Test
+  public void testNoEvictWithoutSort() {
+    TransactionPool pool = new TransactionPool(false, 1);
+    TransactionCapsule t1 = trx(1, 10, 0, 0);
+    TransactionCapsule t2 = trx(2, 20, 0, 0);
+    Assert.assertTrue(pool.offer(t1));
+    // no fee to compare, the transaction accepted before is kept
+    Assert.assertTrue(pool.offer(t2));
+    Assert.assertEquals(2, pool.size());
+  }
+
+  @Test
+  public void testRemove() {
+    TransactionPool pool = new TransactionPool(false);
+    TransactionCapsule t1 = trx(1, 0, 100, 3000);
+    TransactionCapsule t2 = trx(1, 0, 200, 1000);
+    TransactionCapsule t3 = trx(2, 0, 300, 2000);
+    TransactionCapsule t4 = trx(2, 0, 400, 4000);
+    pool.add(t1);
+    pool.add(t2);
+    pool.add(t3);
+    pool.add(t4);
+
+    List<TransactionCapsule> removed = pool.removeTimeout(200);
+    Assert.assertEquals(1, removed.size());
+    Assert.assertEquals(t1, removed.get(0));
+
+    removed = pool.removeExpired(2000);
+    Assert.assertEquals(2, removed.size());
+    Assert.assertEquals(t2, removed.get(0));
+    Assert.assertEquals(t3, removed.get(1));
+    Assert.assertFalse(pool.contains(t3));
+
+    Iterator<TransactionCapsule> iterator = pool.iterator();
+    Assert.assertEquals(t4, iterator.next());
+    iterator.remove();
+    Assert.assertFalse(iterator.hasNext());
+    Assert.assertTrue(pool.isEmpty());
+    Assert.assertFalse(pool.remove(t4));
+  }
+}
@@ -0,0 +1,153 @@
+package org.tron.core.db2;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
+import org.tron.core.db2.SnapshotRootTest.ProtoCapsuleTest;
+import org.tron.core.db2.common.IRevokingDB;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.db2.core.SnapshotManager;
+
+public class SnapshotImplTest {
+
+  private static final String OUTPUT = "output_SnapshotImpl_test";
+
+  private TronApplicationContext context;
+  private SnapshotManager revokingDatabase;
+  private TestRevokingTronStore tronDatabase;
+
+  @Before
+  public void init() {
+    Args.setParam(new String[]{"-d", OUTPUT}, Constant.TEST_CONF);
+    context = new TronApplicationContext(DefaultConfig.class);
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+    tronDatabase = new TestRevokingTronStore("testSnapshotImpl-test");
+    revokingDatabase.add(tronDatabase.getRevokingDB());
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+  }
+
+  @After
+  public void removeDb() {
+    Args.clearParam();
+    context.destroy();
+    tronDatabase.close();
+    FileUtil.deleteDir(new File(OUTPUT));
+    revokingDatabase.getCheckTmpStore().close();
+  }
+
+  @Test
+  public synchronized void testGetAfterRevoke() {
+    byte[] key = "revoke".getBytes();
+    tronDatabase.put(key, new ProtoCapsuleTest("root".getBytes()));
+
+    try (ISession outer = revokingDatabase.buildSession()) {
+      tronDatabase.put(key, new ProtoCapsuleTest("outer".getBytes()));
+      try (ISession inner = revokingDatabase.buildSession()) {
+        tronDatabase.put(key, new ProtoCapsuleTest("inner".getBytes()));
+        Assert.assertEquals(new ProtoCapsuleTest("inner".getBytes()), tronDatabase.get(key));
+      }
+      Assert.assertEquals(new ProtoCapsuleTest("outer".getBytes()), tronDatabase.get(key));
+
+      try (ISession inner = revokingDatabase.buildSession()) {
+        tronDatabase.delete(key);
+        Assert.assertNull(tronDatabase.get(key));
+      }
+      Assert.assertEquals(new ProtoCapsuleTest("outer".getBytes()), tronDatabase.get(key));
+    }
+    Assert.assertEquals(new ProtoCapsuleTest("root".getBytes()), tronDatabase.get(key));
+  }
+
+  @Test
+  public synchronized void testGetAfterMerge() {
+    byte[] key = "merge".getBytes();
+    byte[] other = "other".getBytes();
+
+    try (ISession outer = revokingDatabase.buildSession()) {
+      tronDatabase.put(other, new ProtoCapsuleTest("outer".getBytes()));
+      try (ISession inner = revokingDatabase.buildSession()) {
+        tronDatabase.put(key, new ProtoCapsuleTest("merged".getBytes()));
+        inner.merge();
+      }
+      Assert.assertEquals(new ProtoCapsuleTest("merged".getBytes()), tronDatabase.get(key));
+      Assert.assertEquals(new ProtoCapsuleTest("outer".getBytes()), tronDatabase.get(other));
+      outer.commit();
+    }
+    Assert.assertEquals(new ProtoCapsuleTest("merged".getBytes()), tronDatabase.get(key));
+    revokingDatabase.pop();
+    Assert.assertNull(tronDatabase.get(key));
+  }
+
+  @Test
+  public synchronized void testGetAfterFlush() {
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(5);
+    byte[] key = "flush".getBytes();
+    byte[] old = "old".getBytes();
+    tronDatabase.put(old, new ProtoCapsuleTest("old".getBytes()));
+    for (int i = 1; i < 32; i++) {
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put(key, new ProtoCapsuleTest(("flush" + i).getBytes()));
+        if (i == 2) {
+          tronDatabase.delete(old);
+        }
+        tmpSession.commit();
+      }
+      Assert.assertEquals(new ProtoCapsuleTest(("flush" + i).getBytes()), tronDatabase.get(key));
+      if (i >= 2) {
+        Assert.assertNull(tronDatabase.get(old));
+      }
+    }
+    revokingDatabase.flush();
+    Assert.assertEquals(new ProtoCapsuleTest("flush31".getBytes()), tronDatabase.get(key));
+    Assert.assertNull(tronDatabase.get(old));
+  }
+
+  @Test
+  public synchronized void testMergedIteration() {
+    IRevokingDB db = tronDatabase.getRevokingDB();
+    db.put(new byte[] {1, 1}, "root".getBytes());
+    db.put(new byte[] {1, 3}, "root".getBytes());
+    db.put(new byte[] {2}, "root".getBytes());
+
+    try (ISession outer = revokingDatabase.buildSession()) {
+      db.put(new byte[] {1, (byte) 0x80}, "outer".getBytes());
+      db.put(new byte[] {1, 3}, "outer".getBytes());
+      try (ISession inner = revokingDatabase.buildSession()) {
+        db.delete(new byte[] {1, 1});
+        db.put(new byte[] {1, 2}, "inner".getBytes());
+        db.put(new byte[] {1, 3}, "inner".getBytes());
+        db.put(new byte[] {0}, "inner".getBytes());
+
+        List<String> rows = new ArrayList<>();
+        db.iterator().forEachRemaining(e ->
+            rows.add(ByteArray.toHexString(e.getKey()) + "=" + new String(e.getValue())));
+        Assert.assertEquals(Arrays.asList("00=inner", "0102=inner", "0103=inner",
+            "0180=outer", "02=root"), rows);
+
+        List<String> prefixed = new ArrayList<>();
+        db.prefixQuery(new byte[] {1}).forEach((k, v) ->
+            prefixed.add(ByteArray.toHexString(k.getBytes()) + "=" + new String(v)));
+        Assert.assertEquals(Arrays.asList("0102=inner", "0103=inner", "0180=outer"), prefixed);
+      }
+      Assert.assertEquals(3, db.prefixQuery(new byte[] {1}).size());
+      Assert.assertArrayEquals("outer".getBytes(),
+          db.prefixQuery(new byte[] {1}).get(WrappedByteArray.of(new byte[] {1, 3})));
+    }
+  }
+}
@@ -26,6 +26,7 @@ import org.tron.core.config.args.Args;
 import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
 import org.tron.core.db2.SnapshotRootTest.ProtoCapsuleTest;
 import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.Snapshot;
 import org.tron.core.db2.core.SnapshotManager;
 import org.tron.core.exception.BadItemException;
 import org.tron.core.exception.ItemNotFoundException;
@@ -91,6 +92,77 @@ public class SnapshotManagerTest {
         tronDatabase.get(protoCapsule.getData()));
   }
 
+  @Test
+  public synchronized void testPipelinedRefresh() {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(5);
+    revokingDatabase.setMaxPendingFlushes(2);
+    ProtoCapsuleTest protoCapsule = new ProtoCapsuleTest("pipelined".getBytes());
+    for (int i = 1; i < 21; i++) {
+      ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest(("pipelined" + i).getBytes());
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put(protoCapsule.getData(), testProtoCapsule);
+        tronDatabase.put(("pipelined" + i).getBytes(), testProtoCapsule);
+        tmpSession.commit();
+      }
+      // layers being flushed are still read
+      Assert.assertEquals(testProtoCapsule, tronDatabase.get(protoCapsule.getData()));
+      Assert.assertEquals(new ProtoCapsuleTest("pipelined1".getBytes()),
+          tronDatabase.get("pipelined1".getBytes()));
+    }
+
+    revokingDatabase.awaitFlushed();
+    Chainbase db = (Chainbase) tronDatabase.getRevokingDB();
+    int layers = 0;
+    for (Snapshot snapshot = db.getHead(); snapshot != snapshot.getRoot();
+        snapshot = snapshot.getPrevious()) {
+      layers++;
+    }
+    Assert.assertEquals(revokingDatabase.size(), layers);
+    Assert.assertEquals(new ProtoCapsuleTest("pipelined20".getBytes()),
+        tronDatabase.get(protoCapsule.getData()));
+    Assert.assertArrayEquals(new ProtoCapsuleTest("pipelined1".getBytes()).getData(),
+        db.getHead().getRoot().get("pipelined1".getBytes()));
+  }
+
+  @Test
+  public synchronized void testCloseWithPendingFlush() {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(5);
+    revokingDatabase.setMaxPendingFlushes(2);
+    ProtoCapsuleTest protoCapsule = new ProtoCapsuleTest("closeFlush".getBytes());
+    for (int i = 1; i < 11; i++) {
+      ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest(("closeFlush" + i).getBytes());
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put(protoCapsule.getData(), testProtoCapsule);
+        tronDatabase.put(("closeFlush" + i).getBytes(), testProtoCapsule);
+        tmpSession.commit();
+      }
+    }
+
+    // the flushes handed to the flusher are written and installed before it is shut down
+    revokingDatabase.close();
+    Chainbase db = (Chainbase) tronDatabase.getRevokingDB();
+    int layers = 0;
+    for (Snapshot snapshot = db.getHead(); snapshot != snapshot.getRoot();
+        snapshot = snapshot.getPrevious()) {
+      layers++;
+    }
+    Assert.assertEquals(revokingDatabase.size(), layers);
+    Assert.assertArrayEquals(new ProtoCapsuleTest("closeFlush1".getBytes()).getData(),
+        db.getHead().getRoot().get("closeFlush1".getBytes()));
+  }
+
   @Test
   public synchronized void testClose() {
     while (revokingDatabase.size() != 0) {
@@ -18,6 +18,7 @@ import org.springframework.util.CollectionUtils;
 import org.tron.common.application.Application;
 import org.tron.common.application.ApplicationFactory;
 import org.tron.common.application.TronApplicationContext;
+import org.tron.common.cache.CacheManager;
 import org.tron.common.cache.CacheStrategies;
 import org.tron.common.utils.FileUtil;
 import org.tron.common.utils.SessionOptional;
@@ -26,10 +27,12 @@ import org.tron.core.capsule.ProtoCapsule;
 import org.tron.core.config.DefaultConfig;
 import org.tron.core.config.args.Args;
 import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
+import org.tron.core.db2.core.Chainbase;
 import org.tron.core.db2.core.Snapshot;
 import org.tron.core.db2.core.SnapshotManager;
 import org.tron.core.db2.core.SnapshotRoot;
 import org.tron.core.exception.ItemNotFoundException;
+import org.tron.core.store.AccountStore;
 
 public class SnapshotRootTest {
 
@@ -128,6 +131,28 @@ public class SnapshotRootTest {
     tronDatabase.close();
   }
 
+  @Test
+  public void testPrefetch() {
+    AccountStore store = context.getBean(AccountStore.class);
+    SnapshotRoot root = (SnapshotRoot) ((Chainbase) store.getRevokingDB()).getHead().getRoot();
+    byte[] present = "prefetch-present".getBytes();
+    byte[] absent = "prefetch-absent".getBytes();
+    // written below the cache
+    root.getDb().put(present, present);
+
+    Assert.assertEquals(2, root.prefetch(Arrays.asList(present, absent)));
+    Assert.assertEquals(0, root.prefetch(Arrays.asList(present, absent)));
+    long hits = CacheManager.stats().get(store.getDbName()).hitCount();
+    Assert.assertArrayEquals(present, root.get(present));
+    Assert.assertNull(root.get(absent));
+    Assert.assertEquals(hits + 2, CacheManager.stats().get(store.getDbName()).hitCount());
+
+    // a write replaces the prefetched value
+    root.remove(present);
+    Assert.assertNull(root.get(present));
+    Assert.assertEquals(0, root.prefetch(Arrays.asList(present, absent)));
+  }
+
   @Test
   public void testSecondCacheCheck()
       throws ItemNotFoundException {
@@ -0,0 +1,173 @@
+package org.tron.core.jsonrpc;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WebSocketAdapter;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.logsfilter.capsule.BlockFilterCapsule;
+import org.tron.common.logsfilter.capsule.LogsFilterCapsule;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.services.jsonrpc.websocket.JsonRpcWebSocket;
+import org.tron.core.services.jsonrpc.websocket.JsonRpcWebSocketServlet;
+import org.tron.core.services.jsonrpc.websocket.Subscriptions;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+
+public class JsonRpcWebSocketTest {
+
+  private static final String ADDRESS = "0x1111111111111111111111111111111111111111";
+  private static final String TOPIC =
+      "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private Server server;
+  private WebSocketClient client;
+  private Session session;
+  private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+  @Before
+  public void init() throws Exception {
+    CommonParameter.getInstance().setJsonRpcWebSocketSendBuffer(16);
+    CommonParameter.getInstance().setJsonRpcWebSocketEnable(true);
+    server = new Server(0);
+    ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
+    context.setContextPath("/");
+    context.addServlet(new ServletHolder(new JsonRpcWebSocketServlet()), "/websocket");
+    server.setHandler(context);
+    server.start();
+    int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+
+    client = new WebSocketClient();
+    client.start();
+    session = client.connect(new WebSocketAdapter() {
+      @Override
+      public void onWebSocketText(String message) {
+        messages.add(message);
+      }
+    }, URI.create("ws://127.0.0.1:" + port + "/websocket")).get(5, TimeUnit.SECONDS);
+  }
+
+  @After
+  public void destroy() throws Exception {
+    client.stop();
+    server.stop();
+    CommonParameter.getInstance().setJsonRpcWebSocketEnable(false);
+  }
+
+  private JsonNode call(String method, String params) throws Exception {
+    session.getRemote().sendString(String.format(
+        "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"%s\",\"params\":%s}", method, params));
+    return next();
+  }
+
+  private JsonNode next() throws Exception {
+    String message = messages.poll(5, TimeUnit.SECONDS);
+    Assert.assertNotNull(message);
+    return MAPPER.readTree(message);
+  }
+
+  private static BlockCapsule block() {
+    return new BlockCapsule(1, Sha256Hash.ZERO_HASH, 1000,
+        ByteString.copyFrom(ByteArray.fromHexString("41" + ADDRESS.substring(2))));
+  }
+
+  @Test
+  public void testNewHeads() throws Exception {
+    String subscriptionId = call("eth_subscribe", "[\"newHeads\"]").get("result").asText();
+
+    BlockCapsule block = block();
+    Subscriptions.getInstance().handleBlock(new BlockFilterCapsule(block, false));
+    JsonNode notification = next();
+    Assert.assertEquals("eth_subscription", notification.get("method").asText());
+    Assert.assertEquals(subscriptionId,
+        notification.get("params").get("subscription").asText());
+    Assert.assertEquals(ByteArray.toJsonHex(block.getBlockId().getBytes()),
+        notification.get("params").get("result").get("hash").asText());
+    // not for the solidified blocks
+    Subscriptions.getInstance().handleBlock(new BlockFilterCapsule(block, true));
+    Assert.assertNull(messages.poll(200, TimeUnit.MILLISECONDS));
+
+    Assert.assertTrue(call("eth_unsubscribe", "[\"" + subscriptionId + "\"]")
+        .get("result").asBoolean());
+    Assert.assertFalse(call("eth_unsubscribe", "[\"" + subscriptionId + "\"]")
+        .get("result").asBoolean());
+    Subscriptions.getInstance().handleBlock(new BlockFilterCapsule(block, false));
+    Assert.assertNull(messages.poll(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testLogs() throws Exception {
+    String subscriptionId = call("eth_subscribe", String.format(
+        "[\"logs\",{\"address\":\"%s\",\"topics\":[\"%s\"]}]", ADDRESS, TOPIC))
+        .get("result").asText();
+
+    Log log = Log.newBuilder()
+        .setAddress(ByteString.copyFrom(ByteArray.fromHexString(ADDRESS)))
+        .addTopics(ByteString.copyFrom(ByteArray.fromHexString(TOPIC)))
+        .build();
+    Log other = log.toBuilder().setTopics(0, ByteString.copyFrom(new byte[32])).build();
+    TransactionInfo transactionInfo = TransactionInfo.newBuilder()
+        .addLog(other).addLog(log).build();
+    Subscriptions.getInstance().handleLogs(new LogsFilterCapsule(1, "hash", null,
+        Collections.singletonList(transactionInfo), false, true));
+
+    JsonNode params = next().get("params");
+    Assert.assertEquals(subscriptionId, params.get("subscription").asText());
+    Assert.assertEquals(ByteArray.toJsonHex(1), params.get("result").get("logIndex").asText());
+    Assert.assertTrue(params.get("result").get("removed").asBoolean());
+    Assert.assertNull(messages.poll(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testInvalidRequest() throws Exception {
+    Assert.assertEquals(-32601, call("eth_call", "[]").get("error").get("code").asInt());
+    Assert.assertEquals(-32602,
+        call("eth_subscribe", "[\"pendingTransactions\"]").get("error").get("code").asInt());
+    Assert.assertEquals(-32602, call("eth_subscribe",
+        "[\"logs\",{\"address\":\"0x11\"}]").get("error").get("code").asInt());
+    session.getRemote().sendString("{");
+    Assert.assertEquals(-32700, next().get("error").get("code").asInt());
+  }
+
+  @Test
+  public void testSlowConsumer() throws Exception {
+    Session slow = mock(Session.class);
+    when(slow.getRemote()).thenReturn(mock(RemoteEndpoint.class));
+    Subscriptions subscriptions = new Subscriptions();
+    JsonRpcWebSocket socket = new JsonRpcWebSocket(subscriptions, 2);
+    socket.onWebSocketConnect(slow);
+    // the response is never written
+    socket.onWebSocketText(
+        "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"eth_subscribe\",\"params\":[\"newHeads\"]}");
+    Assert.assertEquals(1, subscriptions.size());
+
+    BlockFilterCapsule blockFilterCapsule = new BlockFilterCapsule(block(), false);
+    subscriptions.handleBlock(blockFilterCapsule);
+    subscriptions.handleBlock(blockFilterCapsule);
+    verify(slow).disconnect();
+    Assert.assertEquals(0, subscriptions.size());
+  }
+}
@@ -0,0 +1,93 @@
+package org.tron.core.jsonrpc;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.logsfilter.capsule.LogsFilterCapsule;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.services.jsonrpc.TronJsonRpc.FilterRequest;
+import org.tron.core.services.jsonrpc.TronJsonRpc.LogFilterElement;
+import org.tron.core.services.jsonrpc.TronJsonRpcImpl;
+import org.tron.core.services.jsonrpc.filters.LogFilter;
+import org.tron.core.services.jsonrpc.filters.LogFilterAndResult;
+import org.tron.core.services.jsonrpc.filters.LogFilterIndex;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+
+public class LogFilterIndexTest {
+
+  private static final String ADDRESS1 = "0x1111111111111111111111111111111111111111";
+  private static final String ADDRESS2 = "0x2222222222222222222222222222222222222222";
+  private static final String TOPIC1 =
+      "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+  private static final String TOPIC2 =
+      "0xc42079f94a6350d7e6235f29174924f928cc2ac818eb64fed8004e115fbcca67";
+
+  private static Log log(String address, String... topics) {
+    Log.Builder builder = Log.newBuilder()
+        .setAddress(ByteString.copyFrom(ByteArray.fromHexString(address)));
+    for (String topic : topics) {
+      builder.addTopics(ByteString.copyFrom(ByteArray.fromHexString(topic)));
+    }
+    return builder.build();
+  }
+
+  private static FilterRequest request(Object address, Object[] topics) {
+    return new FilterRequest(null, null, address, topics, null);
+  }
+
+  @Test
+  public void testCandidates() throws Exception {
+    LogFilterIndex index = new LogFilterIndex();
+    index.add("address", new LogFilter(request(ADDRESS1, new Object[] {TOPIC2})));
+    index.add("topic", new LogFilter(request(null, new Object[] {TOPIC1})));
+    index.add("wildcard", new LogFilter(request(null, new Object[] {null, TOPIC1})));
+    Assert.assertEquals(3, index.size());
+
+    Set<String> candidates = index.candidates(log(ADDRESS1, TOPIC1));
+    Assert.assertEquals(3, candidates.size());
+    candidates = index.candidates(log(ADDRESS2, TOPIC2));
+    Assert.assertEquals(1, candidates.size());
+    Assert.assertTrue(candidates.contains("wildcard"));
+
+    index.remove("topic");
+    index.remove("topic");
+    Assert.assertFalse(index.contains("topic"));
+    Assert.assertFalse(index.candidates(log(ADDRESS2, TOPIC1)).contains("topic"));
+    Assert.assertEquals(2, index.size());
+  }
+
+  @Test
+  public void testHandleLogsFilter() throws Exception {
+    LogFilterAndResult byAddress = new LogFilterAndResult(
+        request(new ArrayList<>(Arrays.asList(ADDRESS1, ADDRESS2)), new Object[] {TOPIC1}), 0,
+        null);
+    LogFilterAndResult byTopic = new LogFilterAndResult(
+        request(null, new Object[] {TOPIC2}), 0, null);
+    TronJsonRpcImpl.getEventFilter2ResultFull().put("byAddress", byAddress);
+    TronJsonRpcImpl.getEventFilter2ResultFull().put("byTopic", byTopic);
+    try {
+      List<TransactionInfo> transactionInfoList = Arrays.asList(
+          TransactionInfo.newBuilder().addLog(log(ADDRESS1, TOPIC2)).build(),
+          TransactionInfo.newBuilder().addLog(log(ADDRESS2, TOPIC1))
+              .addLog(log(ADDRESS1, TOPIC1)).build());
+      TronJsonRpcImpl.handleLogsFilter(new LogsFilterCapsule(1, "hash", null,
+          transactionInfoList, false, false));
+
+      List<LogFilterElement> elements = byAddress.popAll();
+      Assert.assertEquals(2, elements.size());
+      Assert.assertEquals(ByteArray.toJsonHex(1), elements.get(0).getLogIndex());
+      Assert.assertEquals(ByteArray.toJsonHex(2), elements.get(1).getLogIndex());
+      elements = byTopic.popAll();
+      Assert.assertEquals(1, elements.size());
+      Assert.assertEquals(ByteArray.toJsonHex(0), elements.get(0).getLogIndex());
+    } finally {
+      TronJsonRpcImpl.getEventFilter2ResultFull().remove("byAddress");
+      TronJsonRpcImpl.getEventFilter2ResultFull().remove("byTopic");
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package org.tron.core.jsonrpc;
+
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.NavigableSet;
+import javax.annotation.Resource;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.Constant;
+import org.tron.core.capsule.TransactionRetCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.services.jsonrpc.TronJsonRpc.FilterRequest;
+import org.tron.core.services.jsonrpc.filters.LogFilterWrapper;
+import org.tron.core.services.jsonrpc.filters.LogIndexQuery;
+import org.tron.core.store.LogIndexStore;
+import org.tron.core.store.LogIndexStore.Posting;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+
+public class LogIndexStoreTest extends BaseTest {
+
+  private static final byte[] ADDRESS1 = ByteArray
+      .fromHexString("1111111111111111111111111111111111111111");
+  private static final byte[] ADDRESS2 = ByteArray
+      .fromHexString("2222222222222222222222222222222222222222");
+  private static final byte[] TOPIC1 = ByteArray
+      .fromHexString("ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef");
+  private static final byte[] TOPIC2 = ByteArray
+      .fromHexString("c42079f94a6350d7e6235f29174924f928cc2ac818eb64fed8004e115fbcca67");
+
+  @Resource
+  private LogIndexStore logIndexStore;
+
+  static {
+    dbPath = "output-logIndexStore-test";
+    Args.setParam(new String[] {"--output-directory", dbPath}, Constant.TEST_CONF);
+  }
+
+  private static Log log(byte[] address, byte[]... topics) {
+    Log.Builder builder = Log.newBuilder().setAddress(ByteString.copyFrom(address));
+    for (byte[] topic : topics) {
+      builder.addTopics(ByteString.copyFrom(topic));
+    }
+    return builder.build();
+  }
+
+  private static TransactionRetCapsule block(Log... logs) {
+    TransactionRetCapsule capsule = new TransactionRetCapsule();
+    // an empty transaction ahead of the one with the logs
+    capsule.addTransactionInfo(TransactionInfo.getDefaultInstance());
+    capsule.addTransactionInfo(TransactionInfo.newBuilder().addAllLog(
+        Arrays.asList(logs)).build());
+    return capsule;
+  }
+
+  @Test
+  public void testWriteAndGet() throws Exception {
+    logIndexStore.write(100, block(log(ADDRESS1, TOPIC1), log(ADDRESS2, TOPIC1, TOPIC2)));
+    logIndexStore.write(300, block(log(ADDRESS1, TOPIC2)));
+    // applied again
+    logIndexStore.write(300, block(log(ADDRESS1, TOPIC2)));
+
+    NavigableSet<Posting> postings = logIndexStore.get(LogIndexStore.ADDRESS, ADDRESS1, 0, 1000);
+    Assert.assertEquals(2, postings.size());
+    Assert.assertEquals(new Posting(100, 1, 0), postings.first());
+    Assert.assertEquals(new Posting(300, 1, 0), postings.last());
+
+    postings = logIndexStore.get(1, TOPIC1, 0, 1000);
+    Assert.assertEquals(2, postings.size());
+    Assert.assertTrue(postings.contains(new Posting(100, 1, 1)));
+
+    postings = logIndexStore.get(2, TOPIC2, 0, 1000);
+    Assert.assertEquals(1, postings.size());
+    Assert.assertEquals(new Posting(100, 1, 1), postings.first());
+
+    // out of the range, in the same list and in another one
+    Assert.assertTrue(logIndexStore.get(LogIndexStore.ADDRESS, ADDRESS1, 101, 299).isEmpty());
+    Assert.assertTrue(logIndexStore.get(LogIndexStore.ADDRESS, ADDRESS2, 101, 1000).isEmpty());
+  }
+
+  @Test
+  public void testReset() {
+    logIndexStore.setRange(5, 20);
+    // a gap at startup, blocks 5 to 20 stay indexed
+    logIndexStore.reset(30);
+    Assert.assertFalse(logIndexStore.covers(20, 30));
+    Assert.assertArrayEquals(new long[] {5, 20}, logIndexStore.getCovered());
+    logIndexStore.setHead(31);
+    // the backfill reached block 21, then block 32 failed
+    Assert.assertTrue(logIndexStore.compareAndSetLow(31, 21));
+    logIndexStore.reset(32);
+    Assert.assertArrayEquals(new long[] {5, 31}, logIndexStore.getCovered());
+    Assert.assertFalse(logIndexStore.skipCovered(31, 5));
+    Assert.assertTrue(logIndexStore.skipCovered(33, 5));
+    Assert.assertNull(logIndexStore.getCovered());
+    logIndexStore.setHead(33);
+    Assert.assertTrue(logIndexStore.covers(5, 33));
+  }
+
+  @Test
+  public void testCovers() throws Exception {
+    logIndexStore.setRange(11, 10);
+    Assert.assertFalse(logIndexStore.covers(10, 10));
+    logIndexStore.setHead(20);
+    Assert.assertTrue(logIndexStore.covers(11, 20));
+    Assert.assertFalse(logIndexStore.covers(10, 20));
+    Assert.assertTrue(logIndexStore.compareAndSetLow(11, 5));
+    Assert.assertFalse(logIndexStore.compareAndSetLow(11, 4));
+    Assert.assertTrue(logIndexStore.covers(5, 20));
+
+    LogFilterWrapper wrapper = new LogFilterWrapper(new FilterRequest("0x5", "0x14",
+        ByteArray.toJsonHex(ADDRESS1), null, null), 20, null);
+    Assert.assertTrue(new LogIndexQuery(wrapper, logIndexStore, 20, null).isIndexed());
+    wrapper = new LogFilterWrapper(new FilterRequest("0x4", "0x14",
+        ByteArray.toJsonHex(ADDRESS1), null, null), 20, null);
+    Assert.assertFalse(new LogIndexQuery(wrapper, logIndexStore, 20, null).isIndexed());
+    // no condition, every block is read
+    wrapper = new LogFilterWrapper(new FilterRequest("0x5", "0x14", null, null, null), 20, null);
+    Assert.assertFalse(new LogIndexQuery(wrapper, logIndexStore, 20, null).isIndexed());
+  }
+}
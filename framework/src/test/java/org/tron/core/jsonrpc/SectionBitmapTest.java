@@ -0,0 +1,74 @@
+package org.tron.core.jsonrpc;
+
+import java.util.BitSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.bloom.SectionBitmap;
+import org.tron.common.utils.ByteUtil;
+import org.tron.core.exception.EventBloomException;
+import org.tron.core.store.SectionBloomStore;
+
+public class SectionBitmapTest {
+
+  private static BitSet bitSet(int from, int to, int step) {
+    BitSet bitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
+    for (int i = from; i < to; i += step) {
+      bitSet.set(i);
+    }
+    return bitSet;
+  }
+
+  @Test
+  public void testEncodeAndDecode() throws EventBloomException {
+    // sparse as an array, dense as a bitmap
+    for (BitSet bitSet : new BitSet[] {new BitSet(), bitSet(0, 2048, 100),
+        bitSet(0, 2048, 3)}) {
+      SectionBitmap bitmap = SectionBitmap.of(bitSet);
+      Assert.assertEquals(bitSet, bitmap.toBitSet());
+      Assert.assertEquals(bitmap, SectionBitmap.decode(bitmap.encode()));
+    }
+    Assert.assertTrue(SectionBitmap.of(bitSet(0, 2048, 100)).encode().length < 64);
+    Assert.assertEquals(1 + 256, SectionBitmap.of(bitSet(0, 2048, 3)).encode().length);
+  }
+
+  @Test
+  public void testDecodeDeflated() throws EventBloomException {
+    BitSet bitSet = bitSet(5, 2000, 7);
+    byte[] deflated = ByteUtil.compress(bitSet.toByteArray());
+    Assert.assertEquals(bitSet, SectionBitmap.decode(deflated).toBitSet());
+  }
+
+  @Test
+  public void testWith() {
+    SectionBitmap bitmap = SectionBitmap.EMPTY;
+    BitSet expected = new BitSet();
+    // grows from an array into a bitmap
+    for (int i = 2047; i >= 0; i -= 9) {
+      bitmap = bitmap.with(i);
+      expected.set(i);
+      Assert.assertTrue(bitmap.get(i));
+    }
+    Assert.assertEquals(expected, bitmap.toBitSet());
+    Assert.assertSame(bitmap, bitmap.with(2047));
+    Assert.assertTrue(SectionBitmap.EMPTY.isEmpty());
+  }
+
+  @Test
+  public void testAndOr() {
+    BitSet[] sets = {new BitSet(), bitSet(0, 2048, 100), bitSet(1, 2048, 3),
+        bitSet(0, 2048, 2), bitSet(0, 300, 1)};
+    for (BitSet a : sets) {
+      for (BitSet b : sets) {
+        BitSet and = (BitSet) a.clone();
+        and.and(b);
+        BitSet or = (BitSet) a.clone();
+        or.or(b);
+        SectionBitmap x = SectionBitmap.of(a);
+        SectionBitmap y = SectionBitmap.of(b);
+        Assert.assertEquals(and, x.and(y).toBitSet());
+        Assert.assertEquals(or, x.or(y).toBitSet());
+        Assert.assertEquals(SectionBitmap.of(and), x.and(y));
+      }
+    }
+  }
+}
@@ -15,6 +15,8 @@ import org.tron.common.utils.ByteArray;
 import org.tron.core.Constant;
 import org.tron.core.capsule.TransactionRetCapsule;
 import org.tron.core.config.args.Args;
+import org.tron.core.db2.ISession;
+import org.tron.core.db2.common.IRevokingDB;
 import org.tron.core.exception.EventBloomException;
 import org.tron.core.services.jsonrpc.TronJsonRpc.FilterRequest;
 import org.tron.core.services.jsonrpc.filters.LogBlockQuery;
@@ -47,6 +49,26 @@ public class SectionBloomStoreTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testRevision() throws EventBloomException {
+    IRevokingDB revokingDB = sectionBloomStore.getRevokingDB();
+    long revision = revokingDB.getRevision();
+    try (ISession session = dbManager.getRevokingStore().buildSession()) {
+      // nothing written to the store
+    }
+    Assert.assertEquals(revision, revokingDB.getRevision());
+
+    BitSet bitSet = new BitSet(SectionBloomStore.BLOCK_PER_SECTION);
+    bitSet.set(7);
+    try (ISession session = dbManager.getRevokingStore().buildSession()) {
+      sectionBloomStore.put(200, 1, bitSet);
+      Assert.assertEquals(bitSet, sectionBloomStore.get(200, 1));
+    }
+    // the cached bitmap of the revoked write is not served
+    Assert.assertNotEquals(revision, revokingDB.getRevision());
+    Assert.assertNull(sectionBloomStore.get(200, 1));
+  }
+
   private byte[] bytesToAddress(byte[] address) {
     byte[] data = new byte[20];
     System.arraycopy(address, 0, data, 20 - address.length, address.length);
@@ -0,0 +1,75 @@
+package org.tron.core.net.services;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.net.service.adv.AdvWorker;
+
+public class AdvWorkerTest {
+
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final Semaphore runs = new Semaphore(0);
+
+  private AdvWorker worker(long maxDelay, int maxBatch) {
+    return new AdvWorker("adv-worker-test", () -> {
+      waiting.set(0);
+      runs.release();
+    }, waiting::get, maxDelay, maxBatch, 10);
+  }
+
+  @Test
+  public void testSignal() throws InterruptedException {
+    AdvWorker worker = worker(100, 100);
+    worker.start();
+    try {
+      // idle, nothing is polled
+      Assert.assertFalse(runs.tryAcquire(200, TimeUnit.MILLISECONDS));
+
+      waiting.set(1);
+      worker.signal();
+      waiting.set(2);
+      worker.signal();
+      Assert.assertTrue(runs.tryAcquire(1, TimeUnit.SECONDS));
+      // both items in one run
+      Assert.assertFalse(runs.tryAcquire(200, TimeUnit.MILLISECONDS));
+    } finally {
+      worker.stop();
+    }
+  }
+
+  @Test
+  public void testMaxBatch() throws InterruptedException {
+    AdvWorker worker = worker(60_000, 100);
+    worker.start();
+    try {
+      waiting.set(1);
+      worker.signal();
+      Assert.assertFalse(runs.tryAcquire(200, TimeUnit.MILLISECONDS));
+      waiting.set(100);
+      worker.signal();
+      Assert.assertTrue(runs.tryAcquire(1, TimeUnit.SECONDS));
+    } finally {
+      worker.stop();
+    }
+  }
+
+  @Test
+  public void testRetry() throws InterruptedException {
+    AdvWorker worker = new AdvWorker("adv-worker-test", runs::release, waiting::get, 0, 100, 10);
+    worker.start();
+    try {
+      // the items are left, it runs again without a signal
+      waiting.set(1);
+      worker.signal();
+      Assert.assertTrue(runs.tryAcquire(3, 1, TimeUnit.SECONDS));
+      waiting.set(0);
+      runs.tryAcquire(100, TimeUnit.MILLISECONDS);
+      runs.drainPermits();
+      Assert.assertFalse(runs.tryAcquire(200, TimeUnit.MILLISECONDS));
+    } finally {
+      worker.stop();
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package org.tron.core.net.services;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.tron.common.overlay.message.Message;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.exception.P2pException;
+import org.tron.core.net.message.adv.CompactBlockMessage;
+import org.tron.core.net.service.compactblock.PartialBlock;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Result.contractResult;
+
+public class CompactBlockTest {
+
+  private final List<Transaction> transactions = new ArrayList<>();
+
+  @BeforeClass
+  public static void init() {
+    Message.setDynamicPropertiesStore(Mockito.mock(DynamicPropertiesStore.class));
+  }
+
+  private BlockCapsule block(int size) {
+    BlockCapsule block = new BlockCapsule(1, Sha256Hash.ZERO_HASH, System.currentTimeMillis(),
+        ByteString.copyFrom(new byte[21]));
+    for (int i = 0; i < size; i++) {
+      Transaction trx = Transaction.newBuilder()
+          .setRawData(Transaction.raw.newBuilder().setTimestamp(i))
+          .addRet(Transaction.Result.newBuilder().setContractRet(contractResult.SUCCESS))
+          .build();
+      transactions.add(trx);
+      block.addTransaction(new TransactionCapsule(trx));
+    }
+    block.setMerkleRoot();
+    return block;
+  }
+
+  // as in the pool, before the result is set
+  private static void offer(PartialBlock partialBlock, Transaction trx) {
+    TransactionCapsule capsule = new TransactionCapsule(trx.toBuilder().clearRet().build());
+    partialBlock.offer(capsule.getTransactionId(), capsule.getInstance());
+  }
+
+  @Test
+  public void testMessage() throws Exception {
+    BlockCapsule block = block(3);
+    CompactBlockMessage message = new CompactBlockMessage(block);
+    CompactBlockMessage received = new CompactBlockMessage(message.getData());
+    Assert.assertEquals(block.getBlockId(), received.getBlockId());
+    Assert.assertEquals(3, received.getCompactBlock().getTransactionsCount());
+    Assert.assertEquals(message.getCompactBlock(), received.getCompactBlock());
+  }
+
+  @Test
+  public void testRebuild() throws Exception {
+    BlockCapsule block = block(4);
+    PartialBlock partialBlock = new PartialBlock(new CompactBlockMessage(block));
+    transactions.forEach(trx -> offer(partialBlock, trx));
+    Assert.assertTrue(partialBlock.seal().isEmpty());
+    BlockCapsule rebuilt = partialBlock.toBlock();
+    Assert.assertNotNull(rebuilt);
+    Assert.assertEquals(block.getBlockId(), rebuilt.getBlockId());
+    Assert.assertEquals(block.getInstance(), rebuilt.getInstance());
+  }
+
+  @Test
+  public void testFetchMissing() throws Exception {
+    BlockCapsule block = block(4);
+    PartialBlock partialBlock = new PartialBlock(new CompactBlockMessage(block));
+    offer(partialBlock, transactions.get(0));
+    offer(partialBlock, transactions.get(2));
+    Assert.assertEquals(Arrays.asList(1, 3), partialBlock.seal());
+
+    try {
+      partialBlock.fill(Arrays.asList(transactions.get(1)));
+      Assert.fail();
+    } catch (P2pException e) {
+      Assert.assertEquals(P2pException.TypeEnum.BAD_MESSAGE, e.getType());
+    }
+
+    partialBlock.fill(Arrays.asList(transactions.get(1), transactions.get(3)));
+    Assert.assertEquals(block.getInstance(), partialBlock.toBlock().getInstance());
+  }
+
+  @Test
+  public void testMismatch() throws Exception {
+    BlockCapsule block = block(2);
+    PartialBlock partialBlock = new PartialBlock(new CompactBlockMessage(block));
+    transactions.forEach(trx -> offer(partialBlock, trx));
+    partialBlock.seal();
+    // a peer answering with other transactions
+    partialBlock.refetchAll();
+    Assert.assertTrue(partialBlock.isFetchAll());
+    Assert.assertEquals(Arrays.asList(0, 1), partialBlock.getMissing());
+    partialBlock.fill(Arrays.asList(transactions.get(1), transactions.get(0)));
+    Assert.assertNull(partialBlock.toBlock());
+  }
+
+}
@@ -0,0 +1,163 @@
+package org.tron.core.services.http;
+
+import com.alibaba.fastjson.JSONObject;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.api.GrpcAPI.BlockList;
+import org.tron.common.crypto.Hash;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.BlockHeader;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.Protocol.TransactionInfo.Log;
+import org.tron.protos.contract.AccountContract.AccountUpdateContract;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract.ABI;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+
+@Slf4j
+public class JsonFormatTest {
+
+  private static ByteString address(int i) {
+    byte[] address = new byte[21];
+    address[0] = 0x41;
+    System.arraycopy(Hash.sha3(ByteArray.fromInt(i)), 0, address, 1, 20);
+    return ByteString.copyFrom(address);
+  }
+
+  private static Transaction transaction(int i) {
+    Transaction.raw.Builder raw = Transaction.raw.newBuilder()
+        .setRefBlockBytes(ByteString.copyFrom(ByteArray.fromInt(i)))
+        .setRefBlockHash(ByteString.copyFrom(Hash.sha3(ByteArray.fromInt(i))))
+        .setExpiration(1651906644000L + i)
+        .setTimestamp(1651906586162L + i)
+        .setFeeLimit(i % 2 == 0 ? 0 : 3_000_000_000L);
+    if (i % 3 == 0) {
+      raw.addContract(Transaction.Contract.newBuilder().setType(ContractType.TransferContract)
+          .setParameter(Any.pack(TransferContract.newBuilder().setOwnerAddress(address(i))
+              .setToAddress(address(i + 1)).setAmount(i * 1_000_000L).build())));
+    } else if (i % 3 == 1) {
+      raw.addContract(Transaction.Contract.newBuilder()
+          .setType(ContractType.TriggerSmartContract)
+          .setParameter(Any.pack(TriggerSmartContract.newBuilder().setOwnerAddress(address(i))
+              .setContractAddress(address(-1)).setData(ByteString.copyFrom(new byte[68]))
+              .build())));
+    } else {
+      raw.addContract(Transaction.Contract.newBuilder()
+          .setType(ContractType.AccountUpdateContract).setPermissionId(2)
+          .setParameter(Any.pack(AccountUpdateContract.newBuilder().setOwnerAddress(address(i))
+              .setAccountName(ByteString.copyFromUtf8("n\"a\\meé" + i)).build())));
+    }
+    return Transaction.newBuilder().setRawData(raw)
+        .addSignature(ByteString.copyFrom(new byte[65]))
+        .addRet(Transaction.Result.newBuilder().setContractRet(Transaction.Result.contractResult
+            .SUCCESS))
+        .build();
+  }
+
+  private static Block block(int txs) {
+    Block.Builder block = Block.newBuilder().setBlockHeader(BlockHeader.newBuilder()
+        .setRawData(BlockHeader.raw.newBuilder().setNumber(1).setTimestamp(1651906586162L)
+            .setWitnessAddress(address(0)).setVersion(27)
+            .setParentHash(ByteString.copyFrom(new byte[32]))));
+    for (int i = 0; i < txs; i++) {
+      block.addTransactions(transaction(i));
+    }
+    return block.build();
+  }
+
+  private static void assertSameJson(Message message) {
+    for (boolean selfType : new boolean[] {true, false}) {
+      Assert.assertEquals(
+          JSONObject.parseObject(JsonFormat.printToString(message, selfType)).toJSONString(),
+          JsonFormat.printToJSON(message, selfType).toJSONString());
+    }
+  }
+
+  /**
+   * Util.printBlockToJSON as it was before it stopped printing and parsing the block.
+   */
+  private static JSONObject printBlockByParse(Block block, boolean selfType) {
+    BlockCapsule blockCapsule = new BlockCapsule(block);
+    JSONObject jsonObject = JSONObject.parseObject(JsonFormat.printToString(block, selfType));
+    jsonObject.put("blockID", ByteArray.toHexString(blockCapsule.getBlockId().getBytes()));
+    if (!blockCapsule.getTransactions().isEmpty()) {
+      jsonObject.put("transactions",
+          Util.printTransactionListToJSON(blockCapsule.getTransactions(), selfType));
+    }
+    return jsonObject;
+  }
+
+  @Test
+  public void testPrintToJSON() {
+    assertSameJson(block(0));
+    assertSameJson(block(12));
+    for (int i = 0; i < 3; i++) {
+      assertSameJson(transaction(i));
+      assertSameJson(transaction(i).getRawData().getContract(0).getParameter());
+    }
+    assertSameJson(TransactionInfo.newBuilder().setId(ByteString.copyFrom(new byte[32]))
+        .setFee(-1).setBlockNumber(Long.MAX_VALUE).addContractResult(ByteString.EMPTY)
+        .addLog(Log.newBuilder().setAddress(address(7)).addTopics(ByteString.copyFrom(
+            new byte[32])).setData(ByteString.copyFromUtf8("data")))
+        .build());
+    assertSameJson(SmartContract.newBuilder().setName("tab\there \"quoted\" \\ 中😀")
+        .setAbi(ABI.newBuilder().addEntrys(ABI.Entry.newBuilder().setName("transfer\n")
+            .setType(ABI.Entry.EntryType.Function)))
+        .build());
+    assertSameJson(TransactionInfo.getDefaultInstance());
+  }
+
+  @Test
+  public void testPrintBlock() {
+    for (boolean selfType : new boolean[] {true, false}) {
+      for (int txs : new int[] {0, 1, 30}) {
+        Block block = block(txs);
+        Assert.assertEquals(printBlockByParse(block, selfType).toJSONString(),
+            Util.printBlock(block, selfType));
+      }
+      BlockList list = BlockList.newBuilder().addBlock(block(3)).addBlock(block(0)).build();
+      JSONObject expected = JSONObject.parseObject(JsonFormat.printToString(list, selfType));
+      List<Object> blocks = new ArrayList<>();
+      list.getBlockList().forEach(b -> blocks.add(printBlockByParse(b, selfType)));
+      expected.put("block", blocks);
+      Assert.assertEquals(expected.toJSONString(), Util.printBlockList(list, selfType));
+    }
+  }
+
+  @Test
+  public void testPrintBlockPerformance() {
+    boolean enabled = false;
+    if (!enabled) {
+      Assert.assertTrue(true);
+      return;
+    }
+
+    Block block = block(2000);
+    int rounds = 20;
+    long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      printBlockByParse(block, true).toJSONString();
+    }
+    long parse = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      Util.printBlock(block, true);
+    }
+    long direct = System.nanoTime() - start;
+    logger.info("block with {} txs, print and parse: {} ms, direct: {} ms",
+        block.getTransactionsCount(), parse / rounds / 1_000_000, direct / rounds / 1_000_000);
+  }
+}
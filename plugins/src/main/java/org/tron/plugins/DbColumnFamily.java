@@ -0,0 +1,247 @@
+package org.tron.plugins;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import me.tongfei.progressbar.ProgressBar;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.FlushOptions;
+import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.tron.plugins.utils.DBUtils;
+import org.tron.plugins.utils.FileUtils;
+import picocli.CommandLine;
+
+
+@Slf4j(topic = "cf")
+@CommandLine.Command(name = "cf", aliases = "column-family",
+    description = "Move the rocksdb databases into column families of one rocksdb, "
+        + "for a node with storage.dbSettings.columnFamilies enabled.",
+    exitCodeListHeading = "Exit Codes:%n",
+    exitCodeList = {
+        "0:Successful",
+        "n:Internal error: exception occurred,please check toolkit.log"})
+public class DbColumnFamily implements Callable<Integer> {
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private static final int BATCH  = 256;
+
+  @CommandLine.Spec
+  CommandLine.Model.CommandSpec spec;
+  @CommandLine.Parameters(index = "0", defaultValue = "output-directory/database",
+      description = "Input path for rocksdb. Default: ${DEFAULT-VALUE}")
+  private File src;
+
+  @CommandLine.Option(names = {"-h", "--help"})
+  private boolean help;
+
+
+  @Override
+  public Integer call() throws Exception {
+    if (help) {
+      spec.commandLine().usage(System.out);
+      return 0;
+    }
+    if (!src.exists()) {
+      logger.info(" {} does not exist.", src);
+      spec.commandLine().getErr().println(spec.commandLine().getColorScheme()
+          .errorText(String.format("%s does not exist.", src)));
+      return 404;
+    }
+    // checkpoint v2 and the stores with a comparator stay on their own
+    List<File> files = Arrays.stream(Objects.requireNonNull(src.listFiles()))
+        .filter(File::isDirectory)
+        .filter(e -> !DBUtils.CHECKPOINT_DB_V2.equals(e.getName()))
+        .filter(e -> !DBUtils.MARKET_PAIR_PRICE_TO_ORDER.equalsIgnoreCase(e.getName()))
+        .filter(e -> !DBUtils.COLUMN_FAMILIES.equals(e.getName()))
+        .filter(e -> !FileUtils.isLevelDBEngine(e.toPath()))
+        .collect(Collectors.toList());
+
+    if (files.isEmpty()) {
+      logger.info("{} does not contain any rocksdb database.", src);
+      spec.commandLine().getOut().format("%s does not contain any rocksdb database.", src)
+          .println();
+      return 0;
+    }
+    final long time = System.currentTimeMillis();
+    Path target = Paths.get(src.getPath(), DBUtils.COLUMN_FAMILIES);
+    List<String> fails = new ArrayList<>();
+    try (ColumnFamilies families = new ColumnFamilies(target)) {
+      // one target, the stores are moved one after another
+      ProgressBar.wrap(files.stream(), "cf task").forEach(f -> {
+        try {
+          if (!families.move(f.toPath())) {
+            fails.add(f.getName());
+          }
+        } catch (Exception e) {
+          logger.error("{}", e);
+          spec.commandLine().getErr().println(spec.commandLine().getColorScheme()
+              .errorText(e.getMessage()));
+          fails.add(f.getName());
+        }
+      });
+    }
+    if (!createEngine(target.toString())) {
+      fails.add(DBUtils.COLUMN_FAMILIES);
+    }
+    long during = (System.currentTimeMillis() - time) / 1000;
+    spec.commandLine().getOut().format("column family db done, fails: %s, take %d s.",
+        fails, during).println();
+    logger.info("database column family use {} seconds total, fails: {}.", during, fails);
+    return fails.size();
+  }
+
+  static class ColumnFamilies implements AutoCloseable {
+
+    private final DBOptions options;
+    private final ColumnFamilyOptions columnOptions;
+    private final RocksDB rocks;
+    private final Map<String, ColumnFamilyHandle> handles = new HashMap<>();
+
+    ColumnFamilies(Path path) throws RocksDBException {
+      FileUtils.createDirIfNotExists(path.toString());
+      options = new DBOptions();
+      options.setCreateIfMissing(true);
+      options.setCreateMissingColumnFamilies(true);
+      options.setIncreaseParallelism(1);
+      options.setMaxOpenFiles(5000);
+      options.setMaxBackgroundCompactions(
+          Math.max(1, Runtime.getRuntime().availableProcessors()));
+      columnOptions = new ColumnFamilyOptions();
+      columnOptions.setLevelCompactionDynamicLevelBytes(true);
+
+      List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+      if (path.resolve("CURRENT").toFile().exists()) {
+        try (Options listOptions = new Options()) {
+          for (byte[] name : RocksDB.listColumnFamilies(listOptions, path.toString())) {
+            descriptors.add(new ColumnFamilyDescriptor(name, columnOptions));
+          }
+        }
+      } else {
+        descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, columnOptions));
+      }
+      List<ColumnFamilyHandle> opened = new ArrayList<>(descriptors.size());
+      rocks = RocksDB.open(options, path.toString(), descriptors, opened);
+      for (int i = 0; i < descriptors.size(); i++) {
+        handles.put(new String(descriptors.get(i).columnFamilyName(), StandardCharsets.UTF_8),
+            opened.get(i));
+      }
+    }
+
+    /**
+     * Copies the store into a column family of its name, then deletes the store.
+     *
+     * @return if ok
+     */
+    boolean move(Path store) throws RocksDBException {
+      String name = store.getFileName().toString();
+      ColumnFamilyHandle partial = handles.remove(name);
+      if (partial != null) {
+        // the source is still there, a former run did not finish
+        logger.info("Drop partial column family {}", name);
+        rocks.dropColumnFamily(partial);
+        partial.close();
+      }
+      ColumnFamilyHandle handle = rocks.createColumnFamily(
+          new ColumnFamilyDescriptor(name.getBytes(StandardCharsets.UTF_8), columnOptions));
+      handles.put(name, handle);
+
+      logger.info("Move database {} start", name);
+      long[] srcSum = new long[3];
+      try (RocksDB db = DBUtils.newRocksDbReadOnly(store);
+           ReadOptions r = new ReadOptions().setFillCache(false);
+           RocksIterator iterator = db.newIterator(r);
+           WriteOptions w = new WriteOptions()) {
+        WriteBatch batch = new WriteBatch();
+        try {
+          for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+            sum(srcSum, iterator.key(), iterator.value());
+            batch.put(handle, iterator.key(), iterator.value());
+            if (batch.count() >= BATCH) {
+              rocks.write(w, batch);
+              batch.close();
+              batch = new WriteBatch();
+            }
+          }
+          if (batch.count() > 0) {
+            rocks.write(w, batch);
+          }
+        } finally {
+          batch.close();
+        }
+      }
+      try (FlushOptions flush = new FlushOptions().setWaitForFlush(true)) {
+        rocks.flush(flush, handle);
+      }
+
+      long[] dstSum = new long[3];
+      try (ReadOptions r = new ReadOptions().setFillCache(false);
+           RocksIterator iterator = rocks.newIterator(handle, r)) {
+        for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+          sum(dstSum, iterator.key(), iterator.value());
+        }
+      }
+      logger.info("Check database {} end, dstDbKeyCount {}, dstDbKeySum {}, dstDbValueSum {},"
+              + "srcDbKeyCount {}, srcDbKeySum {}, srcDbValueSum {}",
+          name, dstSum[0], dstSum[1], dstSum[2], srcSum[0], srcSum[1], srcSum[2]);
+      if (!Arrays.equals(srcSum, dstSum)) {
+        logger.info("Move database {} failure", name);
+        return false;
+      }
+      FileUtils.deleteDir(store.toFile());
+      logger.info("Move database {} end", name);
+      return true;
+    }
+
+    @Override
+    public void close() {
+      handles.values().forEach(ColumnFamilyHandle::close);
+      rocks.close();
+      columnOptions.close();
+      options.close();
+    }
+  }
+
+  private static void sum(long[] sum, byte[] key, byte[] value) {
+    sum[0]++;
+    sum[1] = byteArrayToIntWithOne(sum[1], key);
+    sum[2] = byteArrayToIntWithOne(sum[2], value);
+  }
+
+  private static boolean createEngine(String dir) {
+    String enginePath = dir + File.separator + DBUtils.FILE_ENGINE;
+    if (!FileUtils.createFileIfNotExists(enginePath)) {
+      return false;
+    }
+    return FileUtils.writeProperty(enginePath, DBUtils.KEY_ENGINE, DBUtils.ROCKSDB);
+  }
+
+  private static long byteArrayToIntWithOne(long sum, byte[] b) {
+    for (byte oneByte : b) {
+      sum += oneByte;
+    }
+    return sum;
+  }
+
+}
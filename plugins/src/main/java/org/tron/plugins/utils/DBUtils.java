@@ -55,6 +55,7 @@ public class DBUtils {
   public static final String SPLIT_BLOCK_NUM = "split_block_num";
   public static final String MARKET_PAIR_PRICE_TO_ORDER = "market_pair_price_to_order";
   public static final String CHECKPOINT_DB_V2 = "checkpoint";
+  public static final String COLUMN_FAMILIES = "chainbase";
   public static final String TMP = "tmp";
 
   public static final int NODE_TYPE_LIGHT_NODE = 1;
@@ -0,0 +1,74 @@
+package org.tron.plugins;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.tron.plugins.utils.DBUtils;
+import org.tron.plugins.utils.FileUtils;
+import picocli.CommandLine;
+
+public class DbColumnFamilyTest {
+
+  private static final String INPUT_DIRECTORY = "output-directory/cf-database/";
+  private static final String ACCOUNT = "account";
+  private static final String BLOCK = "block";
+  private static final String MARKET = DBUtils.MARKET_PAIR_PRICE_TO_ORDER;
+  CommandLine cli = new CommandLine(new Toolkit());
+
+  @BeforeClass
+  public static void init() throws RocksDBException {
+    if (new File(INPUT_DIRECTORY).mkdirs()) {
+      initDB(new File(INPUT_DIRECTORY, ACCOUNT));
+      initDB(new File(INPUT_DIRECTORY, BLOCK));
+      initDB(new File(INPUT_DIRECTORY, MARKET));
+    }
+  }
+
+  private static void initDB(File file) throws RocksDBException {
+    file.mkdirs();
+    FileUtils.writeProperty(file + File.separator + DBUtils.FILE_ENGINE,
+        DBUtils.KEY_ENGINE, DBUtils.ROCKSDB);
+    try (RocksDB db = DBUtils.newRocksDb(file.toPath())) {
+      for (int i = 0; i < 100; i++) {
+        byte[] bytes = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        db.put(bytes, bytes);
+      }
+    }
+  }
+
+  @AfterClass
+  public static void destroy() {
+    FileUtils.deleteDir(new File(INPUT_DIRECTORY));
+  }
+
+  @Test
+  public void testRun() {
+    String[] args = new String[] {"db", "cf", INPUT_DIRECTORY};
+    Assert.assertEquals(0, cli.execute(args));
+    Assert.assertFalse(new File(INPUT_DIRECTORY, ACCOUNT).exists());
+    Assert.assertFalse(new File(INPUT_DIRECTORY, BLOCK).exists());
+    Assert.assertTrue(new File(INPUT_DIRECTORY, MARKET).exists());
+    Assert.assertTrue(new File(INPUT_DIRECTORY, DBUtils.COLUMN_FAMILIES).exists());
+    // nothing left to move
+    Assert.assertEquals(0, cli.execute(args));
+  }
+
+  @Test
+  public void testHelp() {
+    String[] args = new String[] {"db", "cf", "-h"};
+    Assert.assertEquals(0, cli.execute(args));
+  }
+
+  @Test
+  public void testNotExist() {
+    String[] args = new String[] {"db", "cf",
+        INPUT_DIRECTORY + File.separator + UUID.randomUUID()};
+    Assert.assertEquals(404, cli.execute(args));
+  }
+}